@@ -0,0 +1,11 @@
+package com.winnguyen1905.activity.common.constant;
+
+public enum EmailStatus {
+  // Waiting for delivery, possibly after a failed attempt
+  PENDING,
+  // Claimed by a delivery worker
+  SENDING,
+  SENT,
+  // Gave up after the maximum number of attempts
+  FAILED
+}
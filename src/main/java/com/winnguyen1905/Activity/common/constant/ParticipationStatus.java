@@ -1,7 +1,7 @@
 package com.winnguyen1905.activity.common.constant;
 
 public enum ParticipationStatus {
-    UNVERIFIED("UNVERIFIED"), VERIFIED("VERIFIED"), REJECTED("REJECTED");
+    UNVERIFIED("UNVERIFIED"), VERIFIED("VERIFIED"), REJECTED("REJECTED"), WAITLISTED("WAITLISTED");
 
     private final String status;
 
@@ -0,0 +1,66 @@
+package com.winnguyen1905.activity.config;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the MySQL FULLTEXT index activity search runs on, which JPA index
+ * annotations cannot declare, and backfills the search text of rows written
+ * before it existed.
+ * <p>
+ * If the index cannot be created, e.g. on a database other than MySQL, search
+ * falls back to {@code LIKE} filters and {@link #isAvailable()} is false.
+ */
+@Slf4j
+@Component
+public class ActivitySearchIndex {
+
+  private static final String INDEX_NAME = "ft_activity_search";
+
+  private static final String INDEX_EXISTS = "SELECT COUNT(*) FROM information_schema.statistics "
+      + "WHERE table_schema = DATABASE() AND table_name = 'activity' AND index_name = ?";
+
+  private static final String CREATE_INDEX = "CREATE FULLTEXT INDEX " + INDEX_NAME + " ON activity (search_text)";
+
+  // Same layout as EActivity#refreshSearchText: the tags come last, after a newline
+  private static final String BACKFILL = "UPDATE activity a LEFT JOIN organization o ON o.id = a.organization_id "
+      + "SET a.search_text = CONCAT(CONCAT_WS(' ', a.name, a.description, a.venue, o.name), '\\n', "
+      + "COALESCE((SELECT GROUP_CONCAT(t.tags SEPARATOR ' ') FROM eactivity_tags t WHERE t.eactivity_id = a.id), '')) "
+      + "WHERE a.search_text IS NULL";
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile boolean available;
+
+  // The entity manager factory is only injected so that the schema exists before the index is created
+  public ActivitySearchIndex(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @PostConstruct
+  void createIndex() {
+    try {
+      int backfilled = jdbcTemplate.update(BACKFILL);
+      Integer existing = jdbcTemplate.queryForObject(INDEX_EXISTS, Integer.class, INDEX_NAME);
+      if (existing == null || existing == 0) {
+        jdbcTemplate.execute(CREATE_INDEX);
+        log.info("Created full-text index {}", INDEX_NAME);
+      }
+      available = true;
+      log.info("Activity full-text search enabled ({} rows backfilled)", backfilled);
+    } catch (DataAccessException e) {
+      log.warn("Activity full-text index unavailable, search falls back to LIKE filters: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * @return true if queries may use {@link FullTextFunctionContributor#MATCH_AGAINST}
+   */
+  public boolean isAvailable() {
+    return available;
+  }
+}
@@ -0,0 +1,60 @@
+package com.winnguyen1905.activity.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Redis value serializer for the Socket.IO cache key families.
+ * <p>
+ * Numbers, strings, enums and booleans are stored as their plain text, so ids
+ * and session ids carry no JSON quoting or type metadata and are read back
+ * without a Jackson parse. Plain values are read back as strings; callers
+ * convert them. Anything else falls back to JSON with type information, as do
+ * strings that would be mistaken for JSON.
+ * <p>
+ * Values written by {@link GenericJackson2JsonRedisSerializer} are still
+ * readable: quoted strings are unquoted, objects and arrays are decoded as
+ * before, and bare numbers already are plain text.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof CharSequence text) {
+            return isPlainText(text) ? text.toString().getBytes(StandardCharsets.UTF_8) : jsonSerializer.serialize(value);
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name().getBytes(StandardCharsets.UTF_8);
+        }
+        return jsonSerializer.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return switch (bytes[0]) {
+            case '"' -> jsonSerializer.deserialize(bytes, String.class);
+            case '{', '[' -> jsonSerializer.deserialize(bytes);
+            default -> new String(bytes, StandardCharsets.UTF_8);
+        };
+    }
+
+    // Empty strings and strings starting like JSON would not round-trip as plain text
+    private static boolean isPlainText(CharSequence text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first != '"' && first != '{' && first != '[';
+    }
+}
@@ -0,0 +1,23 @@
+package com.winnguyen1905.activity.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code match_against(column, query)} for queries, rendered as
+ * MySQL's {@code MATCH (column) AGAINST (query IN BOOLEAN MODE)}. It returns
+ * the relevance score, which is positive for matching rows. Only usable once
+ * {@link ActivitySearchIndex} reports the FULLTEXT index as available.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+  public static final String MATCH_AGAINST = "match_against";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    functionContributions.getFunctionRegistry().registerPattern(MATCH_AGAINST,
+        "match(?1) against(?2 in boolean mode)",
+        functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+  }
+}
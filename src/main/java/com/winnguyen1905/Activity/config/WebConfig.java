@@ -2,9 +2,11 @@ package com.winnguyen1905.activity.config;
 
 import java.util.List;
 
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -23,4 +25,17 @@ public class WebConfig
         .allowCredentials(false);
   }
 
+  /**
+   * Tags activity responses with an ETag of their body and answers a matching
+   * If-None-Match with 304 Not Modified, so clients skip downloading detail
+   * sections that have not changed.
+   */
+  @Bean
+  public FilterRegistrationBean<ShallowEtagHeaderFilter> activityEtagFilter() {
+    FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+        new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+    registration.addUrlPatterns("/activities/*");
+    return registration;
+  }
+
 }
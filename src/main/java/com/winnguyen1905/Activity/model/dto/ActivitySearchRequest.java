@@ -9,10 +9,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ActivitySearchRequest implements AbstractModel {
+  private String keyword;
   private String activityName;
   private ActivityCategory activityCategory;
   private ActivityStatus activityStatus;
@@ -0,0 +1,47 @@
+package com.winnguyen1905.activity.model.event;
+
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.entity.EFeedback;
+import com.winnguyen1905.activity.persistance.entity.EParticipationDetail;
+
+/**
+ * Published after a write that changes an activity, one of its participations
+ * or one of its feedbacks. Carries the ids of every scope whose derived data
+ * (statistics, dashboards) may now be stale; ids that do not apply are null.
+ */
+public record ActivityDataChangedEvent(ChangeType changeType, Long activityId, Long organizationId,
+    Long studentId) {
+
+  public enum ChangeType {
+    ACTIVITY,
+    PARTICIPATION,
+    FEEDBACK
+  }
+
+  public static ActivityDataChangedEvent ofActivity(EActivity activity) {
+    return new ActivityDataChangedEvent(ChangeType.ACTIVITY, activity.getId(), organizationIdOf(activity), null);
+  }
+
+  public static ActivityDataChangedEvent ofParticipation(EParticipationDetail participation) {
+    EActivity activity = participation.getActivity();
+    return new ActivityDataChangedEvent(ChangeType.PARTICIPATION,
+        activity != null ? activity.getId() : null,
+        organizationIdOf(activity),
+        participation.getParticipant() != null ? participation.getParticipant().getId() : null);
+  }
+
+  public static ActivityDataChangedEvent ofFeedback(EFeedback feedback) {
+    EActivity activity = feedback.getActivity();
+    EParticipationDetail participation = feedback.getParticipation();
+    return new ActivityDataChangedEvent(ChangeType.FEEDBACK,
+        activity != null ? activity.getId() : null,
+        organizationIdOf(activity),
+        participation != null && participation.getParticipant() != null
+            ? participation.getParticipant().getId()
+            : null);
+  }
+
+  private static Long organizationIdOf(EActivity activity) {
+    return activity != null && activity.getOrganization() != null ? activity.getOrganization().getId() : null;
+  }
+}
@@ -0,0 +1,21 @@
+package com.winnguyen1905.activity.model.viewmodel;
+
+import java.util.Map;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.common.constant.ActivityStatus;
+import com.winnguyen1905.activity.model.dto.AbstractModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitySearchFacetsVm implements AbstractModel {
+  private Map<ActivityCategory, Long> categories; // Ignores the selected category
+  private Map<ActivityStatus, Long> statuses; // Ignores the selected status
+}
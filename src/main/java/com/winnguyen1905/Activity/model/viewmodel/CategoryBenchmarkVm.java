@@ -0,0 +1,22 @@
+package com.winnguyen1905.activity.model.viewmodel;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.model.dto.AbstractModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBenchmarkVm implements AbstractModel {
+  private ActivityCategory category;
+  private Long activityCount;
+  private Double averageParticipationRate; // Mean of currentParticipants / capacityLimit * 100
+  private Double averageCostPerParticipant; // Total fees collected / paid participants
+  private Double averageRating; // Falls back to the overall average when the category has no ratings
+  private Long ratingCount;
+}
@@ -21,4 +21,6 @@ public class PagedResponse<T> implements AbstractModel {
     private List<T> results;
     private long totalElements;
     private long totalPages;
+    private Boolean hasNext; // Cursor pages only
+    private String nextCursor; // Cursor pages only; pass back as the cursor parameter for the next page
 }
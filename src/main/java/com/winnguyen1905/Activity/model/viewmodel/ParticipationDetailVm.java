@@ -36,6 +36,7 @@ public class ParticipationDetailVm implements AbstractModel {
     private Instant registrationTime;
     private ActivityStatus activityStatus;
     private ParticipationStatus participationStatus;
+    private Integer waitlistPosition; // 1-based and approximate, only set when the join was waitlisted
     private ParticipationRole participationRole;
     @JsonFormat(shape = JsonFormat.Shape.STRING) 
     private Instant processedAt;
@@ -9,15 +9,15 @@ import org.hibernate.annotations.UpdateTimestamp;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.winnguyen1905.activity.common.constant.AccountRole;
 import com.winnguyen1905.activity.common.constant.MajorType;
+import com.winnguyen1905.activity.persistance.id.TimeOrderedId;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -35,10 +35,10 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "account")
+@Table(name = "account", indexes = @Index(name = "idx_account_created_date", columnList = "created_date, id"))
 public class EAccountCredentials {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @TimeOrderedId
   @Column(name = "id", updatable = false, nullable = false)
   protected Long id;
 
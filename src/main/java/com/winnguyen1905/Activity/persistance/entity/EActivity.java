@@ -2,15 +2,21 @@ package com.winnguyen1905.activity.persistance.entity;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.winnguyen1905.activity.common.constant.ActivityCategory;
 import com.winnguyen1905.activity.common.constant.ActivityStatus;
 import com.winnguyen1905.activity.common.constant.MajorType;
+import com.winnguyen1905.activity.persistance.id.TimeOrderedId;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -19,12 +25,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
@@ -36,17 +43,21 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @Setter
 @Entity
+@DynamicUpdate
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "activity")
+@Table(name = "activity", indexes = @Index(name = "idx_activity_start_date", columnList = "start_date, id"))
 public class EActivity {
+  // Separates the tags from the other searchable text in searchText
+  private static final char SEARCH_TAGS_SEPARATOR = '\n';
+
   @Version
   @Column(name = "version")
   private Long version;
 
   @Id
-  // @GeneratedValue(strategy = GenerationType.AUTO)
+  @TimeOrderedId
   @Column(name = "id")
   protected Long id;
 
@@ -77,6 +88,8 @@ public class EActivity {
   @Column(name = "max_attendees")
   private Integer capacityLimit;
 
+  // Maintained by SeatReservationService with relative updates; dynamic updates
+  // keep entity saves from writing back a stale count
   @Column(name = "current_participants")
   private Integer currentParticipants;
 
@@ -138,6 +151,12 @@ public class EActivity {
   @Column(name = "updated_by_id", nullable = true)
   private Long updatedById;
 
+  // Name, description, venue, organization name and tags, covered by the
+  // FULLTEXT index activity search runs on; rebuilt on every insert and update
+  @JsonIgnore
+  @Column(name = "search_text", columnDefinition = "TEXT")
+  private String searchText;
+
   @CreationTimestamp
   @Column(name = "created_date", updatable = false)
   private Instant createdDate;
@@ -146,10 +165,27 @@ public class EActivity {
   @Column(name = "updated_date", updatable = true)
   private Instant updatedDate;
 
+  /**
+   * Rebuilds {@code searchText}. Runs before every insert and update, and must
+   * also be called after changing only the tags, since a collection change
+   * alone does not trigger {@code @PreUpdate}.
+   */
   @PrePersist
-  private void prePersist() {
-    if (this.id == null) {
-      this.id = 2000 + (long) (Math.random() * 1000);
-    }
+  @PreUpdate
+  public void refreshSearchText() {
+    // Loading the tags during a flush is not allowed; unloaded tags have not changed
+    String tagText = Hibernate.isInitialized(this.tags)
+        ? (this.tags != null ? String.join(" ", this.tags).replace(SEARCH_TAGS_SEPARATOR, ' ') : "")
+        : previousTagText();
+    String text = Stream.of(this.activityName, this.description, this.venue,
+        this.organization != null ? this.organization.getName() : null)
+        .filter(Objects::nonNull)
+        .collect(Collectors.joining(" "));
+    this.searchText = text + SEARCH_TAGS_SEPARATOR + tagText;
+  }
+
+  private String previousTagText() {
+    return this.searchText != null ? this.searchText.substring(this.searchText.lastIndexOf(SEARCH_TAGS_SEPARATOR) + 1)
+        : "";
   }
 }
@@ -8,13 +8,12 @@ import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.winnguyen1905.activity.common.constant.ScheduleStatus;
+import com.winnguyen1905.activity.persistance.id.TimeOrderedId;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -34,7 +33,7 @@ import lombok.experimental.SuperBuilder;
 @Table(name = "event_schedule")
 public class EActivitySchedule {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @TimeOrderedId
   @Column(name = "id", updatable = false, nullable = false)
   protected Long id;
 
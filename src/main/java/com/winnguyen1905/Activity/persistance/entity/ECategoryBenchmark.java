@@ -0,0 +1,65 @@
+package com.winnguyen1905.activity.persistance.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Running per-category totals used as the comparison baseline for activity
+ * analytics. Rows hold sums rather than averages so that every activity,
+ * participation or feedback change can be applied as an additive delta.
+ */
+@Getter
+@Setter
+@Entity
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "category_benchmark")
+public class ECategoryBenchmark {
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(name = "category", length = 32)
+  private ActivityCategory category;
+
+  @Column(name = "activity_count", nullable = false)
+  private long activityCount;
+
+  // Activities with a positive capacity, i.e. those contributing a participation rate
+  @Column(name = "capacity_activity_count", nullable = false)
+  private long capacityActivityCount;
+
+  @Column(name = "participation_rate_sum", nullable = false)
+  private double participationRateSum;
+
+  // Participants of paid activities, the denominator of the cost per participant
+  @Column(name = "paid_participant_count", nullable = false)
+  private long paidParticipantCount;
+
+  @Column(name = "total_cost", nullable = false)
+  private double totalCost;
+
+  @Column(name = "rating_sum", nullable = false)
+  private double ratingSum;
+
+  @Column(name = "rating_count", nullable = false)
+  private long ratingCount;
+
+  @UpdateTimestamp
+  @Column(name = "updated_date")
+  private Instant updatedDate;
+}
@@ -6,14 +6,14 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.winnguyen1905.activity.common.constant.NotificationType;
+import com.winnguyen1905.activity.persistance.id.TimeOrderedId;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -31,10 +31,10 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = @Index(name = "idx_feedback_activity_created", columnList = "activity_id, created_at, id"))
 public class EFeedback {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @TimeOrderedId
   @Column(name = "id")
   protected Long id;
 
@@ -0,0 +1,60 @@
+package com.winnguyen1905.activity.persistance.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Occurrences of one keyword across the feedback of one partition: the
+ * organization running the activity, the activity category and the month the
+ * activity starts in. Top keywords for any filter are a grouped sum over the
+ * matching partitions instead of a scan of every feedback description.
+ * <p>
+ * A missing organization or category is stored as a sentinel rather than NULL,
+ * since NULLs never match each other in the unique key and would break the
+ * upsert.
+ */
+@Getter
+@Setter
+@Entity
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "feedback_keyword",
+    uniqueConstraints = @UniqueConstraint(name = "uk_feedback_keyword_partition_term",
+        columnNames = { "organization_id", "category", "period_month", "term" }),
+    indexes = @Index(name = "idx_feedback_keyword_period", columnList = "period_month, organization_id, category"))
+public class EFeedbackKeyword {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "id")
+  private Long id;
+
+  // 0 when the activity has no organization
+  @Column(name = "organization_id", nullable = false)
+  private long organizationId;
+
+  // ActivityCategory name, empty when the activity has no category
+  @Column(name = "category", nullable = false, length = 32)
+  private String category;
+
+  // Activity start month as yyyyMM, 0 when the activity has no start date
+  @Column(name = "period_month", nullable = false)
+  private int periodMonth;
+
+  @Column(name = "term", nullable = false, length = 64)
+  private String term;
+
+  @Column(name = "occurrences", nullable = false)
+  private long occurrences;
+}
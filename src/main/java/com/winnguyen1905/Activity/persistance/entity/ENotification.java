@@ -6,14 +6,14 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.winnguyen1905.activity.common.constant.NotificationType;
+import com.winnguyen1905.activity.persistance.id.TimeOrderedId;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -29,10 +29,11 @@ import lombok.experimental.SuperBuilder;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "notification")
+@Table(name = "notification", indexes = @Index(name = "idx_notification_receiver_feed",
+    columnList = "receiver_id, is_read, created_date, id"))
 public class ENotification {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @TimeOrderedId
   @Column(name = "id", updatable = false, nullable = false)
   protected Long id;
 
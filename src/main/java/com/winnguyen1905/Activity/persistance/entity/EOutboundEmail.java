@@ -0,0 +1,79 @@
+package com.winnguyen1905.activity.persistance.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import com.winnguyen1905.activity.common.constant.EmailStatus;
+import com.winnguyen1905.activity.persistance.id.TimeOrderedId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * One queued outbound email. Rows are written by {@code EmailService} and
+ * drained by the delivery scheduler, so mail survives restarts and SMTP
+ * latency never blocks the code that asked for the email.
+ */
+@Getter
+@Setter
+@Entity
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbound_email", indexes = {
+    @Index(name = "idx_outbound_email_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbound_email_claim", columnList = "claimed_by, status")
+})
+public class EOutboundEmail {
+  @Id
+  @TimeOrderedId
+  @Column(name = "id", updatable = false, nullable = false)
+  private Long id;
+
+  @Column(name = "recipient", nullable = false)
+  private String recipient;
+
+  @Column(name = "subject")
+  private String subject;
+
+  @Column(name = "body", columnDefinition = "TEXT")
+  private String body;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false, length = 16)
+  private EmailStatus status;
+
+  @Column(name = "attempts", nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private Instant nextAttemptAt;
+
+  // Worker that claimed the row and until when the claim holds
+  @Column(name = "claimed_by", length = 64)
+  private String claimedBy;
+
+  @Column(name = "claimed_until")
+  private Instant claimedUntil;
+
+  @Column(name = "last_error", length = 1000)
+  private String lastError;
+
+  @CreationTimestamp
+  @Column(name = "created_date", updatable = false)
+  private Instant createdDate;
+
+  @Column(name = "sent_date")
+  private Instant sentDate;
+}
@@ -0,0 +1,101 @@
+package com.winnguyen1905.activity.persistance.id;
+
+import java.lang.reflect.Member;
+import java.time.Instant;
+import java.util.EnumSet;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+/**
+ * Generates unique, time-ordered {@code Long} ids in memory, so inserts need
+ * no database round trip for their key and can be batched, and new rows are
+ * appended at the end of the InnoDB primary key.
+ * <p>
+ * Layout, most significant bits first: 41 bits of milliseconds since
+ * 2024-01-01 (enough until 2093), 5 bits of node number and 7 bits of
+ * sequence. Ids fit in 53 bits, so JavaScript clients read them without loss
+ * of precision. Each node issues up to 128 ids per millisecond; beyond that,
+ * or if the clock goes back, it borrows the next millisecond instead of
+ * blocking, which keeps ids increasing.
+ * <p>
+ * The node number is read from the {@value #NODE_ID_SETTING} Hibernate
+ * setting and must be different on every running instance. It has no
+ * default: startup fails without it, since a guessed number could collide
+ * with another instance and only show up later as duplicate keys.
+ */
+public class TimeOrderedIdGenerator implements BeforeExecutionGenerator {
+
+  public static final String NODE_ID_SETTING = "app.id.node-id";
+
+  private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+  private static final int NODE_BITS = 5;
+  private static final int SEQUENCE_BITS = 7;
+  private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+  private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+  // Shared by every generated entity type, so ids are also unique across tables
+  private static final Object LOCK = new Object();
+  private static long lastTimestamp = -1L;
+  private static long sequence;
+
+  private final long nodeId;
+
+  public TimeOrderedIdGenerator(TimeOrderedId config, Member member, CustomIdGeneratorCreationContext context) {
+    this.nodeId = resolveNodeId(context.getServiceRegistry().getService(ConfigurationService.class)
+        .getSettings().get(NODE_ID_SETTING));
+  }
+
+  @Override
+  public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+      EventType eventType) {
+    // Ids assigned by the application, e.g. seed data, are kept
+    Object assigned = session.getEntityPersister(null, owner).getIdentifier(owner, session);
+    return assigned != null ? assigned : nextId(nodeId);
+  }
+
+  @Override
+  public EnumSet<EventType> getEventTypes() {
+    return EnumSet.of(EventType.INSERT);
+  }
+
+  @Override
+  public boolean allowAssignedIdentifiers() {
+    return true;
+  }
+
+  static long nextId(long nodeId) {
+    synchronized (LOCK) {
+      long now = System.currentTimeMillis() - EPOCH;
+      if (now > lastTimestamp) {
+        lastTimestamp = now;
+        sequence = 0;
+      } else if (++sequence > MAX_SEQUENCE) {
+        lastTimestamp++;
+        sequence = 0;
+      }
+      return (lastTimestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+  }
+
+  private static long resolveNodeId(Object setting) {
+    if (setting == null || setting.toString().isBlank()) {
+      throw new IllegalStateException(NODE_ID_SETTING + " is not set; give every running instance its own "
+          + "node number between 0 and " + MAX_NODE_ID + " through ID_NODE_ID");
+    }
+
+    long nodeId;
+    try {
+      nodeId = Long.parseLong(setting.toString().trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(NODE_ID_SETTING + " must be a number, was " + setting);
+    }
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalArgumentException(NODE_ID_SETTING + " must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+    }
+    return nodeId;
+  }
+}
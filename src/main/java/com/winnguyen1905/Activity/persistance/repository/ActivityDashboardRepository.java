@@ -0,0 +1,42 @@
+package com.winnguyen1905.activity.persistance.repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.common.constant.ActivityStatus;
+
+/**
+ * Dynamic aggregation queries for the statistics dashboard, mixed into
+ * {@link ActivityRepository}.
+ */
+public interface ActivityDashboardRepository {
+
+  /**
+   * Computes every dashboard number for the filter in a single query.
+   * Category and status are optional; null means "any".
+   *
+   * @param startDate Start of the filtered range (inclusive)
+   * @param endDate   End of the filtered range (inclusive)
+   * @param category  Activity category to filter on, or null
+   * @param status    Activity status to filter on, or null
+   * @return The aggregated totals, zero-filled when nothing matches
+   */
+  DashboardTotals getDashboardTotals(Instant startDate, Instant endDate, ActivityCategory category,
+      ActivityStatus status);
+
+  /**
+   * Aggregated dashboard numbers. The activity, participant, rating and review
+   * figures honour the whole filter; the last-month/last-week counts and the
+   * per-category breakdown only honour the time range.
+   */
+  record DashboardTotals(
+      long activityCount,
+      long participantCount,
+      long activitiesLastMonth,
+      long activitiesLastWeek,
+      double averageRating,
+      long reviewCount,
+      Map<ActivityCategory, Long> activitiesByCategory) {
+  }
+}
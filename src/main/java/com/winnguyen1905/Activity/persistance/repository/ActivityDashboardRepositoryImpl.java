@@ -0,0 +1,127 @@
+package com.winnguyen1905.activity.persistance.repository;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.common.constant.ActivityStatus;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.entity.EFeedback;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Criteria implementation of {@link ActivityDashboardRepository}.
+ * <p>
+ * The query scans activities over the widest window any figure needs (the
+ * filtered range extended back by 30 days) and derives each figure with a
+ * conditional aggregate, so one filter combination never needs its own
+ * hand-written query. Feedback figures come from scalar subqueries sharing the
+ * same filter, which keeps the activity sums free of join fan-out.
+ */
+public class ActivityDashboardRepositoryImpl implements ActivityDashboardRepository {
+
+  private static final int LAST_MONTH_DAYS = 30;
+  private static final int LAST_WEEK_DAYS = 7;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public DashboardTotals getDashboardTotals(Instant startDate, Instant endDate, ActivityCategory category,
+      ActivityStatus status) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+    Root<EActivity> activity = query.from(EActivity.class);
+    Expression<Instant> activityStart = activity.get("startDate");
+
+    Predicate inRange = cb.greaterThanOrEqualTo(activityStart, startDate);
+    Predicate matchesFilter = cb.and(inRange, filterPredicate(cb, activity, category, status));
+
+    List<Selection<?>> selections = new ArrayList<>();
+    selections.add(countWhere(cb, matchesFilter));
+    selections.add(cb.sum(cb.<Integer>selectCase()
+        .when(matchesFilter, activity.<Integer>get("currentParticipants"))
+        .otherwise(0)));
+    selections.add(cb.count(activity));
+    selections.add(countWhere(cb,
+        cb.greaterThanOrEqualTo(activityStart, startDate.minus(LAST_WEEK_DAYS, ChronoUnit.DAYS))));
+    selections.add(feedbackSubquery(query, cb, Double.class, feedback -> cb.avg(feedback.get("rating")),
+        startDate, endDate, category, status));
+    selections.add(feedbackSubquery(query, cb, Long.class, cb::count, startDate, endDate, category, status));
+    ActivityCategory[] categories = ActivityCategory.values();
+    for (ActivityCategory value : categories) {
+      selections.add(countWhere(cb, cb.and(inRange, cb.equal(activity.get("activityCategory"), value))));
+    }
+
+    query.multiselect(selections)
+        .where(cb.between(activityStart, startDate.minus(LAST_MONTH_DAYS, ChronoUnit.DAYS), endDate));
+
+    Object[] row = entityManager.createQuery(query).getSingleResult();
+
+    Map<ActivityCategory, Long> activitiesByCategory = new EnumMap<>(ActivityCategory.class);
+    for (int i = 0; i < categories.length; i++) {
+      activitiesByCategory.put(categories[i], toLong(row[6 + i]));
+    }
+
+    return new DashboardTotals(
+        toLong(row[0]),
+        toLong(row[1]),
+        toLong(row[2]),
+        toLong(row[3]),
+        row[4] != null ? ((Number) row[4]).doubleValue() : 0.0,
+        toLong(row[5]),
+        activitiesByCategory);
+  }
+
+  /**
+   * Aggregates the feedback on activities matching the full filter.
+   */
+  private <T> Subquery<T> feedbackSubquery(CriteriaQuery<?> query, CriteriaBuilder cb, Class<T> type,
+      Function<Root<EFeedback>, Expression<T>> aggregate, Instant startDate, Instant endDate,
+      ActivityCategory category, ActivityStatus status) {
+    Subquery<T> subquery = query.subquery(type);
+    Root<EFeedback> feedback = subquery.from(EFeedback.class);
+    Join<EFeedback, EActivity> activity = feedback.join("activity");
+
+    subquery.select(aggregate.apply(feedback))
+        .where(cb.between(activity.get("startDate"), startDate, endDate),
+            filterPredicate(cb, activity, category, status));
+    return subquery;
+  }
+
+  private Predicate filterPredicate(CriteriaBuilder cb, From<?, EActivity> activity, ActivityCategory category,
+      ActivityStatus status) {
+    List<Predicate> predicates = new ArrayList<>();
+    if (category != null) {
+      predicates.add(cb.equal(activity.get("activityCategory"), category));
+    }
+    if (status != null) {
+      predicates.add(cb.equal(activity.get("status"), status));
+    }
+    return cb.and(predicates.toArray(new Predicate[0]));
+  }
+
+  private Expression<Long> countWhere(CriteriaBuilder cb, Predicate predicate) {
+    return cb.sum(cb.<Long>selectCase().when(predicate, 1L).otherwise(0L));
+  }
+
+  private long toLong(Object value) {
+    return value != null ? ((Number) value).longValue() : 0L;
+  }
+}
@@ -1,46 +1,136 @@
 package com.winnguyen1905.activity.persistance.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.winnguyen1905.activity.common.constant.ActivityCategory;
 import com.winnguyen1905.activity.common.constant.ActivityStatus;
+import com.winnguyen1905.activity.common.constant.ParticipationRole;
 import com.winnguyen1905.activity.persistance.entity.EActivity;
 
-@Repository
-public interface ActivityRepository extends JpaRepository<EActivity, Long>, JpaSpecificationExecutor<EActivity> {
-  // Find activities by category but exclude a specific activity
-  List<EActivity> findByActivityCategoryAndIdNot(ActivityCategory category, Long activityId);
+import jakarta.persistence.LockModeType;
 
+@Repository
+public interface ActivityRepository extends JpaRepository<EActivity, Long>, JpaSpecificationExecutor<EActivity>,
+    ActivityDashboardRepository, ActivitySearchRepository {
+  // Other activities of a category, without their associations:
+  // [id, activityName, startDate, capacityLimit, currentParticipants, fee]
+  @Query("SELECT a.id, a.activityName, a.startDate, a.capacityLimit, a.currentParticipants, a.fee " +
+      "FROM EActivity a WHERE a.activityCategory = :category AND a.id <> :activityId")
+  List<Object[]> findPeerRowsByCategory(@Param("category") ActivityCategory category,
+      @Param("activityId") Long activityId);
+
+  @EntityGraph(attributePaths = "organization")
   @Query("SELECT a FROM EActivity a WHERE a.id IN :ids")
   Page<EActivity> findAllByIds(@Param("ids") List<Long> ids, Pageable pageable);
 
+  // Search page with the organization fetched in the same query
+  @Override
+  @EntityGraph(attributePaths = "organization")
+  Page<EActivity> findAll(Specification<EActivity> spec, Pageable pageable);
+
+  /**
+   * Name of an activity, read without loading the entity. Present whenever the
+   * activity exists, even if it has no name.
+   */
+  interface ActivityNameView {
+    String getActivityName();
+  }
+
+  @Query("SELECT a.activityName AS activityName FROM EActivity a WHERE a.id = :id")
+  Optional<ActivityNameView> findNameById(@Param("id") Long id);
+
+  // Activity with the organization and tags its detail page shows, in one query
+  @EntityGraph(attributePaths = { "organization", "tags" })
+  Optional<EActivity> findDetailById(Long id);
+
+  // Approved activities a participant has the given role in, earliest first
+  @EntityGraph(attributePaths = "organization")
+  @Query("SELECT a FROM EActivity a WHERE a.isApproved = true AND a.id IN (SELECT p.activity.id " +
+      "FROM EParticipationDetail p WHERE p.participant.id = :participantId AND p.participationRole = :role) " +
+      "ORDER BY a.startDate")
+  List<EActivity> findApprovedByParticipantIdAndRole(@Param("participantId") Long participantId,
+      @Param("role") ParticipationRole role);
+
+  // Tags of several activities at once: [activityId, tag]
+  @Query("SELECT a.id, t FROM EActivity a JOIN a.tags t WHERE a.id IN :ids")
+  List<Object[]> findTagsByActivityIds(@Param("ids") Collection<Long> ids);
+
   @Query("SELECT a FROM EActivity a WHERE a.startDate BETWEEN :start AND :end")
   List<EActivity> findActivitiesStartingInRange(@Param("start") Instant start, @Param("end") Instant end);
 
-  // Find activities that have ended but still marked with a specific status
-  List<EActivity> findByStatusAndEndDateBefore(ActivityStatus status, Instant date);
-
-  // Find activities with a specific status whose start date is before a given
-  // date
-  List<EActivity> findByStatusAndStartDateBefore(ActivityStatus status, Instant date);
-
-  // Find activities with a specific status whose registration deadline is before
-  // a given date
-  List<EActivity> findByStatusAndRegistrationDeadlineBefore(ActivityStatus status, Instant date);
+  // Lifecycle due times (start, end, registration deadline) of activities that
+  // still have a status transition ahead of them and are due before a given date
+  @Query("SELECT a.id, a.status, a.startDate, a.endDate, a.registrationDeadline FROM EActivity a " +
+      "WHERE a.status IN :statuses AND (a.startDate <= :until OR a.endDate <= :until " +
+      "OR a.registrationDeadline <= :until)")
+  List<Object[]> findLifecycleDueTimes(@Param("statuses") Collection<ActivityStatus> statuses,
+      @Param("until") Instant until);
+
+  @Query("SELECT a.id, a.status, a.startDate, a.endDate, a.registrationDeadline FROM EActivity a WHERE a.id = :id")
+  List<Object[]> findLifecycleDueTimesById(@Param("id") Long id);
+
+  // Locks approved, published activities among the ids whose start date has passed
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT a FROM EActivity a WHERE a.id IN :ids AND a.status = :status AND a.isApproved = true " +
+      "AND a.startDate <= :now")
+  List<EActivity> lockDueToStart(@Param("ids") Collection<Long> ids, @Param("status") ActivityStatus status,
+      @Param("now") Instant now);
+
+  // Locks activities among the ids with the given status whose end date has passed
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT a FROM EActivity a WHERE a.id IN :ids AND a.status = :status AND a.endDate <= :now")
+  List<EActivity> lockDueToEnd(@Param("ids") Collection<Long> ids, @Param("status") ActivityStatus status,
+      @Param("now") Instant now);
+
+  // Locks activities among the ids with the given status whose registration
+  // deadline has passed
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT a FROM EActivity a WHERE a.id IN :ids AND a.status = :status AND a.registrationDeadline <= :now")
+  List<EActivity> lockPastRegistrationDeadline(@Param("ids") Collection<Long> ids,
+      @Param("status") ActivityStatus status, @Param("now") Instant now);
+
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE EActivity a SET a.status = :status WHERE a.id IN :ids")
+  int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") ActivityStatus status);
 
   // Find activities with registration deadlines between two dates
   @Query("SELECT a FROM EActivity a WHERE a.registrationDeadline BETWEEN :start AND :end")
   List<EActivity> findByRegistrationDeadlineBetween(@Param("start") Instant start, @Param("end") Instant end);
 
+  // Applies a batch of joins and departures without touching the entity version
+  @Modifying(clearAutomatically = true)
+  @Query("UPDATE EActivity a SET a.currentParticipants = COALESCE(a.currentParticipants, 0) + :delta WHERE a.id = :id")
+  int adjustCurrentParticipants(@Param("id") Long id, @Param("delta") int delta);
+
+  // Held by seat changes until their transaction completes, so a seat counter
+  // reconcile (see lockCapacityLimit) waits for seats that are still in flight
+  @Query(value = "SELECT id FROM activity WHERE id = :id FOR SHARE", nativeQuery = true)
+  Long lockForShare(@Param("id") Long id);
+
+  // Locks the activity for a seat counter reconcile, waiting out every seat
+  // change holding lockForShare; null if unlimited or missing
+  @Query(value = "SELECT max_attendees FROM activity WHERE id = :id FOR UPDATE", nativeQuery = true)
+  Integer lockCapacityLimit(@Param("id") Long id);
+
+  // Activities whose seat counters are still reconciled: limited and not ended
+  @Query("SELECT a.id FROM EActivity a WHERE a.capacityLimit IS NOT NULL AND (a.endDate IS NULL OR a.endDate > :now)")
+  List<Long> findCapacityLimitedIdsEndingAfter(@Param("now") Instant now);
+
   @Query("SELECT COUNT(a) FROM EActivity a")
   Long countTotalActivities();
 
@@ -53,15 +143,22 @@ public interface ActivityRepository extends JpaRepository<EActivity, Long>, JpaS
   @Query("SELECT a.activityCategory as category, COUNT(a) as count FROM EActivity a GROUP BY a.activityCategory")
   List<Object[]> countActivitiesByCategory();
 
-  // New filtering methods
-  @Query("SELECT COUNT(a) FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category")
-  Long countActivitiesByTimeAndCategory(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("category") ActivityCategory category);
-
-  @Query("SELECT COUNT(a) FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.status = :status")
-  Long countActivitiesByTimeAndStatus(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("status") ActivityStatus status);
+  // Per-category totals used to rebuild the category benchmark table
+  @Query("SELECT a.activityCategory, COUNT(a), " +
+      "SUM(CASE WHEN a.capacityLimit > 0 AND a.currentParticipants IS NOT NULL THEN 1 ELSE 0 END), " +
+      "SUM(CASE WHEN a.capacityLimit > 0 AND a.currentParticipants IS NOT NULL " +
+      "THEN a.currentParticipants * 100.0 / a.capacityLimit ELSE 0.0 END), " +
+      "SUM(CASE WHEN a.fee > 0 AND a.currentParticipants > 0 THEN a.currentParticipants ELSE 0 END), " +
+      "SUM(CASE WHEN a.fee > 0 AND a.currentParticipants > 0 THEN a.fee * a.currentParticipants ELSE 0.0 END) " +
+      "FROM EActivity a WHERE a.activityCategory IS NOT NULL GROUP BY a.activityCategory")
+  List<Object[]> getCategoryBenchmarkTotals();
+
+  // Raw per-activity inputs for the percentile distributions
+  @Query("SELECT a.id, a.activityCategory, a.capacityLimit, a.currentParticipants, a.fee FROM EActivity a " +
+      "WHERE a.activityCategory IS NOT NULL")
+  List<Object[]> getPercentileMetrics();
 
+  // New filtering methods
   @Query("SELECT COUNT(a) FROM EActivity a WHERE a.activityCategory = :category")
   Long countActivitiesByCategory(@Param("category") ActivityCategory category);
 
@@ -72,47 +169,26 @@ public interface ActivityRepository extends JpaRepository<EActivity, Long>, JpaS
   Long countActivitiesByCategoryAndStatus(@Param("category") ActivityCategory category,
       @Param("status") ActivityStatus status);
 
-  @Query("SELECT COUNT(a) FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category AND a.status = :status")
-  Long countActivitiesByTimeAndCategoryAndStatus(@Param("startDate") Instant startDate,
-      @Param("endDate") Instant endDate, @Param("category") ActivityCategory category,
-      @Param("status") ActivityStatus status);
-
-  @Query("SELECT a.activityCategory as category, COUNT(a) as count FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate GROUP BY a.activityCategory")
-  List<Object[]> countActivitiesByCategoryInTimeRange(@Param("startDate") Instant startDate,
-      @Param("endDate") Instant endDate);
-
   @Query("SELECT a.status as status, COUNT(a) as count FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate GROUP BY a.status")
   List<Object[]> countActivitiesByStatusInTimeRange(@Param("startDate") Instant startDate,
       @Param("endDate") Instant endDate);
 
-  @Query("SELECT SUM(a.currentParticipants) FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate")
-  Long countParticipantsInTimeRange(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
-
   @Query("SELECT SUM(a.currentParticipants) FROM EActivity a WHERE a.activityCategory = :category")
   Long countParticipantsByCategory(@Param("category") ActivityCategory category);
 
   @Query("SELECT SUM(a.currentParticipants) FROM EActivity a WHERE a.status = :status")
   Long countParticipantsByStatus(@Param("status") ActivityStatus status);
 
-  @Query("SELECT SUM(a.currentParticipants) FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category")
-  Long countParticipantsByTimeAndCategory(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("category") ActivityCategory category);
-
-  @Query("SELECT SUM(a.currentParticipants) FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.status = :status")
-  Long countParticipantsByTimeAndStatus(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("status") ActivityStatus status);
-
   @Query("SELECT SUM(a.currentParticipants) FROM EActivity a WHERE a.activityCategory = :category AND a.status = :status")
   Long countParticipantsByCategoryAndStatus(@Param("category") ActivityCategory category,
       @Param("status") ActivityStatus status);
 
-  @Query("SELECT SUM(a.currentParticipants) FROM EActivity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category AND a.status = :status")
-  Long countParticipantsByTimeAndCategoryAndStatus(@Param("startDate") Instant startDate,
-      @Param("endDate") Instant endDate, @Param("category") ActivityCategory category,
-      @Param("status") ActivityStatus status);
-
   // Organization-specific queries
 
+  // Ids of the activities run by an organization
+  @Query("SELECT a.id FROM EActivity a WHERE a.organization.id = :organizationId")
+  List<Long> findIdsByOrganizationId(@Param("organizationId") Long organizationId);
+
   // Count total activities for an organization
   @Query("SELECT COUNT(a) FROM EActivity a WHERE a.organization.id = :organizationId")
   Long countTotalActivitiesByOrganization(@Param("organizationId") Long organizationId);
@@ -186,9 +262,4 @@ public interface ActivityRepository extends JpaRepository<EActivity, Long>, JpaS
       @Param("organizationId") Long organizationId,
       Pageable pageable);
 
-  List<EActivity> findByStatusAndIsApprovedAndStartDateLessThanEqual(
-      ActivityStatus status,
-      boolean isApproved,
-      Instant date);
-
 }
@@ -1,6 +1,7 @@
 package com.winnguyen1905.activity.persistance.repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +14,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.winnguyen1905.activity.common.constant.ScheduleStatus;
-import com.winnguyen1905.activity.persistance.entity.EActivity;
 import com.winnguyen1905.activity.persistance.entity.EActivitySchedule;
 
 @Repository
@@ -28,11 +28,6 @@ public interface ActivityScheduleRepository extends JpaRepository<EActivitySched
   @Query("DELETE FROM EActivitySchedule s WHERE s.activity.id = :activityId")
   void deleteByActivityId(@Param("activityId") Long activityId);
 
-  /**
-   * Find all schedules for a specific activity
-   */
-  List<EActivitySchedule> findByActivity(EActivity activity);
-
   /**
    * Find all schedules for a specific activity ID
    */
@@ -215,6 +210,16 @@ public interface ActivityScheduleRepository extends JpaRepository<EActivitySched
       @Param("newStatus") ScheduleStatus newStatus,
       @Param("updatedBy") String updatedBy);
 
+  /**
+   * Move every schedule of the given activities to a status, skipping those already in it
+   */
+  @Modifying
+  @Query("UPDATE EActivitySchedule s SET s.status = :newStatus WHERE s.activity.id IN :activityIds " +
+         "AND s.status <> :newStatus")
+  int updateStatusForActivities(
+      @Param("activityIds") Collection<Long> activityIds,
+      @Param("newStatus") ScheduleStatus newStatus);
+
   /**
    * Cancel all future schedules for an activity
    */
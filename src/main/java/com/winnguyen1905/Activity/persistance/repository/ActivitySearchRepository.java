@@ -0,0 +1,30 @@
+package com.winnguyen1905.activity.persistance.repository;
+
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.common.constant.ActivityStatus;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+
+/**
+ * Facet counts for activity search, mixed into {@link ActivityRepository}.
+ */
+public interface ActivitySearchRepository {
+
+  /**
+   * Counts the search results per category and per status in a single query.
+   * Each facet ignores its own selection, so the counts show what picking
+   * another value would return.
+   *
+   * @param filter   The search filter without category and status
+   * @param category Selected category, or null
+   * @param status   Selected status, or null
+   * @return The counts of every category and status, zero-filled
+   */
+  SearchFacets getSearchFacets(Specification<EActivity> filter, ActivityCategory category, ActivityStatus status);
+
+  record SearchFacets(Map<ActivityCategory, Long> categories, Map<ActivityStatus, Long> statuses) {
+  }
+}
@@ -0,0 +1,84 @@
+package com.winnguyen1905.activity.persistance.repository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.common.constant.ActivityStatus;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Criteria implementation of {@link ActivitySearchRepository}.
+ * <p>
+ * Every facet value is a conditional count over the rows matching the shared
+ * filter: category counts honour the selected status and vice versa.
+ */
+public class ActivitySearchRepositoryImpl implements ActivitySearchRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public SearchFacets getSearchFacets(Specification<EActivity> filter, ActivityCategory category,
+      ActivityStatus status) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+    Root<EActivity> activity = query.from(EActivity.class);
+
+    Predicate where = filter != null ? filter.toPredicate(activity, query, cb) : null;
+    // The filter may rank its results, which an aggregate query cannot
+    query.orderBy(List.of());
+
+    Predicate categorySelected = category != null
+        ? cb.equal(activity.get("activityCategory"), category) : cb.conjunction();
+    Predicate statusSelected = status != null ? cb.equal(activity.get("status"), status) : cb.conjunction();
+
+    ActivityCategory[] categories = ActivityCategory.values();
+    ActivityStatus[] statuses = ActivityStatus.values();
+    List<Selection<?>> selections = new ArrayList<>();
+    for (ActivityCategory value : categories) {
+      selections.add(countWhere(cb, cb.and(statusSelected, cb.equal(activity.get("activityCategory"), value))));
+    }
+    for (ActivityStatus value : statuses) {
+      selections.add(countWhere(cb, cb.and(categorySelected, cb.equal(activity.get("status"), value))));
+    }
+
+    query.multiselect(selections);
+    if (where != null) {
+      query.where(where);
+    }
+
+    Object[] row = entityManager.createQuery(query).getSingleResult();
+
+    Map<ActivityCategory, Long> categoryCounts = new EnumMap<>(ActivityCategory.class);
+    for (int i = 0; i < categories.length; i++) {
+      categoryCounts.put(categories[i], toLong(row[i]));
+    }
+    Map<ActivityStatus, Long> statusCounts = new EnumMap<>(ActivityStatus.class);
+    for (int i = 0; i < statuses.length; i++) {
+      statusCounts.put(statuses[i], toLong(row[categories.length + i]));
+    }
+    return new SearchFacets(categoryCounts, statusCounts);
+  }
+
+  private Expression<Long> countWhere(CriteriaBuilder cb, Predicate predicate) {
+    return cb.sum(cb.<Long>selectCase().when(predicate, 1L).otherwise(0L));
+  }
+
+  private long toLong(Object value) {
+    return value != null ? ((Number) value).longValue() : 0L;
+  }
+}
@@ -0,0 +1,61 @@
+package com.winnguyen1905.activity.persistance.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.persistance.entity.ECategoryBenchmark;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface CategoryBenchmarkRepository extends JpaRepository<ECategoryBenchmark, ActivityCategory> {
+
+  /**
+   * Locks every category row until the transaction ends; the delta updates
+   * below lock the same rows, so they wait for the locking transaction and it
+   * waits for them.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT b FROM ECategoryBenchmark b")
+  List<ECategoryBenchmark> findAllForUpdate();
+
+  /**
+   * Atomically applies an activity delta to a category row. Running the addition
+   * in the database keeps concurrent writers from losing each other's updates.
+   */
+  @Modifying
+  @Query("UPDATE ECategoryBenchmark b SET " +
+      "b.activityCount = b.activityCount + :activityDelta, " +
+      "b.capacityActivityCount = b.capacityActivityCount + :capacityActivityDelta, " +
+      "b.participationRateSum = b.participationRateSum + :participationRateDelta, " +
+      "b.paidParticipantCount = b.paidParticipantCount + :paidParticipantDelta, " +
+      "b.totalCost = b.totalCost + :totalCostDelta, " +
+      "b.updatedDate = CURRENT_INSTANT " +
+      "WHERE b.category = :category")
+  int applyActivityDelta(@Param("category") ActivityCategory category,
+      @Param("activityDelta") long activityDelta,
+      @Param("capacityActivityDelta") long capacityActivityDelta,
+      @Param("participationRateDelta") double participationRateDelta,
+      @Param("paidParticipantDelta") long paidParticipantDelta,
+      @Param("totalCostDelta") double totalCostDelta);
+
+  /**
+   * Atomically applies a rating delta to a category row.
+   */
+  @Modifying
+  @Query("UPDATE ECategoryBenchmark b SET " +
+      "b.ratingSum = b.ratingSum + :ratingSumDelta, " +
+      "b.ratingCount = b.ratingCount + :ratingCountDelta, " +
+      "b.updatedDate = CURRENT_INSTANT " +
+      "WHERE b.category = :category")
+  int applyRatingDelta(@Param("category") ActivityCategory category,
+      @Param("ratingSumDelta") double ratingSumDelta,
+      @Param("ratingCountDelta") long ratingCountDelta);
+}
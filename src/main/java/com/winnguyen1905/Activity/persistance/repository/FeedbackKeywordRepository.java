@@ -0,0 +1,52 @@
+package com.winnguyen1905.activity.persistance.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.winnguyen1905.activity.persistance.entity.EFeedbackKeyword;
+
+@Repository
+public interface FeedbackKeywordRepository extends JpaRepository<EFeedbackKeyword, Long> {
+
+  /**
+   * Atomically adds a delta to a keyword's occurrences in a partition,
+   * creating the row on first use. A null organization or category is stored
+   * as its sentinel, so it matches the unique key like any other value.
+   */
+  @Modifying
+  @Query(value = "INSERT INTO feedback_keyword (organization_id, category, period_month, term, occurrences) " +
+      "VALUES (COALESCE(:organizationId, 0), COALESCE(:category, ''), :periodMonth, :term, :delta) " +
+      "ON DUPLICATE KEY UPDATE occurrences = occurrences + :delta", nativeQuery = true)
+  int applyDelta(@Param("organizationId") Long organizationId,
+      @Param("category") String category,
+      @Param("periodMonth") int periodMonth,
+      @Param("term") String term,
+      @Param("delta") long delta);
+
+  /**
+   * Locks every row and gap of the index until the transaction ends. Under
+   * InnoDB's default REPEATABLE READ this makes concurrent {@link #applyDelta}
+   * calls wait, and waits for transactions that already applied one.
+   */
+  @Query(value = "SELECT COUNT(*) FROM feedback_keyword FOR UPDATE", nativeQuery = true)
+  long lockIndex();
+
+  // Most frequent keywords across the matching partitions; null filters match everything
+  @Query("SELECT k.term, SUM(k.occurrences) FROM EFeedbackKeyword k " +
+      "WHERE (:organizationId IS NULL OR k.organizationId = :organizationId) " +
+      "AND (:category IS NULL OR k.category = :category) " +
+      "AND k.periodMonth BETWEEN :fromMonth AND :toMonth " +
+      "GROUP BY k.term HAVING SUM(k.occurrences) > 0 " +
+      "ORDER BY SUM(k.occurrences) DESC, k.term")
+  List<Object[]> findTopKeywords(@Param("organizationId") Long organizationId,
+      @Param("category") String category,
+      @Param("fromMonth") int fromMonth,
+      @Param("toMonth") int toMonth,
+      Pageable pageable);
+}
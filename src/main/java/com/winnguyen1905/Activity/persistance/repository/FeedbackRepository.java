@@ -3,8 +3,12 @@ package com.winnguyen1905.activity.persistance.repository;
 import java.time.Instant;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -26,10 +30,33 @@ public interface FeedbackRepository extends JpaRepository<EFeedback, Long> {
   @Query("SELECT f.activity.id, AVG(f.rating) FROM EFeedback f GROUP BY f.activity.id")
   List<Object[]> getAverageRatingsByActivity();
 
-  // Query to get all feedback descriptions for processing keywords in service
-  // layer
-  @Query("SELECT f.feedbackDescription FROM EFeedback f WHERE f.feedbackDescription IS NOT NULL")
-  List<String> getAllFeedbackDescriptions();
+  @Query("SELECT f.activity.id, AVG(f.rating) FROM EFeedback f WHERE f.activity.activityCategory = :category " +
+      "GROUP BY f.activity.id")
+  List<Object[]> getActivityAverageRatingsByCategory(@Param("category") ActivityCategory category);
+
+  // Per-category rating totals used to rebuild the category benchmark table
+  @Query("SELECT a.activityCategory, SUM(f.rating), COUNT(f.rating) FROM EFeedback f JOIN f.activity a " +
+      "WHERE a.activityCategory IS NOT NULL GROUP BY a.activityCategory")
+  List<Object[]> getRatingTotalsByCategory();
+
+  @Query("SELECT SUM(f.rating), COUNT(f.rating) FROM EFeedback f WHERE f.activity.id = :activityId")
+  List<Object[]> getRatingTotalsForActivity(@Param("activityId") Long activityId);
+
+  // Columns: [count, average, high (>= 8), mid (4-8), low (< 4)]
+  @Query("SELECT COUNT(f), AVG(f.rating), " +
+      "SUM(CASE WHEN f.rating >= 8.0 THEN 1 ELSE 0 END), " +
+      "SUM(CASE WHEN f.rating >= 4.0 AND f.rating < 8.0 THEN 1 ELSE 0 END), " +
+      "SUM(CASE WHEN f.rating < 4.0 THEN 1 ELSE 0 END) " +
+      "FROM EFeedback f WHERE f.activity.id = :activityId")
+  List<Object[]> getRatingDistributionForActivity(@Param("activityId") Long activityId);
+
+  // Keyword index source rows: [organizationId, category, activityStartDate, description]
+  @Query("SELECT o.id, a.activityCategory, a.startDate, f.feedbackDescription FROM EFeedback f " +
+      "JOIN f.activity a LEFT JOIN a.organization o WHERE f.feedbackDescription IS NOT NULL")
+  List<Object[]> getKeywordIndexRows();
+
+  @Query("SELECT f.feedbackDescription FROM EFeedback f WHERE f.activity.id = :activityId AND f.feedbackDescription IS NOT NULL")
+  List<String> getFeedbackDescriptionsForActivity(@Param("activityId") Long activityId);
 
   @Query("SELECT AVG(f.rating) FROM EFeedback f WHERE f.activity.id = :activityId")
   Double getAverageRatingForActivity(@Param("activityId") Long activityId);
@@ -53,10 +80,6 @@ public interface FeedbackRepository extends JpaRepository<EFeedback, Long> {
   @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.organization.id = :organizationId")
   Long countTotalFeedbacksForOrganization(@Param("organizationId") Long organizationId);
 
-  // Get feedback descriptions for an organization (for keyword analysis)
-  @Query("SELECT f.feedbackDescription FROM EFeedback f JOIN f.activity a WHERE a.organization.id = :organizationId AND f.feedbackDescription IS NOT NULL")
-  List<String> getFeedbackDescriptionsForOrganization(@Param("organizationId") Long organizationId);
-
   // Get best rated activities for an organization
   @Query("SELECT a, AVG(f.rating) as avgRating FROM EFeedback f JOIN f.activity a " +
       "WHERE a.organization.id = :organizationId " +
@@ -87,71 +110,32 @@ public interface FeedbackRepository extends JpaRepository<EFeedback, Long> {
       @Param("endDate") Instant endDate);
 
   // New filtered queries
-  @Query("SELECT AVG(f.rating) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate")
-  Double getAverageRatingInTimeRange(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
-
   @Query("SELECT AVG(f.rating) FROM EFeedback f JOIN f.activity a WHERE a.activityCategory = :category")
   Double getAverageRatingByCategory(@Param("category") ActivityCategory category);
 
   @Query("SELECT AVG(f.rating) FROM EFeedback f JOIN f.activity a WHERE a.status = :status")
   Double getAverageRatingByStatus(@Param("status") ActivityStatus status);
 
-  @Query("SELECT AVG(f.rating) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category")
-  Double getAverageRatingByTimeAndCategory(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("category") ActivityCategory category);
-
-  @Query("SELECT AVG(f.rating) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.status = :status")
-  Double getAverageRatingByTimeAndStatus(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("status") ActivityStatus status);
-
   @Query("SELECT AVG(f.rating) FROM EFeedback f JOIN f.activity a WHERE a.activityCategory = :category AND a.status = :status")
   Double getAverageRatingByCategoryAndStatus(@Param("category") ActivityCategory category,
       @Param("status") ActivityStatus status);
 
-  @Query("SELECT AVG(f.rating) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category AND a.status = :status")
-  Double getAverageRatingByTimeAndCategoryAndStatus(@Param("startDate") Instant startDate,
-      @Param("endDate") Instant endDate, @Param("category") ActivityCategory category,
-      @Param("status") ActivityStatus status);
-
-  @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate")
-  Long countReviewsInTimeRange(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate);
-
   @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.activityCategory = :category")
   Long countReviewsByCategory(@Param("category") ActivityCategory category);
 
   @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.status = :status")
   Long countReviewsByStatus(@Param("status") ActivityStatus status);
 
-  @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category")
-  Long countReviewsByTimeAndCategory(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("category") ActivityCategory category);
-
-  @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.status = :status")
-  Long countReviewsByTimeAndStatus(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("status") ActivityStatus status);
-
   @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.activityCategory = :category AND a.status = :status")
   Long countReviewsByCategoryAndStatus(@Param("category") ActivityCategory category,
       @Param("status") ActivityStatus status);
 
-  @Query("SELECT COUNT(f) FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category AND a.status = :status")
-  Long countReviewsByTimeAndCategoryAndStatus(@Param("startDate") Instant startDate, @Param("endDate") Instant endDate,
-      @Param("category") ActivityCategory category, @Param("status") ActivityStatus status);
-
-  @Query("SELECT f.feedbackDescription FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND f.feedbackDescription IS NOT NULL")
-  List<String> getFeedbackDescriptionsInTimeRange(@Param("startDate") Instant startDate,
-      @Param("endDate") Instant endDate);
-
   @Query("SELECT f.feedbackDescription FROM EFeedback f JOIN f.activity a WHERE a.activityCategory = :category AND f.feedbackDescription IS NOT NULL")
   List<String> getFeedbackDescriptionsByCategory(@Param("category") ActivityCategory category);
 
   @Query("SELECT f.feedbackDescription FROM EFeedback f JOIN f.activity a WHERE a.status = :status AND f.feedbackDescription IS NOT NULL")
   List<String> getFeedbackDescriptionsByStatus(@Param("status") ActivityStatus status);
 
-  @Query("SELECT f.feedbackDescription FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.activityCategory = :category AND f.feedbackDescription IS NOT NULL")
-  List<String> getFeedbackDescriptionsByTimeAndCategory(@Param("startDate") Instant startDate,
-      @Param("endDate") Instant endDate, @Param("category") ActivityCategory category);
-
   @Query("SELECT f.feedbackDescription FROM EFeedback f JOIN f.activity a WHERE a.startDate BETWEEN :startDate AND :endDate AND a.status = :status AND f.feedbackDescription IS NOT NULL")
   List<String> getFeedbackDescriptionsByTimeAndStatus(@Param("startDate") Instant startDate,
       @Param("endDate") Instant endDate, @Param("status") ActivityStatus status);
@@ -172,6 +156,32 @@ public interface FeedbackRepository extends JpaRepository<EFeedback, Long> {
   @Query("SELECT f FROM EFeedback f WHERE f.activity.id = :activityId")
   Page<EFeedback> findByActivityId(@Param("activityId") Long activityId, Pageable pageable);
 
+  /**
+   * Feedback row of the activity detail page, read without hydrating the
+   * feedback, participation and participant entities
+   */
+  interface ActivityFeedbackView {
+    Long getId();
+    Double getRating();
+    String getFeedbackDescription();
+    Instant getCreatedAt();
+    String getOrganizationResponse();
+    Instant getRespondedAt();
+    Long getParticipationId();
+    Long getStudentId();
+    String getStudentName();
+  }
+
+  @Query(value = "SELECT f.id AS id, f.rating AS rating, f.feedbackDescription AS feedbackDescription, " +
+      "f.createdAt AS createdAt, f.organizationResponse AS organizationResponse, f.respondedAt AS respondedAt, " +
+      "p.id AS participationId, s.id AS studentId, s.fullName AS studentName " +
+      "FROM EFeedback f LEFT JOIN f.participation p LEFT JOIN p.participant s WHERE f.activity.id = :activityId",
+      countQuery = "SELECT COUNT(f) FROM EFeedback f WHERE f.activity.id = :activityId")
+  Page<ActivityFeedbackView> findViewsByActivityId(@Param("activityId") Long activityId, Pageable pageable);
+
+  // Keyset page of an activity's feedback, without a count query
+  Window<EFeedback> findByActivityId(Long activityId, ScrollPosition position, Sort sort, Limit limit);
+
   @Query("SELECT f FROM EFeedback f JOIN f.activity a WHERE a.organization.id = :organizationId")
   Page<EFeedback> findByOrganizationId(@Param("organizationId") Long organizationId, Pageable pageable);
 
@@ -1,7 +1,11 @@
 package com.winnguyen1905.activity.persistance.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -30,6 +34,9 @@ public interface NotificationRepository extends JpaRepository<ENotification, Lon
   @Query("SELECT a FROM ENotification a WHERE a.receiver.id = :id")
   Page<ENotification> findAllByReceiverId(@Param("id") Long id, Pageable pageable);
 
+  // Keyset page of a receiver's notifications, without a count query
+  Window<ENotification> findByReceiverId(Long receiverId, ScrollPosition position, Sort sort, Limit limit);
+
   /**
    * Get notification statistics by type
    */
@@ -0,0 +1,50 @@
+package com.winnguyen1905.activity.persistance.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.winnguyen1905.activity.common.constant.EmailStatus;
+import com.winnguyen1905.activity.persistance.entity.EOutboundEmail;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<EOutboundEmail, Long> {
+
+  @Query("SELECT e.id FROM EOutboundEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+  List<Long> findDueIds(@Param("status") EmailStatus status, @Param("now") Instant now, Pageable pageable);
+
+  /**
+   * Claims due emails for one worker. Only rows still pending are taken, so
+   * concurrent instances never claim the same email twice.
+   */
+  @Modifying
+  @Query("UPDATE EOutboundEmail e SET e.status = :claimedStatus, e.claimedBy = :workerId, e.claimedUntil = :claimedUntil " +
+      "WHERE e.id IN :ids AND e.status = :pendingStatus")
+  int claim(@Param("ids") List<Long> ids,
+      @Param("workerId") String workerId,
+      @Param("claimedUntil") Instant claimedUntil,
+      @Param("pendingStatus") EmailStatus pendingStatus,
+      @Param("claimedStatus") EmailStatus claimedStatus);
+
+  List<EOutboundEmail> findByClaimedByAndStatus(String claimedBy, EmailStatus status);
+
+  // Returns emails whose worker died mid-delivery to the queue
+  @Modifying
+  @Query("UPDATE EOutboundEmail e SET e.status = :pendingStatus, e.claimedBy = NULL, e.claimedUntil = NULL " +
+      "WHERE e.status = :claimedStatus AND e.claimedUntil < :now")
+  int releaseExpiredClaims(@Param("now") Instant now,
+      @Param("pendingStatus") EmailStatus pendingStatus,
+      @Param("claimedStatus") EmailStatus claimedStatus);
+
+  long countByStatus(EmailStatus status);
+
+  @Modifying
+  @Query("DELETE FROM EOutboundEmail e WHERE e.status = :status AND e.sentDate < :before")
+  int deleteSentBefore(@Param("status") EmailStatus status, @Param("before") Instant before);
+}
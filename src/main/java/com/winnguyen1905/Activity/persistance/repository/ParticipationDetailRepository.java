@@ -4,6 +4,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,6 +15,7 @@ import com.winnguyen1905.activity.common.constant.ParticipationStatus;
 import com.winnguyen1905.activity.persistance.entity.EParticipationDetail;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +24,12 @@ public interface ParticipationDetailRepository
     extends JpaRepository<EParticipationDetail, Long>, JpaSpecificationExecutor<EParticipationDetail> {
   List<EParticipationDetail> findByActivityId(Long activityId);
 
+  // Reminder recipients of several activities at once: [activityId, accountId, email, fullName]
+  @Query("SELECT p.activity.id, a.id, a.email, a.fullName FROM EParticipationDetail p JOIN p.participant a " +
+      "WHERE p.activity.id IN :activityIds AND p.participationStatus IN :statuses")
+  List<Object[]> findReminderRecipients(@Param("activityIds") Collection<Long> activityIds,
+      @Param("statuses") Collection<ParticipationStatus> statuses);
+
   @Query("SELECT e FROM EParticipationDetail e " +
       "WHERE e.participant.id = :studentId AND e.activity.id = :activityId")
   Optional<EParticipationDetail> findByStudentIdAndActivityId(@Param("studentId") Long studentId,
@@ -29,6 +37,40 @@ public interface ParticipationDetailRepository
 
   Boolean existsByParticipantIdAndActivityId(Long participantId, Long activityId);
 
+  // Ids of the activities a participant has any participation in
+  @Query("SELECT p.activity.id FROM EParticipationDetail p WHERE p.participant.id = :participantId")
+  List<Long> findActivityIdsByParticipantId(@Param("participantId") Long participantId);
+
+  // Ids of the activities a participant has a participation with the given status in
+  @Query("SELECT p.activity.id FROM EParticipationDetail p WHERE p.participant.id = :participantId " +
+      "AND p.participationStatus = :status")
+  List<Long> findActivityIdsByParticipantIdAndStatus(@Param("participantId") Long participantId,
+      @Param("status") ParticipationStatus status);
+
+  // Seats taken in an activity, used to seed its seat counter
+  @Query("SELECT COUNT(p) FROM EParticipationDetail p WHERE p.activity.id = :activityId " +
+      "AND p.participationStatus IN :seatedStatuses")
+  long countSeatsTaken(@Param("activityId") Long activityId,
+      @Param("seatedStatuses") Collection<ParticipationStatus> seatedStatuses);
+
+  // Participations of an activity with the given status, other than one
+  @Query("SELECT COUNT(p) FROM EParticipationDetail p WHERE p.activity.id = :activityId " +
+      "AND p.participationStatus = :status AND p.id <> :excludedId")
+  long countByActivityIdAndStatusExcluding(@Param("activityId") Long activityId,
+      @Param("status") ParticipationStatus status, @Param("excludedId") Long excludedId);
+
+  // Waitlist entries of an activity: [participationId, registeredAt]
+  @Query("SELECT p.id, p.registeredAt FROM EParticipationDetail p WHERE p.activity.id = :activityId " +
+      "AND p.participationStatus = :status")
+  List<Object[]> findQueueEntries(@Param("activityId") Long activityId, @Param("status") ParticipationStatus status);
+
+  // Moves a participation to a new status only if it is still in the expected one
+  @Modifying
+  @Query("UPDATE EParticipationDetail p SET p.participationStatus = :newStatus " +
+      "WHERE p.id = :id AND p.participationStatus = :expectedStatus")
+  int updateStatusIfCurrent(@Param("id") Long id, @Param("expectedStatus") ParticipationStatus expectedStatus,
+      @Param("newStatus") ParticipationStatus newStatus);
+
   Boolean existsByParticipantIdAndActivityIdAndParticipationRole(Long participantId, Long activityId,
       ParticipationRole participationRole);
 
@@ -110,4 +152,46 @@ public interface ParticipationDetailRepository
       ParticipationStatus status);
 
   List<EParticipationDetail> findByActivityIdAndStatus(Long activityId, ParticipationStatus status);
+
+  // Columns: [activityId, registrations, registrations with the given status]
+  @Query("SELECT p.activity.id, COUNT(p), " +
+      "SUM(CASE WHEN p.participationStatus = :countedStatus THEN 1 ELSE 0 END) " +
+      "FROM EParticipationDetail p WHERE p.activity.activityCategory = :category GROUP BY p.activity.id")
+  List<Object[]> getRegistrationCountsByCategory(@Param("category") ActivityCategory category,
+      @Param("countedStatus") ParticipationStatus countedStatus);
+
+  // Hours from the first registration to the one that filled the capacity, for
+  // each other full activity of a category. Columns: [activityId, hours]
+  @Query(value = "SELECT r.activity_id, TIMESTAMPDIFF(HOUR, MIN(r.registered_at), MAX(r.registered_at)) " +
+      "FROM (SELECT p.activity_id, p.registered_at, a.max_attendees AS capacity, " +
+      "ROW_NUMBER() OVER (PARTITION BY p.activity_id ORDER BY p.registered_at) AS seat " +
+      "FROM attendance p JOIN activity a ON a.id = p.activity_id " +
+      "WHERE a.category = :category AND a.id <> :activityId AND a.max_attendees > 0 " +
+      "AND a.current_participants >= a.max_attendees AND p.registered_at IS NOT NULL) r " +
+      "WHERE r.seat = 1 OR r.seat = r.capacity " +
+      "GROUP BY r.activity_id HAVING MAX(r.seat) = MAX(r.capacity)", nativeQuery = true)
+  List<Object[]> getHoursToCapacityByCategory(@Param("category") String category,
+      @Param("activityId") Long activityId);
+
+  // Flat rows for the activity statistics accumulator, one per participation and
+  // feedback pair. Feedback is only joined for participations with the given
+  // status, and rows are ordered so that a participation's rows are adjacent.
+  // Columns: [participationId, role, status, participantId, participantName, rating, description]
+  @Query("SELECT p.id, p.participationRole, p.participationStatus, acc.id, acc.fullName, " +
+      "f.rating, f.feedbackDescription " +
+      "FROM EParticipationDetail p LEFT JOIN p.participant acc " +
+      "LEFT JOIN p.feedbacks f ON p.participationStatus = :scoredStatus " +
+      "WHERE p.activity.id = :activityId ORDER BY p.id")
+  List<Object[]> getStatisticsRowsByActivity(@Param("activityId") Long activityId,
+      @Param("scoredStatus") ParticipationStatus scoredStatus);
+
+  @Query("SELECT p.id, p.participationRole, p.participationStatus, acc.id, acc.fullName, " +
+      "f.rating, f.feedbackDescription " +
+      "FROM EParticipationDetail p LEFT JOIN p.participant acc " +
+      "LEFT JOIN p.feedbacks f ON p.participationStatus = :scoredStatus " +
+      "WHERE p.activity.id = :activityId AND p.registeredAt BETWEEN :startDate AND :endDate ORDER BY p.id")
+  List<Object[]> getStatisticsRowsByActivityInRange(@Param("activityId") Long activityId,
+      @Param("scoredStatus") ParticipationStatus scoredStatus,
+      @Param("startDate") Instant startDate,
+      @Param("endDate") Instant endDate);
 }
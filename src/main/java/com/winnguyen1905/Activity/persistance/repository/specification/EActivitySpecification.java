@@ -1,25 +1,60 @@
 package com.winnguyen1905.activity.persistance.repository.specification;
 
+import com.winnguyen1905.activity.config.FullTextFunctionContributor;
 import com.winnguyen1905.activity.persistance.entity.EActivity;
 import com.winnguyen1905.activity.model.dto.ActivitySearchRequest;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class EActivitySpecification {
 
-  public static Specification<EActivity> filterBy(ActivitySearchRequest searchRequest) {
+  // Characters with a meaning in MySQL boolean full-text queries
+  private static final String FULL_TEXT_OPERATORS = "[+\\-<>()~*\"@]";
+
+  /**
+   * Builds the activity search filter.
+   * <p>
+   * With {@code fullText}, the keyword is matched against the FULLTEXT index
+   * on {@code searchText}: every word must occur as a word prefix, and results
+   * are ranked by relevance unless the request is sorted explicitly. Without
+   * it the keyword falls back to {@code LIKE}. The name, organization and
+   * venue filters always stay {@code LIKE} predicates on their own columns.
+   *
+   * @param fullText Whether the FULLTEXT index is available
+   */
+  public static Specification<EActivity> filterBy(ActivitySearchRequest searchRequest, boolean fullText) {
     return (root, query, criteriaBuilder) -> {
       List<Predicate> predicates = new ArrayList<>();
 
-      if (searchRequest.getActivityName() != null && !searchRequest.getActivityName().isBlank()) {
-        predicates.add(criteriaBuilder.like(
-            criteriaBuilder.lower(root.get("activityName")),
-            "%" + searchRequest.getActivityName().toLowerCase() + "%"));
+      if (fullText) {
+        String terms = fullTextQuery(searchRequest.getKeyword());
+        if (!terms.isEmpty()) {
+          Expression<Double> score = criteriaBuilder.function(FullTextFunctionContributor.MATCH_AGAINST, Double.class,
+              root.get("searchText"), criteriaBuilder.literal(terms));
+          predicates.add(criteriaBuilder.greaterThan(score, 0.0));
+          if (!Long.class.equals(query.getResultType())) {
+            query.orderBy(criteriaBuilder.desc(score));
+          }
+        }
+      } else {
+        addContains(predicates, criteriaBuilder, root, "searchText", searchRequest.getKeyword());
+      }
+
+      addContains(predicates, criteriaBuilder, root, "activityName", searchRequest.getActivityName());
+      addContains(predicates, criteriaBuilder, root, "venue", searchRequest.getActivityVenue());
+      if (searchRequest.getOrganizationName() != null && !searchRequest.getOrganizationName().isBlank()) {
+        predicates.add(criteriaBuilder.like(root.get("organization").get("name"),
+            "%" + searchRequest.getOrganizationName() + "%"));
       }
 
       if (searchRequest.getActivityCategory() != null) {
@@ -30,10 +65,6 @@ public class EActivitySpecification {
         predicates.add(criteriaBuilder.equal(root.get("status"), searchRequest.getActivityStatus()));
       }
 
-      if (searchRequest.getOrganizationName() != null) {
-        predicates.add(criteriaBuilder.like(root.get("organization").get("name"), "%" + searchRequest.getOrganizationName() + "%"));
-      }
-
       if (searchRequest.getStartDateFrom() != null) {
         predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("startDate"), searchRequest.getStartDateFrom()));
       }
@@ -72,13 +103,27 @@ public class EActivitySpecification {
         predicates.add(criteriaBuilder.equal(root.get("isApproved"), searchRequest.getIsApproved()));
       }
 
-      if (searchRequest.getActivityVenue() != null && !searchRequest.getActivityVenue().isBlank()) {
-        predicates.add(criteriaBuilder.like(
-            criteriaBuilder.lower(root.get("activityVenue")),
-            "%" + searchRequest.getActivityVenue().toLowerCase() + "%"));
-      }
-
       return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
     };
   }
+
+  private static void addContains(List<Predicate> predicates, CriteriaBuilder criteriaBuilder, Root<EActivity> root,
+      String attribute, String value) {
+    if (value != null && !value.isBlank()) {
+      predicates.add(criteriaBuilder.like(
+          criteriaBuilder.lower(root.get(attribute)),
+          "%" + value.toLowerCase() + "%"));
+    }
+  }
+
+  // "campus music" -> "+campus* +music*"
+  private static String fullTextQuery(String text) {
+    if (text == null || text.isBlank()) {
+      return "";
+    }
+    return Stream.of(text.replaceAll(FULL_TEXT_OPERATORS, " ").trim().split("\\s+"))
+        .filter(word -> !word.isEmpty())
+        .map(word -> "+" + word + "*")
+        .collect(Collectors.joining(" "));
+  }
 }
@@ -83,6 +83,7 @@ public class AccountController {
       @Parameter(description = "Account role") @RequestParam(required = false) AccountRole role,
       @Parameter(description = "Major type") @RequestParam(required = false) MajorType major,
       @Parameter(description = "Account active status") @RequestParam(required = false) Boolean isActive,
+      @Parameter(description = "Cursor of the previous page; switches to cursor pagination") @RequestParam(required = false) String cursor,
       @Parameter(description = "Pagination parameters") Pageable pageable) {
 
     AccountSearchCriteria criteria = AccountSearchCriteria.builder()
@@ -95,6 +96,9 @@ public class AccountController {
         .isActive(isActive)
         .build();
 
+    if (cursor != null) {
+      return ResponseEntity.ok().body(this.accountService.scrollAccounts(criteria, cursor, pageable.getPageSize()));
+    }
     return ResponseEntity.ok().body(this.accountService.searchAccounts(criteria, pageable));
   }
 
@@ -1,8 +1,11 @@
 package com.winnguyen1905.activity.rest.controller;
 
 import com.winnguyen1905.activity.common.constant.SystemConstant;
+import com.winnguyen1905.activity.model.viewmodel.ActivityScheduleVm;
+import com.winnguyen1905.activity.model.viewmodel.ActivitySearchFacetsVm;
 import com.winnguyen1905.activity.model.viewmodel.ActivityVm;
 import com.winnguyen1905.activity.model.viewmodel.CheckJoinedActivityVm;
+import com.winnguyen1905.activity.model.viewmodel.FeedbackDetailVm;
 import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
 import com.winnguyen1905.activity.model.viewmodel.ParticipationDetailVm;
 
@@ -14,7 +17,9 @@ import com.winnguyen1905.activity.model.dto.ActivityDto;
 import com.winnguyen1905.activity.model.dto.ActivitySearchRequest;
 import com.winnguyen1905.activity.model.dto.CheckJoinedActivityDto;
 import com.winnguyen1905.activity.model.dto.JoinActivityRequest;
+import com.winnguyen1905.activity.model.dto.ParticipationSearchParams;
 import com.winnguyen1905.activity.rest.service.ActivityService;
+import com.winnguyen1905.activity.rest.service.ParticipantService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,7 +30,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -38,7 +48,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 @Tag(name = "Activity Management", description = "Operations for creating, updating, and managing activities")
 public class ActivityController {
 
+  // Clients may keep the detail sections but must revalidate them with their ETag
+  private static final CacheControl SECTION_CACHE = CacheControl.noCache().cachePrivate();
+
   private final ActivityService activityService;
+  private final ParticipantService participantService;
 
   @PostMapping("/create")
   @Operation(summary = "Create activity", description = "Create a new activity")
@@ -85,10 +99,12 @@ public class ActivityController {
   }
 
   @GetMapping("/{id}")
-  @Operation(summary = "Get activity by ID", description = "Retrieve detailed information about a specific activity")
+  @Operation(summary = "Get activity by ID", description = "Retrieve the core information about a specific activity. "
+      + "Schedules, feedbacks and participants are separate sub-resources")
   @ApiResponses(value = {
     @ApiResponse(responseCode = "200", description = "Activity found", 
                  content = @Content(schema = @Schema(implementation = ActivityVm.class))),
+    @ApiResponse(responseCode = "304", description = "Activity unchanged since the If-None-Match ETag"),
     @ApiResponse(responseCode = "401", description = "Unauthorized"),
     @ApiResponse(responseCode = "404", description = "Activity not found")
   })
@@ -96,23 +112,83 @@ public class ActivityController {
       @Parameter(description = "Account request context", hidden = true) @AccountRequest TAccountRequest accountRequest, 
       @Parameter(description = "ID of the activity to retrieve", required = true) @PathVariable("id") Long id) {
     ActivityVm activity = activityService.getActivityById(accountRequest, id);
-    return ResponseEntity.ok(activity);
+    return ResponseEntity.ok().cacheControl(SECTION_CACHE).body(activity);
+  }
+
+  @GetMapping("/{id}/schedules")
+  @Operation(summary = "Get activity schedules", description = "Retrieve the schedules of a specific activity")
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Schedules retrieved successfully"),
+    @ApiResponse(responseCode = "304", description = "Schedules unchanged since the If-None-Match ETag"),
+    @ApiResponse(responseCode = "404", description = "Activity not found")
+  })
+  public ResponseEntity<List<ActivityScheduleVm>> getActivitySchedules(
+      @Parameter(description = "ID of the activity", required = true) @PathVariable("id") Long id) {
+    return ResponseEntity.ok().cacheControl(SECTION_CACHE).body(activityService.getActivitySchedules(id));
+  }
+
+  @GetMapping("/{id}/feedbacks")
+  @Operation(summary = "Get activity feedbacks", description = "Retrieve the feedbacks of a specific activity with pagination")
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Feedbacks retrieved successfully",
+                 content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+    @ApiResponse(responseCode = "304", description = "Feedbacks unchanged since the If-None-Match ETag"),
+    @ApiResponse(responseCode = "404", description = "Activity not found")
+  })
+  public ResponseEntity<PagedResponse<FeedbackDetailVm>> getActivityFeedbacks(
+      @Parameter(description = "ID of the activity", required = true) @PathVariable("id") Long id,
+      @Parameter(description = "Pagination parameters")
+      @PageableDefault(size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+    return ResponseEntity.ok().cacheControl(SECTION_CACHE).body(activityService.getActivityFeedbacks(id, pageable));
+  }
+
+  @GetMapping("/{id}/participants")
+  @Operation(summary = "Get activity participants", description = "Retrieve the participants of a specific activity with pagination")
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Participants retrieved successfully",
+                 content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+    @ApiResponse(responseCode = "304", description = "Participants unchanged since the If-None-Match ETag")
+  })
+  public ResponseEntity<PagedResponse<ParticipationDetailVm>> getActivityParticipants(
+      @Parameter(description = "Account request context", hidden = true) @AccountRequest TAccountRequest accountRequest,
+      @Parameter(description = "ID of the activity", required = true) @PathVariable("id") Long id,
+      @Parameter(description = "Pagination parameters") @PageableDefault(size = 20) Pageable pageable) {
+    ParticipationSearchParams searchParams = ParticipationSearchParams.builder().activityId(id).build();
+    return ResponseEntity.ok().cacheControl(SECTION_CACHE)
+        .body(participantService.getParticipantDetailHistories(accountRequest, searchParams, pageable));
   }
 
   @GetMapping("/search")
-  @Operation(summary = "Search activities", description = "Search for activities based on various criteria with pagination")
+  @Operation(summary = "Search activities", description = "Search for activities based on various criteria with pagination. "
+      + "Pass an empty cursor, then each nextCursor, to page by start date without offsets or counts")
   @ApiResponses(value = {
     @ApiResponse(responseCode = "200", description = "Search completed successfully", 
-                 content = @Content(schema = @Schema(implementation = PagedResponse.class)))
+                 content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
   })
   public ResponseEntity<PagedResponse<ActivityVm>> getAllActivities(
       @Parameter(description = "Pagination parameters") Pageable pageable,
       @Parameter(description = "Search criteria") @ModelAttribute(SystemConstant.MODEL) ActivitySearchRequest activitySearchRequest,
+      @Parameter(description = "Cursor of the previous page; switches to cursor pagination") @RequestParam(required = false) String cursor,
       @Parameter(description = "Account request context", hidden = true) @AccountRequest TAccountRequest accountRequest) {
+    if (cursor != null) {
+      return ResponseEntity.ok(activityService.scrollActivities(activitySearchRequest, cursor, pageable.getPageSize()));
+    }
     PagedResponse<ActivityVm> activities = activityService.getAllActivities(activitySearchRequest, pageable);
     return ResponseEntity.ok(activities);
   }
 
+  @GetMapping("/search/facets")
+  @Operation(summary = "Search facets", description = "Count the matching activities per category and per status")
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Facets computed successfully",
+                 content = @Content(schema = @Schema(implementation = ActivitySearchFacetsVm.class)))
+  })
+  public ResponseEntity<ActivitySearchFacetsVm> getActivitySearchFacets(
+      @Parameter(description = "Search criteria") @ModelAttribute(SystemConstant.MODEL) ActivitySearchRequest activitySearchRequest) {
+    return ResponseEntity.ok(activityService.getActivitySearchFacets(activitySearchRequest));
+  }
+
   @GetMapping("/my-contributor")
   @Operation(summary = "Get my contributor activities", description = "Get activities where the current user is a contributor")
   @ApiResponses(value = {
@@ -20,7 +20,7 @@ public class EmailTestController {
                 "Test Email - Configuration Working", 
                 "This is a test email to verify your email configuration is working correctly!"
             );
-            return ResponseEntity.ok("Email sent successfully to: " + to);
+            return ResponseEntity.ok("Email queued for delivery to: " + to);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body("Failed to send email: " + e.getMessage());
@@ -28,6 +28,7 @@ import com.winnguyen1905.activity.model.dto.FeedbackUpdateDto;
 import com.winnguyen1905.activity.model.dto.OrganizationResponseDto;
 import com.winnguyen1905.activity.model.viewmodel.FeedbackDetailVm;
 import com.winnguyen1905.activity.model.viewmodel.FeedbackSummaryVm;
+import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
 import com.winnguyen1905.activity.rest.service.FeedbackService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -179,6 +180,30 @@ public class FeedbackController {
     return ResponseEntity.ok(feedbacks);
   }
 
+  /**
+   * Get the feedbacks for a specific activity page by page, newest first,
+   * continuing from the cursor of the previous page
+   * 
+   * @param activityId The activity ID
+   * @param cursor     The nextCursor of the previous page, or null for the first page
+   * @param size       Page size
+   * @return Cursor page of feedback summaries
+   */
+  @GetMapping("/activity/{activityId}/scroll")
+  @Operation(summary = "Scroll activity feedbacks", description = "Get the feedbacks for a specific activity with cursor pagination")
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Feedbacks retrieved successfully", 
+                content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+    @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+    @ApiResponse(responseCode = "404", description = "Activity not found")
+  })
+  public ResponseEntity<PagedResponse<FeedbackSummaryVm>> scrollActivityFeedbacks(
+      @Parameter(description = "ID of the activity", required = true) @PathVariable Long activityId,
+      @Parameter(description = "Cursor of the previous page") @RequestParam(required = false) String cursor,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+    return ResponseEntity.ok(feedbackService.scrollActivityFeedbacks(activityId, cursor, size));
+  }
+
   /**
    * Get the average rating for a specific activity
    * 
@@ -1,6 +1,7 @@
 package com.winnguyen1905.activity.rest.controller;
 
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.winnguyen1905.activity.common.annotation.AccountRequest;
@@ -27,7 +28,10 @@ public class NotificationController {
 
   @GetMapping("")
   public ResponseEntity<PagedResponse<NotificationVm>> getNotifications(@AccountRequest TAccountRequest accountRequest,
-      Pageable pageable) {
+      Pageable pageable, @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+          return ResponseEntity.ok(notificationService.scrollNotifications(accountRequest, cursor, pageable.getPageSize()));
+        }
         return ResponseEntity.ok(notificationService.getNotifications(accountRequest, pageable));
   }
 
@@ -7,6 +7,8 @@ import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +30,7 @@ import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
 import com.winnguyen1905.activity.persistance.entity.EAccountCredentials;
 import com.winnguyen1905.activity.persistance.repository.AccountRepository;
 import com.winnguyen1905.activity.utils.JwtUtils;
+import com.winnguyen1905.activity.utils.ScrollCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +40,9 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AccountService {
 
+  // Newest accounts first, with the id as tie-breaker
+  private static final Sort SCROLL_SORT = Sort.by(Sort.Order.desc("createdDate"), Sort.Order.desc("id"));
+
   private final JwtUtils jwtUtils;
   private final AccountRepository accountRepository;
   private final PasswordEncoder passwordEncoder;
@@ -63,6 +69,30 @@ public class AccountService {
         .build();
   }
 
+  /**
+   * Searches accounts page by page after a cursor, without counting the total
+   *
+   * @param cursor The cursor of the previous page, or null for the first page
+   * @param size   The maximum number of accounts
+   */
+  public PagedResponse<AccountVm> scrollAccounts(AccountSearchCriteria criteria, String cursor, int size) {
+    if (criteria == null) {
+      criteria = new AccountSearchCriteria();
+    }
+    Specification<EAccountCredentials> spec = AccountSpecifications.withCriteria(criteria);
+
+    Window<EAccountCredentials> accountWindow = this.accountRepository.findBy(spec, query -> query
+        .sortBy(SCROLL_SORT)
+        .limit(size)
+        .scroll(ScrollCursor.decode(cursor, SCROLL_SORT)));
+
+    List<AccountVm> accounts = accountWindow.getContent().stream()
+        .map(this::convertToAccountVm)
+        .collect(Collectors.toList());
+
+    return ScrollCursor.toPagedResponse(accountWindow, accounts, size);
+  }
+
   public PagedResponse<AccountVm> getAccount(Pageable pageable) {
     Page<EAccountCredentials> accountPage = this.accountRepository.findAll(pageable);
 
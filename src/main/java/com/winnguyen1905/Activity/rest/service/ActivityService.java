@@ -1,5 +1,7 @@
 package com.winnguyen1905.activity.rest.service;
 
+import java.util.List;
+
 import org.springframework.data.domain.Pageable;
 
 import com.winnguyen1905.activity.common.annotation.TAccountRequest;
@@ -8,8 +10,11 @@ import com.winnguyen1905.activity.model.dto.ActivitySearchRequest;
 import com.winnguyen1905.activity.model.dto.CheckJoinedActivityDto;
 import com.winnguyen1905.activity.model.dto.JoinActivityRequest;
 import com.winnguyen1905.activity.model.dto.ParticipationSearchParams;
+import com.winnguyen1905.activity.model.viewmodel.ActivityScheduleVm;
+import com.winnguyen1905.activity.model.viewmodel.ActivitySearchFacetsVm;
 import com.winnguyen1905.activity.model.viewmodel.ActivityVm;
 import com.winnguyen1905.activity.model.viewmodel.CheckJoinedActivityVm;
+import com.winnguyen1905.activity.model.viewmodel.FeedbackDetailVm;
 import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
 import com.winnguyen1905.activity.model.viewmodel.ParticipationDetailVm;
 
@@ -18,6 +23,8 @@ public interface ActivityService {
   void updateActivity(TAccountRequest accountRequest, ActivityDto activityDto);
   void deleteActivity(TAccountRequest accountRequest, Long activityId);
   PagedResponse<ActivityVm> getAllActivities(ActivitySearchRequest activitySearchRequest, Pageable pageable);
+  PagedResponse<ActivityVm> scrollActivities(ActivitySearchRequest activitySearchRequest, String cursor, int size);
+  ActivitySearchFacetsVm getActivitySearchFacets(ActivitySearchRequest activitySearchRequest);
   PagedResponse<ActivityVm> getMyActivityContributors(TAccountRequest accountRequest);
   PagedResponse<ActivityVm> getJoinedActivities(TAccountRequest accountRequest, Pageable pageable);
   ParticipationDetailVm joinActivity(TAccountRequest accountRequest, JoinActivityRequest participationDetailDto);
@@ -25,6 +32,8 @@ public interface ActivityService {
   void disapproveActivity(TAccountRequest accountRequest, Long activityId);
   // PagedResponse<ActivityVm> getActivitiesByStudent(TAccountRequest accountRequest, Pageable pageable);
   ActivityVm getActivityById(TAccountRequest accountRequest, Long activityId);
+  List<ActivityScheduleVm> getActivitySchedules(Long activityId);
+  PagedResponse<FeedbackDetailVm> getActivityFeedbacks(Long activityId, Pageable pageable);
   // PagedResponse<ActivityVm> getActivitiesByCategory(TAccountRequest accountRequest, ActivityCategory activityCategory, Pageable pageable);
   CheckJoinedActivityVm isJoinedActivity(TAccountRequest accountRequest, CheckJoinedActivityDto checkJoinedActivityDto);
 }
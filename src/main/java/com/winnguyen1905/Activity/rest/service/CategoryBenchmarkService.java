@@ -0,0 +1,57 @@
+package com.winnguyen1905.activity.rest.service;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.model.viewmodel.CategoryBenchmarkVm;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+
+/**
+ * Maintains the pre-aggregated per-category benchmark used by the comparative,
+ * effectiveness and recommendation analytics.
+ */
+public interface CategoryBenchmarkService {
+
+  /**
+   * Gets the current averages for a category
+   *
+   * @param category The category to look up
+   * @return CategoryBenchmarkVm with participation, cost and rating averages
+   */
+  CategoryBenchmarkVm getBenchmark(ActivityCategory category);
+
+  /**
+   * Adds a newly persisted activity to its category totals
+   */
+  void onActivityCreated(EActivity activity);
+
+  /**
+   * Replaces the contribution captured in {@code before} with the current state
+   * of the activity, moving its ratings when the category changed
+   */
+  void onActivityChanged(ActivitySnapshot before, EActivity after);
+
+  /**
+   * Removes an activity and its ratings from its category totals
+   */
+  void onActivityDeleted(EActivity activity);
+
+  void onFeedbackAdded(ActivityCategory category, Double rating);
+
+  void onFeedbackRemoved(ActivityCategory category, Double rating);
+
+  /**
+   * Recomputes every category row from grouped aggregate queries
+   */
+  void rebuild();
+
+  /**
+   * The benchmark-relevant fields of an activity, captured before it is mutated
+   */
+  record ActivitySnapshot(ActivityCategory category, Integer capacityLimit, Integer currentParticipants,
+      Double fee) {
+
+    public static ActivitySnapshot of(EActivity activity) {
+      return new ActivitySnapshot(activity.getActivityCategory(), activity.getCapacityLimit(),
+          activity.getCurrentParticipants(), activity.getFee());
+    }
+  }
+}
@@ -1,41 +1,70 @@
 package com.winnguyen1905.activity.rest.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import java.time.Instant;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
+
+import com.winnguyen1905.activity.common.constant.EmailStatus;
+import com.winnguyen1905.activity.persistance.entity.EOutboundEmail;
+import com.winnguyen1905.activity.persistance.repository.OutboundEmailRepository;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
 public class EmailService {
 
-  private final JavaMailSender mailSender;
-  
-  @Value("${spring.mail.username}")
-  private String fromEmail;
+  private final OutboundEmailRepository outboundEmailRepository;
 
-  public EmailService(JavaMailSender mailSender) {
-    this.mailSender = mailSender;
+  public EmailService(OutboundEmailRepository outboundEmailRepository) {
+    this.outboundEmailRepository = outboundEmailRepository;
   }
 
+  /**
+   * Queues an email for delivery and returns immediately. The email is stored
+   * in the outbound queue (within the caller's transaction, if any) and sent
+   * by {@link com.winnguyen1905.activity.scheduling.EmailDeliveryScheduler}.
+   */
   public void sendEmail(String to, String subject, String body) {
-    try {
-      log.info("Attempting to send email to: {}", to);
-      
-      SimpleMailMessage message = new SimpleMailMessage();
-      message.setTo(to);
-      message.setSubject(subject);
-      message.setText(body);
-      message.setFrom(fromEmail);
-
-      mailSender.send(message);
-      
-      log.info("Email sent successfully to: {}", to);
-    } catch (Exception e) {
-      log.error("Failed to send email to {}: {}", to, e.getMessage(), e);
-      throw new RuntimeException("Failed to send email: " + e.getMessage(), e);
+    if (to == null || to.isBlank()) {
+      throw new IllegalArgumentException("Email recipient is required");
     }
+
+    outboundEmailRepository.save(EOutboundEmail.builder()
+        .recipient(to)
+        .subject(subject)
+        .body(body)
+        .status(EmailStatus.PENDING)
+        .attempts(0)
+        .nextAttemptAt(Instant.now())
+        .build());
+
+    log.debug("Queued email to: {}", to);
+  }
+
+  /**
+   * Queues many emails at once. Messages without a recipient are skipped.
+   * The rows are inserted with JDBC batching rather than one round trip each.
+   */
+  public void sendEmails(List<EmailMessage> messages) {
+    Instant now = Instant.now();
+    List<EOutboundEmail> emails = messages.stream()
+        .filter(message -> message.to() != null && !message.to().isBlank())
+        .<EOutboundEmail>map(message -> EOutboundEmail.builder()
+            .recipient(message.to())
+            .subject(message.subject())
+            .body(message.body())
+            .status(EmailStatus.PENDING)
+            .attempts(0)
+            .nextAttemptAt(now)
+            .build())
+        .toList();
+
+    outboundEmailRepository.saveAll(emails);
+    log.debug("Queued {} emails", emails.size());
+  }
+
+  public record EmailMessage(String to, String subject, String body) {
   }
 }
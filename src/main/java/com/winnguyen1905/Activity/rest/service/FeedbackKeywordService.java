@@ -0,0 +1,55 @@
+package com.winnguyen1905.activity.rest.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.model.viewmodel.KeywordCountVm;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.entity.EFeedback;
+
+/**
+ * Persistent term-frequency index over feedback descriptions, partitioned by
+ * organization, activity category and activity start month.
+ */
+public interface FeedbackKeywordService {
+
+  /**
+   * Returns the most frequent keywords of the feedback matching the filter.
+   * Every filter is optional. The time range is matched at month granularity
+   * against the activity start date.
+   *
+   * @param organizationId Organization running the activities, or null
+   * @param category       Activity category, or null
+   * @param startDate      Start of the time range, or null for unbounded
+   * @param endDate        End of the time range, or null for unbounded
+   * @param limit          Maximum number of keywords to return
+   * @return Keywords ordered by descending count
+   */
+  List<KeywordCountVm> getTopKeywords(Long organizationId, ActivityCategory category, Instant startDate,
+      Instant endDate, int limit);
+
+  void onFeedbackCreated(EFeedback feedback);
+
+  void onFeedbackDeleted(EFeedback feedback);
+
+  /**
+   * Moves the keywords of an activity's feedback to its new partition after
+   * its category or start date changed
+   *
+   * @param activity     The activity, already holding its new values
+   * @param oldCategory  The category before the change
+   * @param oldStartDate The start date before the change
+   */
+  void onActivityMoved(EActivity activity, ActivityCategory oldCategory, Instant oldStartDate);
+
+  /**
+   * Removes the keywords of every feedback of an activity about to be deleted
+   */
+  void onActivityDeleted(EActivity activity);
+
+  /**
+   * Recomputes the whole index from the feedback table
+   */
+  void rebuild();
+}
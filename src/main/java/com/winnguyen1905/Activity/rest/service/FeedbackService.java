@@ -10,6 +10,7 @@ import com.winnguyen1905.activity.model.dto.FeedbackCreateDto;
 import com.winnguyen1905.activity.model.dto.FeedbackUpdateDto;
 import com.winnguyen1905.activity.model.viewmodel.FeedbackDetailVm;
 import com.winnguyen1905.activity.model.viewmodel.FeedbackSummaryVm;
+import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
 import com.winnguyen1905.activity.model.dto.OrganizationResponseDto;
 
 import org.springframework.data.domain.Page;
@@ -29,6 +30,7 @@ public interface FeedbackService {
     
     // Activity-specific operations
     Page<FeedbackSummaryVm> getActivityFeedbacks(Long activityId, Pageable pageable);
+    PagedResponse<FeedbackSummaryVm> scrollActivityFeedbacks(Long activityId, String cursor, int size);
     Double getAverageRatingForActivity(Long activityId);
     
     // Organization-specific operations
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 public interface NotificationService {
   void sendNotification(NotificationDto notificationDto);
   PagedResponse<NotificationVm> getNotifications(TAccountRequest accountRequest, Pageable pageable);
+  PagedResponse<NotificationVm> scrollNotifications(TAccountRequest accountRequest, String cursor, int size);
   void readNotification(TAccountRequest accountRequest, Long id);
   void deleteNotification(TAccountRequest accountRequest, Long id);
 }
@@ -0,0 +1,32 @@
+package com.winnguyen1905.activity.rest.service;
+
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+
+/**
+ * Ranks an activity against the other activities of its category.
+ */
+public interface PercentileRankService {
+
+  enum PercentileMetric {
+    PARTICIPATION_RATE,
+    RATING,
+    // Lower cost per participant ranks higher
+    COST_EFFICIENCY
+  }
+
+  /**
+   * Gets the percentage of other activities in the same category that the given
+   * activity outperforms on a metric
+   *
+   * @param activity The activity to rank
+   * @param metric   The metric to rank on
+   * @return Percentile between 0 and 100; 100 when the category has no other
+   *         activities, 0 when the activity has no value for the metric
+   */
+  Integer getPercentileRank(EActivity activity, PercentileMetric metric);
+
+  /**
+   * Rebuilds every category distribution from bulk aggregate queries
+   */
+  void refresh();
+}
@@ -0,0 +1,48 @@
+package com.winnguyen1905.activity.rest.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.winnguyen1905.activity.persistance.entity.EAccountCredentials;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.websocket.dto.SocketNotificationDto;
+
+import lombok.Builder;
+
+/**
+ * Delivers reminders to every participant of an activity in bulk.
+ */
+public interface ReminderFanoutService {
+
+  /**
+   * Sends each reminder to all participants of its activity: a notification
+   * row, a queued email and a direct socket event per participant. Recipients
+   * of all reminders are loaded with one query; each activity is written in
+   * its own transaction so one failure does not drop the others.
+   *
+   * @param reminders The reminders to deliver, at most one per activity
+   */
+  void fanOut(List<Reminder> reminders);
+
+  /**
+   * One reminder for the participants of an activity
+   *
+   * @param activity           The activity whose participants are notified
+   * @param title              Notification title
+   * @param content            Notification content
+   * @param emailSubject       Email subject
+   * @param emailBody          Renders the email body for a participant
+   * @param socketEvent        Direct socket event name, or null for none
+   * @param socketNotification Direct socket payload, or null for none
+   */
+  @Builder
+  record Reminder(
+      EActivity activity,
+      String title,
+      String content,
+      String emailSubject,
+      Function<EAccountCredentials, String> emailBody,
+      String socketEvent,
+      SocketNotificationDto socketNotification) {
+  }
+}
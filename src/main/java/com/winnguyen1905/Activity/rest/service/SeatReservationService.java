@@ -0,0 +1,110 @@
+package com.winnguyen1905.activity.rest.service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.winnguyen1905.activity.common.constant.ParticipationStatus;
+import com.winnguyen1905.activity.exception.BusinessLogicException;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+
+/**
+ * Hands out activity seats without exclusively locking or versioning the
+ * activity row. Remaining seats are kept in an atomic {@link SeatCounter}; the
+ * {@code currentParticipants} column follows in periodic batched updates.
+ * Seat changes hold a shared lock on the activity row, which only a counter
+ * reseed waits for.
+ */
+public interface SeatReservationService {
+
+  /**
+   * Participation statuses that occupy a seat
+   */
+  Set<ParticipationStatus> SEATED_STATUSES = Collections.unmodifiableSet(
+      EnumSet.of(ParticipationStatus.UNVERIFIED, ParticipationStatus.VERIFIED));
+
+  /**
+   * Takes a seat for the current transaction. The seat is given back if the
+   * transaction rolls back and counted in {@code currentParticipants} once it
+   * commits. Must be called before the transaction locks the activity row,
+   * since loading a missing counter waits for every lock on it.
+   *
+   * @param activity The activity to join
+   * @return false if no seat is left
+   * @throws BusinessLogicException if the counter was dropped while taking the seat
+   */
+  boolean tryReserve(EActivity activity);
+
+  /**
+   * Gives a seat back once the current transaction commits
+   */
+  void release(EActivity activity);
+
+  /**
+   * Drops the seat counter once a capacity change commits, so the next seat
+   * change reseeds it with the new capacity
+   */
+  void onCapacityChanged(Long activityId, Integer oldCapacity, Integer newCapacity);
+
+  /**
+   * Drops the seat counter of a deleted activity
+   */
+  void onActivityDeleted(Long activityId);
+
+  /**
+   * Writes pending {@code currentParticipants} changes to the database
+   */
+  void flush();
+
+  /**
+   * Reseeds the loaded seat counters of activities that have not ended from
+   * their participation rows, recovering seats leaked by a crash between
+   * taking a seat and giving it back
+   */
+  void reconcile();
+
+  /**
+   * Atomic remaining-seat counts per activity. Each seeding starts a new
+   * generation, and seats are only given back to the generation they were
+   * taken from, so a reseed that already counts a seat as free is never
+   * inflated by the same seat again.
+   */
+  interface SeatCounter {
+
+    /**
+     * A seat taken from a counter
+     *
+     * @param remaining Seats left after taking one, or -1 if none was available
+     * @param generation Generation of the counter the seat was taken from
+     */
+    record Taken(long remaining, long generation) {
+    }
+
+    /**
+     * Takes one seat
+     *
+     * @return The seat, or null if the activity has no counter loaded
+     */
+    Taken take(Long activityId);
+
+    /**
+     * @return Generation of the loaded counter, or null if none is loaded
+     */
+    Long generationOf(Long activityId);
+
+    /**
+     * Adds seats to the counter if it is still at the given generation
+     */
+    void give(Long activityId, long seats, long generation);
+
+    /**
+     * Loads the counter with the given remaining seats as a new generation
+     */
+    void reseed(Long activityId, long remaining);
+
+    /**
+     * Drops the counter; seats given back to its generation later are ignored
+     */
+    void evict(Long activityId);
+  }
+}
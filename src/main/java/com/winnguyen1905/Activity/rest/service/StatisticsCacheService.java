@@ -0,0 +1,65 @@
+package com.winnguyen1905.activity.rest.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through cache for computed statistics responses. Entries live in Redis
+ * and are invalidated per scope when activity, participation or feedback data
+ * changes, with the TTL only as a backstop.
+ */
+public interface StatisticsCacheService {
+
+  /**
+   * Returns the cached value for the key, or computes it with the loader and
+   * caches it. Concurrent misses for the same key run the loader once.
+   *
+   * @param key    The cache key
+   * @param type   The value type, used to deserialize cached entries
+   * @param loader Computes the value on a miss
+   * @return The cached or freshly computed value
+   */
+  <T> T getOrLoad(CacheKey key, Class<T> type, Supplier<T> loader);
+
+  /**
+   * List variant of {@link #getOrLoad(CacheKey, Class, Supplier)}
+   */
+  <T> List<T> getOrLoadList(CacheKey key, Class<T> elementType, Supplier<List<T>> loader);
+
+  /**
+   * Drops every cached entry of the scope
+   */
+  void invalidate(Scope scope, Long scopeId);
+
+  enum Scope {
+    // Cross-activity data, e.g. system-wide dashboards and category comparisons
+    GLOBAL,
+    ORGANIZATION,
+    STUDENT
+  }
+
+  /**
+   * Identifies one cached response by scope, endpoint and request parameters
+   */
+  record CacheKey(Scope scope, Long scopeId, String endpoint, String parameters) {
+
+    public static CacheKey global(String endpoint, Object... parameters) {
+      return new CacheKey(Scope.GLOBAL, null, endpoint, join(parameters));
+    }
+
+    public static CacheKey organization(Long organizationId, String endpoint, Object... parameters) {
+      return new CacheKey(Scope.ORGANIZATION, organizationId, endpoint, join(parameters));
+    }
+
+    public static CacheKey student(Long studentId, String endpoint, Object... parameters) {
+      return new CacheKey(Scope.STUDENT, studentId, endpoint, join(parameters));
+    }
+
+    private static String join(Object... parameters) {
+      return Arrays.stream(parameters).map(Objects::toString).collect(Collectors.joining(":"));
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.winnguyen1905.activity.rest.service;
+
+import com.winnguyen1905.activity.persistance.entity.EParticipationDetail;
+
+/**
+ * First-come waitlist for activities that are full. Waitlisted participations
+ * are stored as {@code WAITLISTED} rows and promoted to {@code UNVERIFIED} in
+ * registration order as seats free up.
+ */
+public interface WaitlistService {
+
+  /**
+   * Queues a saved {@code WAITLISTED} participation once the current
+   * transaction commits
+   *
+   * @param participation The waitlisted participation
+   * @return The approximate 1-based position in the activity's waitlist,
+   *         assuming the entry joins at its end; concurrent joins may report
+   *         the same position
+   */
+  int enqueue(EParticipationDetail participation);
+
+  /**
+   * Drops a participation from the waitlist once the current transaction
+   * commits, e.g. when it is deleted or admitted manually
+   */
+  void remove(EParticipationDetail participation);
+
+  /**
+   * Fills free seats of the activity from its waitlist once the current
+   * transaction commits. Must be called after the seat was released, so the
+   * release is applied first.
+   */
+  void promoteAfterCommit(Long activityId);
+}
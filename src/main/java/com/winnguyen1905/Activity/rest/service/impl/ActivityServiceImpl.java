@@ -3,8 +3,12 @@ package com.winnguyen1905.activity.rest.service.impl;
 import com.winnguyen1905.activity.persistance.entity.EAccountCredentials;
 import com.winnguyen1905.activity.persistance.entity.EActivity;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
@@ -15,11 +19,13 @@ import com.winnguyen1905.activity.common.constant.ParticipationStatus;
 import com.winnguyen1905.activity.exception.BadRequestException;
 import com.winnguyen1905.activity.exception.ResourceAlreadyExistsException;
 import com.winnguyen1905.activity.model.dto.ActivityDto;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent;
 import com.winnguyen1905.activity.model.dto.ActivityScheduleDto;
     import com.winnguyen1905.activity.model.dto.CheckJoinedActivityDto;
 import com.winnguyen1905.activity.model.dto.JoinActivityRequest;
 import com.winnguyen1905.activity.model.dto.ParticipationSearchParams;
 import com.winnguyen1905.activity.model.viewmodel.ActivityScheduleVm;
+import com.winnguyen1905.activity.model.viewmodel.ActivitySearchFacetsVm;
 import com.winnguyen1905.activity.model.viewmodel.ActivityVm;
 import com.winnguyen1905.activity.model.viewmodel.CheckJoinedActivityVm;
 import com.winnguyen1905.activity.model.viewmodel.OrganizationVm;
@@ -28,13 +34,22 @@ import com.winnguyen1905.activity.model.viewmodel.ParticipationDetailVm;
 import com.winnguyen1905.activity.persistance.repository.AccountRepository;
 import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
 import com.winnguyen1905.activity.persistance.repository.ActivityScheduleRepository;
+import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
 import com.winnguyen1905.activity.persistance.repository.OrganizationRepository;
 import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
+import com.winnguyen1905.activity.persistance.repository.ActivitySearchRepository.SearchFacets;
 import com.winnguyen1905.activity.persistance.repository.specification.EActivitySpecification;
 import com.winnguyen1905.activity.model.dto.ActivitySearchRequest;
 import com.winnguyen1905.activity.rest.service.ActivityService;
 import com.winnguyen1905.activity.rest.service.AuthorizationService;
+import com.winnguyen1905.activity.rest.service.CategoryBenchmarkService;
+import com.winnguyen1905.activity.rest.service.FeedbackKeywordService;
+import com.winnguyen1905.activity.rest.service.SeatReservationService;
+import com.winnguyen1905.activity.rest.service.WaitlistService;
+import com.winnguyen1905.activity.rest.service.CategoryBenchmarkService.ActivitySnapshot;
 import com.winnguyen1905.activity.rest.service.EmailService;
+import com.winnguyen1905.activity.config.ActivitySearchIndex;
+import com.winnguyen1905.activity.utils.ScrollCursor;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -45,7 +60,8 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.winnguyen1905.activity.persistance.entity.EActivitySchedule;
 import com.winnguyen1905.activity.persistance.entity.EParticipationDetail;
@@ -55,13 +71,23 @@ import com.winnguyen1905.activity.model.viewmodel.FeedbackDetailVm;
 @RequiredArgsConstructor
 public class ActivityServiceImpl implements ActivityService {
 
+  // Latest start first, with the id as tie-breaker; overrides full-text ranking
+  private static final Sort ACTIVITY_SCROLL_SORT = Sort.by(Sort.Order.desc("startDate"), Sort.Order.desc("id"));
+
   private final EmailService emailService;
   private final AccountRepository accountRepository;
   private final ActivityRepository activityRepository;
   private final OrganizationRepository organizationRepository;
   private final ActivityScheduleRepository activityScheduleRepository;
   private final ParticipationDetailRepository participationDetailRepository;
+  private final FeedbackRepository feedbackRepository;
   private final AuthorizationService authorizationService;
+  private final CategoryBenchmarkService categoryBenchmarkService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final FeedbackKeywordService feedbackKeywordService;
+  private final SeatReservationService seatReservationService;
+  private final WaitlistService waitlistService;
+  private final ActivitySearchIndex activitySearchIndex;
 
   @Override
   public void createActivity(TAccountRequest accountRequest, ActivityDto activityDto) {
@@ -100,6 +126,8 @@ public class ActivityServiceImpl implements ActivityService {
         .build();
 
     activity = activityRepository.save(activity);
+    categoryBenchmarkService.onActivityCreated(activity);
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofActivity(activity));
 
     // craete and save activity schedules
     if (activityDto.getActivitySchedules() != null && !activityDto.getActivitySchedules().isEmpty()) {
@@ -133,6 +161,8 @@ public class ActivityServiceImpl implements ActivityService {
 
     EActivity existingActivity = activityRepository.findById(activityDto.getId())
         .orElseThrow(() -> new RuntimeException("Activity not found"));
+    ActivitySnapshot benchmarkSnapshot = ActivitySnapshot.of(existingActivity);
+    Instant previousStartDate = existingActivity.getStartDate();
 
     // Update activity fields
     existingActivity.setActivityName(activityDto.getActivityName());
@@ -147,7 +177,6 @@ public class ActivityServiceImpl implements ActivityService {
     existingActivity.setUpdatedDate(Instant.now());
     existingActivity.setShortDescription(activityDto.getShortDescription());
     existingActivity.setTags(activityDto.getTags());
-    existingActivity.setCurrentParticipants(activityDto.getCurrentParticipants());
     existingActivity.setAddress(activityDto.getAddress());
     existingActivity.setLatitude(activityDto.getLatitude());
     existingActivity.setLongitude(activityDto.getLongitude());
@@ -157,8 +186,15 @@ public class ActivityServiceImpl implements ActivityService {
     existingActivity.setIsFeatured(activityDto.getIsFeatured());
     existingActivity.setIsApproved(activityDto.getIsApproved());
     existingActivity.setLikes(activityDto.getLikes());
+    existingActivity.refreshSearchText();
 
     activityRepository.save(existingActivity);
+    categoryBenchmarkService.onActivityChanged(benchmarkSnapshot, existingActivity);
+    feedbackKeywordService.onActivityMoved(existingActivity, benchmarkSnapshot.category(), previousStartDate);
+    seatReservationService.onCapacityChanged(existingActivity.getId(), benchmarkSnapshot.capacityLimit(),
+        existingActivity.getCapacityLimit());
+    waitlistService.promoteAfterCommit(existingActivity.getId());
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofActivity(existingActivity));
 
     // Update schedules if provided
     if (activityDto.getActivitySchedules() != null && !activityDto.getActivitySchedules().isEmpty()) {
@@ -183,11 +219,18 @@ public class ActivityServiceImpl implements ActivityService {
   }
 
   @Override
+  @Transactional
   public void deleteActivity(TAccountRequest accountRequest, Long activityId) {
     // Authorization check: Only admins or the organization that owns the activity can delete it
     authorizationService.validateActivityModificationAccess(activityId, accountRequest);
     
     validateDeleteRequest(accountRequest, activityId);
+    activityRepository.findById(activityId).ifPresent(activity -> {
+      categoryBenchmarkService.onActivityDeleted(activity);
+      feedbackKeywordService.onActivityDeleted(activity);
+      seatReservationService.onActivityDeleted(activity.getId());
+      eventPublisher.publishEvent(ActivityDataChangedEvent.ofActivity(activity));
+    });
     activityRepository.deleteById(activityId);
   }
 
@@ -210,13 +253,12 @@ public class ActivityServiceImpl implements ActivityService {
   @Override
   public PagedResponse<ActivityVm> getAllActivities(ActivitySearchRequest activitySearchRequest, Pageable pageable) {
 
-    Specification<EActivity> activitySpecification = EActivitySpecification.filterBy(activitySearchRequest);
+    Specification<EActivity> activitySpecification = EActivitySpecification.filterBy(activitySearchRequest,
+        activitySearchIndex.isAvailable());
 
     Page<EActivity> activities = activityRepository.findAll(activitySpecification, pageable);
 
-    List<ActivityVm> activityVms = activities.getContent().stream()
-        .map(this::mapToActivityVm)
-        .collect(Collectors.toList());
+    List<ActivityVm> activityVms = mapToActivityVms(activities.getContent());
 
     return PagedResponse.<ActivityVm>builder()
         .maxPageItems(pageable.getPageSize())
@@ -228,6 +270,40 @@ public class ActivityServiceImpl implements ActivityService {
         .build();
   }
 
+  @Override
+  public PagedResponse<ActivityVm> scrollActivities(ActivitySearchRequest activitySearchRequest, String cursor,
+      int size) {
+    Specification<EActivity> activitySpecification = EActivitySpecification.filterBy(activitySearchRequest,
+        activitySearchIndex.isAvailable());
+
+    Window<EActivity> activities = activityRepository.findBy(activitySpecification, query -> query
+        .sortBy(ACTIVITY_SCROLL_SORT)
+        .project("organization")
+        .limit(size)
+        .scroll(ScrollCursor.decode(cursor, ACTIVITY_SCROLL_SORT)));
+
+    List<ActivityVm> activityVms = mapToActivityVms(activities.getContent());
+
+    return ScrollCursor.toPagedResponse(activities, activityVms, size);
+  }
+
+  @Override
+  public ActivitySearchFacetsVm getActivitySearchFacets(ActivitySearchRequest activitySearchRequest) {
+    // Category and status are applied per facet by the repository
+    ActivitySearchRequest sharedFilter = activitySearchRequest.toBuilder()
+        .activityCategory(null)
+        .activityStatus(null)
+        .build();
+    SearchFacets facets = activityRepository.getSearchFacets(
+        EActivitySpecification.filterBy(sharedFilter, activitySearchIndex.isAvailable()),
+        activitySearchRequest.getActivityCategory(), activitySearchRequest.getActivityStatus());
+
+    return ActivitySearchFacetsVm.builder()
+        .categories(facets.categories())
+        .statuses(facets.statuses())
+        .build();
+  }
+
   // @Override
   // public PagedResponse<ActivityVm> getActivitiesByStudent(TAccountRequest
   // accountRequest, Pageable pageable) {
@@ -321,14 +397,22 @@ public class ActivityServiceImpl implements ActivityService {
 
   @Override
   public ActivityVm getActivityById(TAccountRequest accountRequest, Long activityId) {
-    EActivity activity = activityRepository.findById(activityId)
+    // Schedules and feedback are separate, paged sub-resources
+    EActivity activity = activityRepository.findDetailById(activityId)
         .orElseThrow(() -> new EntityNotFoundException("Not found activity"));
 
-    List<ActivityScheduleVm> activitySchedules = activity.getActivitySchedules().stream()
+    return mapToActivityVm(activity, activity.getTags());
+  }
+
+  @Override
+  public List<ActivityScheduleVm> getActivitySchedules(Long activityId) {
+    String activityName = findActivityNameOrThrow(activityId);
+
+    return activityScheduleRepository.findByActivityId(activityId).stream()
         .map(schedule -> ActivityScheduleVm.builder()
             .id(schedule.getId())
-            .activityId(activity.getId())
-            .activityName(activity.getActivityName())
+            .activityId(activityId)
+            .activityName(activityName)
             .startTime(schedule.getStartTime())
             .endTime(schedule.getEndTime())
             .activityDescription(schedule.getActivityDescription())
@@ -340,56 +424,49 @@ public class ActivityServiceImpl implements ActivityService {
             .updatedDate(schedule.getUpdatedDate())
             .build())
         .collect(Collectors.toList());
+  }
+
+  @Override
+  public PagedResponse<FeedbackDetailVm> getActivityFeedbacks(Long activityId, Pageable pageable) {
+    String activityName = findActivityNameOrThrow(activityId);
+
+    Page<FeedbackRepository.ActivityFeedbackView> feedbackPage = feedbackRepository
+        .findViewsByActivityId(activityId, pageable);
 
-    // Map feedbacks to FeedbackDetailVm
-    List<FeedbackDetailVm> feedbacks = activity.getFeedbacks().stream()
+    List<FeedbackDetailVm> feedbacks = feedbackPage.getContent().stream()
         .map(feedback -> FeedbackDetailVm.builder()
             .id(feedback.getId())
-            .activityId(activity.getId())
-            .activityName(activity.getActivityName())
-            .studentId(feedback.getParticipation().getParticipant().getId())
-            .studentName(feedback.getParticipation().getParticipant().getFullName())
+            .activityId(activityId)
+            .activityName(activityName)
+            .studentId(feedback.getStudentId())
+            .studentName(feedback.getStudentName())
             .rating(feedback.getRating())
             .feedbackDescription(feedback.getFeedbackDescription())
             .createdDate(feedback.getCreatedAt())
-            .participationId(feedback.getParticipation().getId())
+            .participationId(feedback.getParticipationId())
             .organizationResponse(feedback.getOrganizationResponse())
             .respondedAt(feedback.getRespondedAt())
             .hasResponse(feedback.getOrganizationResponse() != null && !feedback.getOrganizationResponse().isEmpty())
             .build())
         .collect(Collectors.toList());
 
-    return ActivityVm.builder().id(activity.getId())
-        .activitySchedules(activitySchedules)
-        .startDate(activity.getStartDate())
-        .endDate(activity.getEndDate())
-        .createdDate(activity.getCreatedDate())
-        .activityName(activity.getActivityName())
-        .description(activity.getDescription())
-        .activityVenue(activity.getVenue())
-        .organization(OrganizationVm.builder()
-            .id(activity.getOrganization().getId())
-            .organizationName(activity.getOrganization().getName())
-            .representativeEmail(activity.getOrganization().getEmail())
-            .representativePhone(activity.getOrganization().getPhone())
-            .build())
-        .capacityLimit(activity.getCapacityLimit())
-        .activityStatus(activity.getStatus())
-        .activityCategory(activity.getActivityCategory())
-        .tags(activity.getTags())
-        .currentParticipants(activity.getCurrentParticipants())
-        .address(activity.getAddress())
-        .latitude(activity.getLatitude())
-        .longitude(activity.getLongitude())
-        .fee(activity.getFee())
-        .isFeatured(activity.getIsFeatured())
-        .isApproved(activity.getIsApproved())
-        .likes(activity.getLikes())
-        .registrationDeadline(activity.getRegistrationDeadline())
-        .feedbacks(feedbacks) // Add feedbacks to the response
+    return PagedResponse.<FeedbackDetailVm>builder()
+        .maxPageItems(pageable.getPageSize())
+        .page(pageable.getPageNumber())
+        .size(feedbacks.size())
+        .results(feedbacks)
+        .totalElements(feedbackPage.getTotalElements())
+        .totalPages(feedbackPage.getTotalPages())
         .build();
   }
 
+  // Doubles as the existence check of the detail sections
+  private String findActivityNameOrThrow(Long activityId) {
+    return activityRepository.findNameById(activityId)
+        .orElseThrow(() -> new EntityNotFoundException("Not found activity"))
+        .getActivityName();
+  }
+
   @Override
   @Transactional
   public ParticipationDetailVm joinActivity(TAccountRequest accountRequest,
@@ -405,20 +482,27 @@ public class ActivityServiceImpl implements ActivityService {
     if (alreadyJoined)
       throw new ResourceAlreadyExistsException("You have already joined this activity");
 
-    if (activity.getCurrentParticipants() == activity.getCapacityLimit())
-      throw new BadRequestException("Out of slot");
+    // Takes a seat atomically; currentParticipants catches up in the next batched flush.
+    // A full activity queues the student instead of failing the request
+    boolean seated = seatReservationService.tryReserve(activity);
 
     EParticipationDetail participationDetail = EParticipationDetail.builder()
         .participant(account)
         .activity(activity)
-        .participationStatus(ParticipationStatus.UNVERIFIED)
+        .participationStatus(seated ? ParticipationStatus.UNVERIFIED : ParticipationStatus.WAITLISTED)
         .participationRole(joinActivityRequest.getRole())
         .registeredAt(Instant.now())
         .build();
 
-    activity.setCurrentParticipants(activity.getCurrentParticipants() + 1);
-    activityRepository.save(activity);
-    EParticipationDetail savedParticipationDetail = participationDetailRepository.save(participationDetail);
+    EParticipationDetail savedParticipationDetail;
+    try {
+      savedParticipationDetail = participationDetailRepository.saveAndFlush(participationDetail);
+    } catch (DataIntegrityViolationException e) {
+      // A concurrent request by the same student won the race
+      throw new ResourceAlreadyExistsException("You have already joined this activity");
+    }
+    Integer waitlistPosition = seated ? null : waitlistService.enqueue(savedParticipationDetail);
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofParticipation(savedParticipationDetail));
 
     // try {
     // emailService.sendEmail(
@@ -435,6 +519,7 @@ public class ActivityServiceImpl implements ActivityService {
         .activityId(savedParticipationDetail.getActivity().getId())
         .activityName(savedParticipationDetail.getActivity().getActivityName())
         .participationStatus(savedParticipationDetail.getParticipationStatus())
+        .waitlistPosition(waitlistPosition)
         .activityCategory(savedParticipationDetail.getActivity().getActivityCategory())
         .activityStatus(savedParticipationDetail.getActivity().getStatus())
         .activityVenue(savedParticipationDetail.getActivity().getVenue())
@@ -448,13 +533,10 @@ public class ActivityServiceImpl implements ActivityService {
   @Override
   public PagedResponse<ActivityVm> getJoinedActivities(TAccountRequest accountRequest, Pageable pageable) {
 
-    List<EParticipationDetail> particiList = participationDetailRepository.findAllByParticipantId(accountRequest.getId());
-    List<Long> ids = particiList.stream().map(EParticipationDetail::getActivity).map(EActivity::getId).toList();
+    List<Long> ids = participationDetailRepository.findActivityIdsByParticipantId(accountRequest.getId());
     Page<EActivity> activityPage = activityRepository.findAllByIds(ids, pageable);
 
-    List<ActivityVm> activityVms = activityPage.getContent().stream()
-        .map(this::mapToActivityVm)
-        .collect(Collectors.toList());
+    List<ActivityVm> activityVms = mapToActivityVms(activityPage.getContent());
 
     return PagedResponse.<ActivityVm>builder()
         .maxPageItems(pageable.getPageSize())
@@ -468,15 +550,9 @@ public class ActivityServiceImpl implements ActivityService {
 
   @Override
   public PagedResponse<ActivityVm> getMyActivityContributors(TAccountRequest accountRequest) {
-    List<EParticipationDetail> participationDetails = participationDetailRepository
-        .findAllByParticipantIdAndParticipationRole(accountRequest.getId(), ParticipationRole.CONTRIBUTOR);
-
-    List<ActivityVm> activityVms = participationDetails.stream().map(EParticipationDetail::getActivity).toList()
-        .stream()
-        .filter(activity -> activity.getIsApproved() == true)
-        .map(this::mapToActivityVm)
-        .sorted(Comparator.comparing(ActivityVm::getStartDate)) // Sort by startDate
-        .collect(Collectors.toList());
+    // Approved only, sorted by startDate
+    List<ActivityVm> activityVms = mapToActivityVms(activityRepository
+        .findApprovedByParticipantIdAndRole(accountRequest.getId(), ParticipationRole.CONTRIBUTOR));
 
     return PagedResponse.<ActivityVm>builder()
         .maxPageItems(activityVms.size())
@@ -501,6 +577,7 @@ public class ActivityServiceImpl implements ActivityService {
     activity.setIsApproved(true);
     activity.setStatus(ActivityStatus.PUBLISHED);
     activityRepository.save(activity);
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofActivity(activity));
 
   }
 
@@ -517,6 +594,7 @@ public class ActivityServiceImpl implements ActivityService {
     activity.setIsApproved(false);
     activity.setStatus(ActivityStatus.PENDING);
     activityRepository.save(activity);
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofActivity(activity));
 
   }
 
@@ -555,12 +633,27 @@ public class ActivityServiceImpl implements ActivityService {
         .build();
   }
 
+  // Reads the tags of all the activities with one query instead of one per activity
+  private List<ActivityVm> mapToActivityVms(List<EActivity> activities) {
+    if (activities.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Map<Long, List<String>> tagsByActivity = new HashMap<>();
+    for (Object[] row : activityRepository.findTagsByActivityIds(
+        activities.stream().map(EActivity::getId).toList())) {
+      tagsByActivity.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+    }
+    return activities.stream()
+        .map(activity -> mapToActivityVm(activity, tagsByActivity.getOrDefault(activity.getId(), new ArrayList<>())))
+        .collect(Collectors.toList());
+  }
+
   /**
    * Maps an {@link EActivity} entity to its {@link ActivityVm} view model.
    * Centralising this logic keeps the service methods concise and guarantees a
    * single representation of the view model across the class.
    */
-  private ActivityVm mapToActivityVm(EActivity activity) {
+  private ActivityVm mapToActivityVm(EActivity activity, List<String> tags) {
     return ActivityVm.builder()
         .id(activity.getId())
         .startDate(activity.getStartDate())
@@ -578,7 +671,7 @@ public class ActivityServiceImpl implements ActivityService {
         .capacityLimit(activity.getCapacityLimit())
         .activityStatus(activity.getStatus())
         .activityCategory(activity.getActivityCategory())
-        .tags(activity.getTags())
+        .tags(tags)
         .currentParticipants(activity.getCurrentParticipants())
         .address(activity.getAddress())
         .latitude(activity.getLatitude())
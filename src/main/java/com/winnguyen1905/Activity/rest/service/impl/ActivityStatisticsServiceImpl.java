@@ -12,6 +12,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,6 +25,7 @@ import com.winnguyen1905.activity.common.constant.ParticipationStatus;
 import com.winnguyen1905.activity.model.viewmodel.ActivityComparativeAnalysisVm;
 import com.winnguyen1905.activity.model.viewmodel.ActivityStatisticsVm;
 import com.winnguyen1905.activity.model.viewmodel.ActivityTimeSeriesVm;
+import com.winnguyen1905.activity.model.viewmodel.CategoryBenchmarkVm;
 import com.winnguyen1905.activity.model.viewmodel.ParticipantScoreVm;
 import com.winnguyen1905.activity.model.viewmodel.PreviousRunMetricsVm;
 import com.winnguyen1905.activity.model.viewmodel.SeasonalPerformanceVm;
@@ -36,6 +38,11 @@ import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
 import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
 import com.winnguyen1905.activity.rest.service.ActivityStatisticsService;
 import com.winnguyen1905.activity.rest.service.AuthorizationService;
+import com.winnguyen1905.activity.rest.service.CategoryBenchmarkService;
+import com.winnguyen1905.activity.rest.service.PercentileRankService;
+import com.winnguyen1905.activity.rest.service.PercentileRankService.PercentileMetric;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService.CacheKey;
 import com.winnguyen1905.activity.common.annotation.TAccountRequest;
 
 @Service
@@ -53,22 +60,34 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
   @Autowired
   private AuthorizationService authorizationService;
 
+  @Autowired
+  private CategoryBenchmarkService categoryBenchmarkService;
+
+  @Autowired
+  private PercentileRankService percentileRankService;
+
+  @Autowired
+  private StatisticsCacheService statisticsCacheService;
+
   @Override
   public ActivityStatisticsVm getActivityStatistics(Long activityId) {
-    EActivity activity = fetchActivityOrThrow(activityId);
+    return statisticsCacheService.getOrLoad(CacheKey.global("activity.statistics", activityId),
+        ActivityStatisticsVm.class, () -> computeStatistics(fetchActivityOrThrow(activityId)));
+  }
 
+  private ActivityStatisticsVm computeStatistics(EActivity activity) {
+    Long activityId = activity.getId();
     ActivityStatisticsVm statistics = buildBaseStatistics(activity);
 
-    List<EParticipationDetail> participations = activity.getParticipationDetails();
-    List<EFeedback> feedbacks = activity.getFeedbacks();
+    // Aggregate from flat projections rather than hydrating participation and
+    // feedback entities
+    ParticipationAccumulator participations = ParticipationAccumulator.of(
+        participationDetailRepository.getStatisticsRowsByActivity(activityId, ParticipationStatus.VERIFIED));
+    participations.applyTo(statistics, activity.getCapacityLimit());
+    statistics.setTopParticipants(participations.getTopParticipants());
 
-    // Populate individual statistic groups
-    updateParticipationStatistics(statistics, participations, activity.getCapacityLimit());
-    updateFeedbackStatistics(statistics, feedbacks);
-    statistics.setParticipantsByRole(calculateRoleBreakdown(participations));
-    statistics.setParticipantsByStatus(calculateStatusBreakdown(participations));
+    updateFeedbackStatistics(statistics, feedbackRepository.getRatingDistributionForActivity(activityId));
     setTimelineStatistics(statistics, activity);
-    statistics.setTopParticipants(calculateTopParticipants(participations));
 
     return statistics;
   }
@@ -85,35 +104,26 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
 
   @Override
   public ActivityStatisticsVm getActivityStatisticsInTimeRange(Long activityId, Instant startDate, Instant endDate) {
-    // Similar to getActivityStatistics but filter participation and feedback data within the provided range
-    ActivityStatisticsVm statistics = getActivityStatistics(activityId);
+    return statisticsCacheService.getOrLoad(
+        CacheKey.global("activity.statistics-in-range", activityId, startDate, endDate),
+        ActivityStatisticsVm.class, () -> computeStatisticsInTimeRange(activityId, startDate, endDate));
+  }
 
+  private ActivityStatisticsVm computeStatisticsInTimeRange(Long activityId, Instant startDate, Instant endDate) {
+    // Similar to getActivityStatistics but filter participation and feedback data within the provided range
     EActivity activity = fetchActivityOrThrow(activityId);
-    // Filter participations by registration date within the range
-    List<EParticipationDetail> filteredParticipations = activity.getParticipationDetails().stream()
-        .filter(p -> p.getRegisteredAt() != null &&
-            (p.getRegisteredAt().isAfter(startDate) || p.getRegisteredAt().equals(startDate)) &&
-            (p.getRegisteredAt().isBefore(endDate) || p.getRegisteredAt().equals(endDate)))
-        .collect(Collectors.toList());
+    ActivityStatisticsVm statistics = computeStatistics(activity);
 
-    // Recalculate and populate stats for the filtered data
-    updateParticipationStatistics(statistics, filteredParticipations, activity.getCapacityLimit());
-    statistics.setParticipantsByRole(calculateRoleBreakdown(filteredParticipations));
-    statistics.setParticipantsByStatus(calculateStatusBreakdown(filteredParticipations));
+    // Recalculate and populate stats for participations registered within the range
+    ParticipationAccumulator.of(participationDetailRepository.getStatisticsRowsByActivityInRange(
+        activityId, ParticipationStatus.VERIFIED, startDate, endDate))
+        .applyTo(statistics, activity.getCapacityLimit());
 
     return statistics;
   }
 
   @Override
   public ActivityStatisticsVm getParticipationTrend(Long activityId) {
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      throw new RuntimeException("Activity not found with ID: " + activityId);
-    }
-
-    EActivity activity = activityOpt.get();
-
     // Get basic statistics as foundation
     ActivityStatisticsVm statistics = getActivityStatistics(activityId);
 
@@ -125,15 +135,6 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
 
   @Override
   public ActivityStatisticsVm getFeedbackAnalysis(Long activityId) {
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      throw new RuntimeException("Activity not found with ID: " + activityId);
-    }
-
-    EActivity activity = activityOpt.get();
-    List<EFeedback> feedbacks = activity.getFeedbacks();
-
     // Get basic statistics as foundation
     ActivityStatisticsVm statistics = getActivityStatistics(activityId);
 
@@ -145,15 +146,6 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
 
   @Override
   public ActivityStatisticsVm getParticipantPerformance(Long activityId) {
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      throw new RuntimeException("Activity not found with ID: " + activityId);
-    }
-
-    EActivity activity = activityOpt.get();
-    List<EParticipationDetail> participations = activity.getParticipationDetails();
-
     // Get basic statistics as foundation
     ActivityStatisticsVm statistics = getActivityStatistics(activityId);
 
@@ -163,57 +155,24 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
     return statistics;
   }
 
-  private ParticipantScoreVm mapToParticipantScoreVm(EParticipationDetail participation) {
-    Double feedbackRating = 0.0;
-    String feedbackDescription = "";
-
-    // Get feedback from this participant if available
-    if (participation.getFeedbacks() != null && !participation.getFeedbacks().isEmpty()) {
-      // Calculate average rating
-      feedbackRating = participation.getFeedbacks().stream()
-          .mapToDouble(EFeedback::getRating)
-          .average()
-          .orElse(0);
-
-      // Aggregate feedback descriptions
-      feedbackDescription = participation.getFeedbacks().stream()
-          .map(EFeedback::getFeedbackDescription)
-          .filter(desc -> desc != null && !desc.trim().isEmpty())
-          .collect(Collectors.joining(" | "));
-    }
-
-    // Assuming a score calculation - this would be replaced with actual score logic
-    // For now, we're using a placeholder calculation
-    Double score = feedbackRating; // Could be expanded with additional metrics
-
-    return ParticipantScoreVm.builder()
-        .feedbackDescription(feedbackDescription)
-        .participantId(participation.getParticipant().getId())
-        .participantName(participation.getParticipant().getFullName())
-        .role(participation.getParticipationRole())
-        .score(score)
-        .feedbackRating(feedbackRating)
-        .build();
-  }
-
   @Override
   public ActivityComparativeAnalysisVm getComparativeAnalysis(Long activityId) {
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      throw new RuntimeException("Activity not found with ID: " + activityId);
-    }
+    return statisticsCacheService.getOrLoad(CacheKey.global("activity.comparative-analysis", activityId),
+        ActivityComparativeAnalysisVm.class, () -> buildComparativeAnalysis(new AnalyticsContext(activityId)));
+  }
 
-    EActivity activity = activityOpt.get();
+  private ActivityComparativeAnalysisVm buildComparativeAnalysis(AnalyticsContext context) {
+    Long activityId = context.getActivityId();
+    EActivity activity = context.getActivity();
 
-    // Calculate category averages for comparison
-    Double categoryAverageRating = calculateCategoryAverageRating(activity.getActivityCategory());
-    Double categoryAverageParticipationRate = calculateCategoryAverageParticipationRate(activity.getActivityCategory());
-    Double categoryAverageCostPerParticipant = calculateCategoryAverageCostPerParticipant(
-        activity.getActivityCategory());
+    // Category averages come from the pre-aggregated benchmark row
+    CategoryBenchmarkVm benchmark = categoryBenchmarkService.getBenchmark(activity.getActivityCategory());
+    Double categoryAverageRating = benchmark.getAverageRating();
+    Double categoryAverageParticipationRate = benchmark.getAverageParticipationRate();
+    Double categoryAverageCostPerParticipant = benchmark.getAverageCostPerParticipant();
 
     // Get baseline statistics
-    ActivityStatisticsVm baseStats = getActivityStatistics(activityId);
+    ActivityStatisticsVm baseStats = context.getStatistics();
     Double activityRating = baseStats.getAverageRating() != null ? baseStats.getAverageRating() : 0.0;
     Double activityParticipationRate = baseStats.getParticipationRate();
 
@@ -242,7 +201,7 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
         .build();
 
     // Find similar activities for comparison
-    List<SimilarActivityMetricsVm> similarActivities = findSimilarActivities(activityId, 5);
+    List<SimilarActivityMetricsVm> similarActivities = findSimilarActivities(context, 5);
     analysis.setSimilarActivitiesComparison(similarActivities);
 
     // Find previous runs of this activity if applicable
@@ -250,22 +209,24 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
     analysis.setPreviousRunsComparison(previousRuns);
 
     // Calculate percentile rankings
-    analysis.setParticipationPercentile(calculatePercentileRank(activityId, "participation_rate"));
-    analysis.setRatingPercentile(calculatePercentileRank(activityId, "rating"));
-    analysis.setEngagementPercentile(calculatePercentileRank(activityId, "cost_efficiency")); // Using cost_efficiency as proxy for engagement
+    analysis.setParticipationPercentile(
+        percentileRankService.getPercentileRank(activity, PercentileMetric.PARTICIPATION_RATE));
+    analysis.setRatingPercentile(percentileRankService.getPercentileRank(activity, PercentileMetric.RATING));
+    analysis.setEngagementPercentile(
+        percentileRankService.getPercentileRank(activity, PercentileMetric.COST_EFFICIENCY)); // Using cost_efficiency as proxy for engagement
 
     return analysis;
   }
 
   @Override
   public ActivityTimeSeriesVm getTimeSeriesAnalysis(Long activityId) {
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      throw new RuntimeException("Activity not found with ID: " + activityId);
-    }
+    return statisticsCacheService.getOrLoad(CacheKey.global("activity.time-series", activityId),
+        ActivityTimeSeriesVm.class, () -> computeTimeSeriesAnalysis(activityId));
+  }
 
-    EActivity activity = activityOpt.get();
+  private ActivityTimeSeriesVm computeTimeSeriesAnalysis(Long activityId) {
+    AnalyticsContext context = new AnalyticsContext(activityId);
+    EActivity activity = context.getActivity();
     List<EParticipationDetail> participations = activity.getParticipationDetails();
 
     // Create time series for registrations (daily counts)
@@ -344,7 +305,7 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
       timeSeriesVm.setTimeToCapacityHours(timeToCapacityHours);
 
       // Calculate percentage compared to average for similar activities
-      Double percentOfAverage = calculateTimeToCapacityPercentage(activity, timeToCapacityHours);
+      Double percentOfAverage = calculateTimeToCapacityPercentage(context, timeToCapacityHours);
       timeSeriesVm.setTimeToCapacityPercentOfAverage(percentOfAverage);
     }
 
@@ -362,13 +323,16 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
   @Override
   public ActivityComparativeAnalysisVm getEffectivenessMetrics(Long activityId, Double estimatedCost,
       Double estimatedValue) {
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      throw new RuntimeException("Activity not found with ID: " + activityId);
-    }
+    return statisticsCacheService.getOrLoad(
+        CacheKey.global("activity.effectiveness", activityId, estimatedCost, estimatedValue),
+        ActivityComparativeAnalysisVm.class,
+        () -> computeEffectivenessMetrics(activityId, estimatedCost, estimatedValue));
+  }
 
-    EActivity activity = activityOpt.get();
+  private ActivityComparativeAnalysisVm computeEffectivenessMetrics(Long activityId, Double estimatedCost,
+      Double estimatedValue) {
+    AnalyticsContext context = new AnalyticsContext(activityId);
+    EActivity activity = context.getActivity();
     int participantCount = activity.getCurrentParticipants() != null ? activity.getCurrentParticipants() : 0;
 
     // If no cost provided, use activity fee as an estimate (if available)
@@ -386,7 +350,7 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
     Double valuePerParticipant = participantCount > 0 ? value / participantCount : 0;
 
     // Get comparative analysis as baseline
-    ActivityComparativeAnalysisVm analysis = getComparativeAnalysis(activityId);
+    ActivityComparativeAnalysisVm analysis = buildComparativeAnalysis(context);
 
     // Add effectiveness metrics
     analysis.setReturnOnInvestment(roi);
@@ -398,68 +362,82 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
 
   @Override
   public List<SimilarActivityMetricsVm> findSimilarActivities(Long activityId, Integer limit) {
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      throw new RuntimeException("Activity not found with ID: " + activityId);
-    }
+    return statisticsCacheService.getOrLoadList(CacheKey.global("activity.similar", activityId, limit),
+        SimilarActivityMetricsVm.class, () -> findSimilarActivities(new AnalyticsContext(activityId), limit));
+  }
 
-    EActivity activity = activityOpt.get();
+  private List<SimilarActivityMetricsVm> findSimilarActivities(AnalyticsContext context, Integer limit) {
+    return context.getSimilarActivities().stream()
+        .limit(limit != null && limit > 0 ? limit : 5)
+        .collect(Collectors.toList());
+  }
 
-    // Find activities with same category
-    List<EActivity> sameCategory = activityRepository.findByActivityCategoryAndIdNot(
-        activity.getActivityCategory(), activityId);
+  /**
+   * Scores every same-category peer against the target activity, most similar
+   * first. Peer rates and ratings come from two grouped queries over the whole
+   * category instead of a full statistics computation per peer, and the tags
+   * of the target and all its peers from one more.
+   */
+  private List<SimilarActivityMetricsVm> rankSimilarActivities(AnalyticsContext context) {
+    EActivity activity = context.getActivity();
+    List<Peer> sameCategory = context.getPeers();
 
     if (sameCategory.isEmpty()) {
       return new ArrayList<>();
     }
 
+    List<Long> taggedIds = new ArrayList<>(sameCategory.size() + 1);
+    taggedIds.add(activity.getId());
+    sameCategory.forEach(peer -> taggedIds.add(peer.id()));
+    Map<Long, Set<String>> tagsByActivity = new HashMap<>();
+    for (Object[] row : activityRepository.findTagsByActivityIds(taggedIds)) {
+      tagsByActivity.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((String) row[1]);
+    }
+    Set<String> activityTags = tagsByActivity.getOrDefault(activity.getId(), Set.of());
+
+    ActivityStatisticsVm thisStats = context.getStatistics();
+    double thisParticipationRate = thisStats.getParticipationRate();
+    double thisRating = thisStats.getAverageRating() != null ? thisStats.getAverageRating() : 0.0;
+    int thisParticipantCount = activity.getCurrentParticipants() != null ? activity.getCurrentParticipants() : 0;
+
+    Map<Long, PeerMetrics> peerMetrics = context.getPeerMetrics();
+
     // Calculate similarity score based on various factors
     // This is a simplified implementation
     List<SimilarActivityMetricsVm> similarActivities = new ArrayList<>();
 
-    for (EActivity other : sameCategory) {
+    for (Peer other : sameCategory) {
       // Calculate basic similarity (higher score = more similar)
-      double similarityScore = calculateSimilarityScore(activity, other);
-
-      // Get statistics for comparison
-      ActivityStatisticsVm otherStats = getActivityStatistics(other.getId());
-      if (otherStats.getAverageRating() == null) {
-        otherStats.setAverageRating(0.0);
-      }
+      double similarityScore = calculateSimilarityScore(activity, activityTags, other,
+          tagsByActivity.getOrDefault(other.id(), Set.of()));
 
-      ActivityStatisticsVm thisStats = getActivityStatistics(activityId);
-      if (thisStats.getAverageRating() == null) {
-        thisStats.setAverageRating(0.0);
-      }
+      PeerMetrics otherMetrics = peerMetrics.getOrDefault(other.id(), PeerMetrics.EMPTY);
 
       // Calculate differences
-      int otherParticipantCount = other.getCurrentParticipants() != null ? other.getCurrentParticipants() : 0;
-      int thisParticipantCount = activity.getCurrentParticipants() != null ? activity.getCurrentParticipants() : 0;
+      int otherParticipantCount = other.currentParticipants() != null ? other.currentParticipants() : 0;
 
       double participantCountDiff = thisParticipantCount > 0
           ? ((double) otherParticipantCount / thisParticipantCount) * 100 - 100
           : 0;
 
-      double participationRateDiff = thisStats.getParticipationRate() > 0
-          ? (otherStats.getParticipationRate() / thisStats.getParticipationRate()) * 100 - 100
+      double participationRateDiff = thisParticipationRate > 0
+          ? (otherMetrics.participationRate() / thisParticipationRate) * 100 - 100
           : 0;
 
-      double ratingDiff = thisStats.getAverageRating() != null && thisStats.getAverageRating() > 0
-          ? ((otherStats.getAverageRating() != null ? otherStats.getAverageRating() : 0.0)
-              / thisStats.getAverageRating()) * 100 - 100
+      double ratingDiff = thisRating > 0
+          ? (otherMetrics.averageRating() / thisRating) * 100 - 100
           : 0;
 
       // Create view model
       SimilarActivityMetricsVm similarActivity = SimilarActivityMetricsVm.builder()
-          .activityId(other.getId())
-          .activityName(other.getActivityName())
-          .activityCategory(other.getActivityCategory().name())
-          .startDate(other.getStartDate())
+          .activityId(other.id())
+          .activityName(other.activityName())
+          .activityCategory(activity.getActivityCategory().name())
+          .startDate(other.startDate())
           .similarityScore(similarityScore)
           .participantCount(otherParticipantCount)
-          .participationRate(otherStats.getParticipationRate())
-          .averageRating(otherStats.getAverageRating())
+          .participationRate(otherMetrics.participationRate())
+          .averageRating(otherMetrics.averageRating())
           .participantCountDifference(participantCountDiff)
           .participationRateDifference(participationRateDiff)
           .averageRatingDifference(ratingDiff)
@@ -468,11 +446,36 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
       similarActivities.add(similarActivity);
     }
 
-    // Sort by similarity score (highest first) and limit results
-    return similarActivities.stream()
-        .sorted((a, b) -> Double.compare(b.getSimilarityScore(), a.getSimilarityScore()))
-        .limit(limit != null && limit > 0 ? limit : 5)
-        .collect(Collectors.toList());
+    // Sort by similarity score (highest first)
+    similarActivities.sort((a, b) -> Double.compare(b.getSimilarityScore(), a.getSimilarityScore()));
+    return similarActivities;
+  }
+
+  /**
+   * Loads the registration counts and average ratings of every activity in a
+   * category with one grouped query each.
+   */
+  private Map<Long, PeerMetrics> loadPeerMetrics(ActivityCategory category) {
+    Map<Long, Double> ratings = new HashMap<>();
+    for (Object[] row : feedbackRepository.getActivityAverageRatingsByCategory(category)) {
+      if (row[1] != null) {
+        ratings.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+      }
+    }
+
+    Map<Long, PeerMetrics> metrics = new HashMap<>();
+    for (Object[] row : participationDetailRepository.getRegistrationCountsByCategory(category,
+        ParticipationStatus.VERIFIED)) {
+      Long id = ((Number) row[0]).longValue();
+      int registrations = toInt(row[1]);
+      int verified = toInt(row[2]);
+      double participationRate = registrations > 0 ? (double) verified / registrations * 100 : 0;
+      metrics.put(id, new PeerMetrics(participationRate, ratings.getOrDefault(id, 0.0)));
+    }
+
+    // Activities with feedback but no registrations
+    ratings.forEach((id, rating) -> metrics.putIfAbsent(id, new PeerMetrics(0.0, rating)));
+    return metrics;
   }
 
   /**
@@ -485,14 +488,21 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
    */
   @Override
   public ActivityComparativeAnalysisVm getImprovementRecommendations(Long activityId) {
+    return statisticsCacheService.getOrLoad(CacheKey.global("activity.improvement-recommendations", activityId),
+        ActivityComparativeAnalysisVm.class, () -> computeImprovementRecommendations(activityId));
+  }
+
+  private ActivityComparativeAnalysisVm computeImprovementRecommendations(Long activityId) {
+    AnalyticsContext context = new AnalyticsContext(activityId);
+
     // Get comparative analysis as baseline
-    ActivityComparativeAnalysisVm analysis = getComparativeAnalysis(activityId);
+    ActivityComparativeAnalysisVm analysis = buildComparativeAnalysis(context);
 
     // Find improvement opportunities based on comparative metrics
     Map<String, Double> improvementOpportunities = new HashMap<>();
 
     // Get similar activities for comparison (limit to 5)
-    List<SimilarActivityMetricsVm> similarActivities = findSimilarActivities(activityId, 5);
+    List<SimilarActivityMetricsVm> similarActivities = findSimilarActivities(context, 5);
     analysis.setSimilarActivitiesComparison(similarActivities);
 
     // Calculate improvement opportunities based on similar activities' performance
@@ -657,57 +667,18 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
     }
   }
 
-  private Double calculateTimeToCapacityPercentage(EActivity activity, Integer timeToCapacityHours) {
+  private Double calculateTimeToCapacityPercentage(AnalyticsContext context, Integer timeToCapacityHours) {
     if (timeToCapacityHours == null) {
       return null;
     }
 
-    // Get all activities in the same category
-    List<EActivity> similarActivities = activityRepository.findByActivityCategoryAndIdNot(
-        activity.getActivityCategory(), activity.getId());
-
-    if (similarActivities.isEmpty()) {
+    // Average time to capacity of the other full activities in the same category
+    List<Long> peerHoursToCapacity = context.getPeerHoursToCapacity();
+    if (peerHoursToCapacity.isEmpty()) {
       return 100.0; // No comparison data available
     }
 
-    // Calculate average time to capacity for similar activities
-    double totalTimeToCapacity = 0.0;
-    int activitiesWithCapacityData = 0;
-
-    for (EActivity similarActivity : similarActivities) {
-      if (similarActivity.getCapacityLimit() != null && similarActivity.getCurrentParticipants() != null &&
-          similarActivity.getCurrentParticipants() >= similarActivity.getCapacityLimit()) {
-
-        List<EParticipationDetail> participations = similarActivity.getParticipationDetails();
-        if (participations != null && !participations.isEmpty()) {
-          // Sort participations by registration time
-          List<EParticipationDetail> sortedParticipations = participations.stream()
-              .filter(p -> p.getRegisteredAt() != null)
-              .sorted(Comparator.comparing(EParticipationDetail::getRegisteredAt))
-              .collect(Collectors.toList());
-
-          if (sortedParticipations.size() >= similarActivity.getCapacityLimit()) {
-            // Calculate time to capacity for this activity
-            EParticipationDetail firstRegistration = sortedParticipations.get(0);
-            EParticipationDetail capacityRegistration = sortedParticipations
-                .get(similarActivity.getCapacityLimit() - 1);
-
-            long hoursToCapacity = ChronoUnit.HOURS.between(
-                firstRegistration.getRegisteredAt(),
-                capacityRegistration.getRegisteredAt());
-
-            totalTimeToCapacity += hoursToCapacity;
-            activitiesWithCapacityData++;
-          }
-        }
-      }
-    }
-
-    if (activitiesWithCapacityData == 0) {
-      return 100.0; // No comparison data available
-    }
-
-    double averageTimeToCapacity = totalTimeToCapacity / activitiesWithCapacityData;
+    double averageTimeToCapacity = peerHoursToCapacity.stream().mapToLong(Long::longValue).average().orElse(0.0);
 
     // Calculate percentage (lower is better - filled faster than average)
     return (timeToCapacityHours / averageTimeToCapacity) * 100.0;
@@ -715,210 +686,6 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
 
   // Helper methods for new functionality
 
-  private Double calculateCategoryAverageRating(ActivityCategory category) {
-    // Use the repository method to get the average rating for the category
-    Double averageRating = feedbackRepository.getAverageRatingByCategory(category);
-
-    // If no ratings are available, return a default value
-    if (averageRating == null) {
-      // Calculate the overall average rating as a fallback
-      averageRating = feedbackRepository.getAverageRating();
-
-      // If still null, provide a reasonable default
-      if (averageRating == null) {
-        return 0.0;
-      }
-    }
-
-    return averageRating;
-  }
-
-  private Double calculateCategoryAverageParticipationRate(ActivityCategory category) {
-    // Get all activities in this category
-    Long totalActivitiesInCategory = activityRepository.countActivitiesByCategory(category);
-
-    if (totalActivitiesInCategory == null || totalActivitiesInCategory == 0) {
-      return 0.0;
-    }
-
-    // Calculate the sum of participation rates for all activities in this category
-    // Participation rate = (currentParticipants / capacityLimit) * 100
-
-    // Get all activities in this category by using the existing repository method
-    // and filtering out any activities that don't match the category
-    List<EActivity> allActivities = activityRepository.findAll();
-    List<EActivity> activitiesInCategory = allActivities.stream()
-        .filter(activity -> activity.getActivityCategory() == category)
-        .collect(Collectors.toList());
-
-    if (activitiesInCategory == null || activitiesInCategory.isEmpty()) {
-      return 0.0;
-    }
-
-    double totalParticipationRate = 0.0;
-    int activitiesWithCapacity = 0;
-
-    for (EActivity activity : activitiesInCategory) {
-      if (activity.getCapacityLimit() != null && activity.getCapacityLimit() > 0 &&
-          activity.getCurrentParticipants() != null) {
-        double participationRate = ((double) activity.getCurrentParticipants() / activity.getCapacityLimit()) * 100.0;
-        totalParticipationRate += participationRate;
-        activitiesWithCapacity++;
-      }
-    }
-
-    // Calculate the average participation rate
-    if (activitiesWithCapacity > 0) {
-      return totalParticipationRate / activitiesWithCapacity;
-    } else {
-      return 0.0;
-    }
-  }
-
-  private Double calculateCategoryAverageCostPerParticipant(ActivityCategory category) {
-    // Get all activities in this category by using the existing repository method
-    // and filtering out any activities that don't match the category
-    List<EActivity> allActivities = activityRepository.findAll();
-    List<EActivity> activitiesInCategory = allActivities.stream()
-        .filter(activity -> activity.getActivityCategory() == category)
-        .collect(Collectors.toList());
-
-    if (activitiesInCategory == null || activitiesInCategory.isEmpty()) {
-      return 0.0;
-    }
-
-    double totalCost = 0.0;
-    int totalParticipants = 0;
-    int activitiesWithFeeAndParticipants = 0;
-
-    for (EActivity activity : activitiesInCategory) {
-      if (activity.getFee() != null && activity.getFee() > 0 &&
-          activity.getCurrentParticipants() != null && activity.getCurrentParticipants() > 0) {
-        totalCost += activity.getFee() * activity.getCurrentParticipants();
-        totalParticipants += activity.getCurrentParticipants();
-        activitiesWithFeeAndParticipants++;
-      }
-    }
-
-    // Calculate the average cost per participant
-    if (totalParticipants > 0) {
-      return totalCost / totalParticipants;
-    } else {
-      return 0.0;
-    }
-  }
-
-  private Integer calculatePercentileRank(Long activityId, String metric) {
-    // Get the activity
-    Optional<EActivity> activityOpt = activityRepository.findById(activityId);
-
-    if (!activityOpt.isPresent()) {
-      return 0;
-    }
-
-    EActivity targetActivity = activityOpt.get();
-    ActivityCategory category = targetActivity.getActivityCategory();
-
-    // Get all activities in the same category for comparison
-    List<EActivity> similarActivities = activityRepository.findByActivityCategoryAndIdNot(category, activityId);
-
-    if (similarActivities == null || similarActivities.isEmpty()) {
-      return 100; // If there are no other activities to compare with, this activity is in the
-                  // 100th percentile
-    }
-
-    // Calculate percentile based on the specified metric
-    switch (metric) {
-      case "participation_rate":
-        return calculateParticipationRatePercentile(targetActivity, similarActivities);
-      case "rating":
-        return calculateRatingPercentile(targetActivity, similarActivities);
-      case "cost_efficiency":
-        return calculateCostEfficiencyPercentile(targetActivity, similarActivities);
-      default:
-        return 50; // Default middle percentile if metric is not recognized
-    }
-  }
-
-  private Integer calculateParticipationRatePercentile(EActivity targetActivity, List<EActivity> similarActivities) {
-    if (targetActivity.getCapacityLimit() == null || targetActivity.getCapacityLimit() == 0 ||
-        targetActivity.getCurrentParticipants() == null) {
-      return 0;
-    }
-
-    // Calculate participation rate for the target activity
-    double targetParticipationRate = ((double) targetActivity.getCurrentParticipants()
-        / targetActivity.getCapacityLimit()) * 100.0;
-
-    // Count how many activities have a lower participation rate
-    int countLower = 0;
-
-    for (EActivity activity : similarActivities) {
-      if (activity.getCapacityLimit() != null && activity.getCapacityLimit() > 0 &&
-          activity.getCurrentParticipants() != null) {
-        double participationRate = ((double) activity.getCurrentParticipants() / activity.getCapacityLimit()) * 100.0;
-
-        if (participationRate < targetParticipationRate) {
-          countLower++;
-        }
-      }
-    }
-
-    // Calculate percentile
-    return (int) Math.round((double) countLower / similarActivities.size() * 100);
-  }
-
-  private Integer calculateRatingPercentile(EActivity targetActivity, List<EActivity> similarActivities) {
-    // Get average rating for the target activity
-    Double targetRating = feedbackRepository.getAverageRatingForActivity(targetActivity.getId());
-
-    if (targetRating == null) {
-      return 0;
-    }
-
-    // Count how many activities have a lower rating
-    int countLower = 0;
-
-    for (EActivity activity : similarActivities) {
-      Double rating = feedbackRepository.getAverageRatingForActivity(activity.getId());
-
-      if (rating != null && rating < targetRating) {
-        countLower++;
-      }
-    }
-
-    // Calculate percentile
-    return (int) Math.round((double) countLower / similarActivities.size() * 100);
-  }
-
-  private Integer calculateCostEfficiencyPercentile(EActivity targetActivity, List<EActivity> similarActivities) {
-    if (targetActivity.getFee() == null || targetActivity.getFee() == 0 ||
-        targetActivity.getCurrentParticipants() == null || targetActivity.getCurrentParticipants() == 0) {
-      return 0;
-    }
-
-    // Calculate cost per participant for the target activity
-    double targetCostPerParticipant = targetActivity.getFee() / targetActivity.getCurrentParticipants();
-
-    // For cost efficiency, lower is better, so we count activities with higher cost
-    // per participant
-    int countHigher = 0;
-
-    for (EActivity activity : similarActivities) {
-      if (activity.getFee() != null && activity.getFee() > 0 &&
-          activity.getCurrentParticipants() != null && activity.getCurrentParticipants() > 0) {
-        double costPerParticipant = activity.getFee() / activity.getCurrentParticipants();
-
-        if (costPerParticipant > targetCostPerParticipant) {
-          countHigher++;
-        }
-      }
-    }
-
-    // Calculate percentile
-    return (int) Math.round((double) countHigher / similarActivities.size() * 100);
-  }
-
   private List<PreviousRunMetricsVm> findPreviousRuns(EActivity activity) {
     // This would find previous instances of the same or similar activities
     // Placeholder implementation
@@ -1159,40 +926,35 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
     return peakTimeSlots;
   }
 
-  private double calculateSimilarityScore(EActivity activity1, EActivity activity2) {
+  private double calculateSimilarityScore(EActivity activity, Set<String> activityTags, Peer peer,
+      Set<String> peerTags) {
     // Simplified similarity calculation based on available attributes
     double score = 0.0;
 
-    // Same category is already a filter, but we'll include it for completeness
-    if (activity1.getActivityCategory() == activity2.getActivityCategory()) {
-      score += 30.0;
-    }
+    // Peers always share the category; it still counts towards the score
+    score += 30.0;
 
     // Similar capacity
-    if (activity1.getCapacityLimit() != null && activity2.getCapacityLimit() != null) {
-      int capacityDiff = Math.abs(activity1.getCapacityLimit() - activity2.getCapacityLimit());
+    if (activity.getCapacityLimit() != null && peer.capacityLimit() != null) {
+      int capacityDiff = Math.abs(activity.getCapacityLimit() - peer.capacityLimit());
       double capacitySimilarity = capacityDiff < 10 ? (10 - capacityDiff) / 10.0 * 20.0 : 0;
       score += capacitySimilarity;
     }
 
     // Similar fee structure
-    if (activity1.getFee() != null && activity2.getFee() != null) {
-      double feeDiff = Math.abs(activity1.getFee() - activity2.getFee());
+    if (activity.getFee() != null && peer.fee() != null) {
+      double feeDiff = Math.abs(activity.getFee() - peer.fee());
       double feeSimilarity = feeDiff < 50 ? (50 - feeDiff) / 50.0 * 20.0 : 0;
       score += feeSimilarity;
     }
 
     // Similar tags (if available)
-    if (activity1.getTags() != null && activity2.getTags() != null && !activity1.getTags().isEmpty()
-        && !activity2.getTags().isEmpty()) {
-      Set<String> tags1 = new HashSet<>(activity1.getTags());
-      Set<String> tags2 = new HashSet<>(activity2.getTags());
-
-      Set<String> intersection = new HashSet<>(tags1);
-      intersection.retainAll(tags2);
+    if (!activityTags.isEmpty() && !peerTags.isEmpty()) {
+      Set<String> intersection = new HashSet<>(activityTags);
+      intersection.retainAll(peerTags);
 
-      Set<String> union = new HashSet<>(tags1);
-      union.addAll(tags2);
+      Set<String> union = new HashSet<>(activityTags);
+      union.addAll(peerTags);
 
       double jaccardSimilarity = (double) intersection.size() / union.size();
       score += jaccardSimilarity * 30.0;
@@ -1225,70 +987,24 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
     return statistics;
   }
 
-  private void updateParticipationStatistics(ActivityStatisticsVm statistics, List<EParticipationDetail> participations, Integer capacityLimit) {
-    int totalRegistrations = participations.size();
-    int confirmedParticipants = (int) participations.stream()
-        .filter(p -> p.getParticipationStatus() == ParticipationStatus.VERIFIED)
-        .count();
-    int actualAttendees = confirmedParticipants; // actualAttendees should be the same as confirmedParticipants
-
-    double participationRate = totalRegistrations > 0 ? (double) actualAttendees / totalRegistrations * 100 : 0;
-    double capacityUtilization = (capacityLimit != null && capacityLimit > 0)
-        ? (double) actualAttendees / capacityLimit * 100
-        : 0;
-
-    statistics.setTotalRegistrations(totalRegistrations);
-    statistics.setConfirmedParticipants(confirmedParticipants);
-    statistics.setActualAttendees(actualAttendees);
-    statistics.setParticipationRate(participationRate);
-    statistics.setCapacityUtilization(capacityUtilization);
-  }
-
-  private void updateFeedbackStatistics(ActivityStatisticsVm statistics, List<EFeedback> feedbacks) {
-    if (!feedbacks.isEmpty()) {
-      double averageRating = feedbacks.stream()
-          .mapToDouble(EFeedback::getRating)
-          .average()
-          .orElse(0);
-      if (averageRating == 0) {
-        averageRating = 0.0;
-      }
-      int highRatingCount = (int) feedbacks.stream()
-          .filter(f -> f.getRating() >= 8.0)
-          .count();
-
-      int midRatingCount = (int) feedbacks.stream()
-          .filter(f -> f.getRating() >= 4.0 && f.getRating() < 8.0)
-          .count();
-
-      int lowRatingCount = (int) feedbacks.stream()
-          .filter(f -> f.getRating() < 4.0)
-          .count();
-
-      statistics.setAverageRating(averageRating);
-      statistics.setFeedbackCount(feedbacks.size());
-      statistics.setHighRatingCount(highRatingCount);
-      statistics.setMidRatingCount(midRatingCount);
-      statistics.setLowRatingCount(lowRatingCount);
+  private void updateFeedbackStatistics(ActivityStatisticsVm statistics, List<Object[]> ratingDistribution) {
+    if (ratingDistribution.isEmpty()) {
+      return;
     }
-  }
 
-  private Map<ParticipationRole, Integer> calculateRoleBreakdown(List<EParticipationDetail> participations) {
-    Map<ParticipationRole, Integer> roleBreakdown = new HashMap<>();
-    for (EParticipationDetail participation : participations) {
-      ParticipationRole role = participation.getParticipationRole();
-      roleBreakdown.put(role, roleBreakdown.getOrDefault(role, 0) + 1);
+    Object[] row = ratingDistribution.get(0);
+    int feedbackCount = toInt(row[0]);
+    if (feedbackCount > 0) {
+      statistics.setAverageRating(row[1] != null ? ((Number) row[1]).doubleValue() : 0.0);
+      statistics.setFeedbackCount(feedbackCount);
+      statistics.setHighRatingCount(toInt(row[2]));
+      statistics.setMidRatingCount(toInt(row[3]));
+      statistics.setLowRatingCount(toInt(row[4]));
     }
-    return roleBreakdown;
   }
 
-  private Map<ParticipationStatus, Integer> calculateStatusBreakdown(List<EParticipationDetail> participations) {
-    Map<ParticipationStatus, Integer> statusBreakdown = new HashMap<>();
-    for (EParticipationDetail participation : participations) {
-      ParticipationStatus status = participation.getParticipationStatus();
-      statusBreakdown.put(status, statusBreakdown.getOrDefault(status, 0) + 1);
-    }
-    return statusBreakdown;
+  private static int toInt(Object value) {
+    return value != null ? ((Number) value).intValue() : 0;
   }
 
   private void setTimelineStatistics(ActivityStatisticsVm statistics, EActivity activity) {
@@ -1303,12 +1019,253 @@ public class ActivityStatisticsServiceImpl implements ActivityStatisticsService
     }
   }
 
-  private List<ParticipantScoreVm> calculateTopParticipants(List<EParticipationDetail> participations) {
-    return participations.stream()
-        .filter(p -> p.getParticipationStatus() == ParticipationStatus.VERIFIED)
-        .map(this::mapToParticipantScoreVm)
-        .sorted((p1, p2) -> Double.compare(p2.getScore(), p1.getScore()))
-        .limit(10)
-        .collect(Collectors.toList());
+  /**
+   * The data one analytics call needs about its target activity. Each piece is
+   * loaded on first use and then shared by every nested computation of the same
+   * call, so composite endpoints no longer reload the activity, rebuild its
+   * statistics or rescore its peers for each sub-result.
+   */
+  private final class AnalyticsContext {
+    private final Long activityId;
+    private EActivity activity;
+    private ActivityStatisticsVm statistics;
+    private List<Peer> peers;
+    private Map<Long, PeerMetrics> peerMetrics;
+    private List<Long> peerHoursToCapacity;
+    private List<SimilarActivityMetricsVm> similarActivities;
+
+    AnalyticsContext(Long activityId) {
+      this.activityId = activityId;
+    }
+
+    Long getActivityId() {
+      return activityId;
+    }
+
+    EActivity getActivity() {
+      if (activity == null) {
+        activity = fetchActivityOrThrow(activityId);
+      }
+      return activity;
+    }
+
+    ActivityStatisticsVm getStatistics() {
+      if (statistics == null) {
+        statistics = computeStatistics(getActivity());
+      }
+      return statistics;
+    }
+
+    List<Peer> getPeers() {
+      if (peers == null) {
+        peers = activityRepository.findPeerRowsByCategory(getActivity().getActivityCategory(), activityId).stream()
+            .map(Peer::of)
+            .collect(Collectors.toList());
+      }
+      return peers;
+    }
+
+    Map<Long, PeerMetrics> getPeerMetrics() {
+      if (peerMetrics == null) {
+        peerMetrics = loadPeerMetrics(getActivity().getActivityCategory());
+      }
+      return peerMetrics;
+    }
+
+    List<Long> getPeerHoursToCapacity() {
+      if (peerHoursToCapacity == null) {
+        peerHoursToCapacity = participationDetailRepository
+            .getHoursToCapacityByCategory(getActivity().getActivityCategory().name(), activityId).stream()
+            .filter(row -> row[1] != null)
+            .map(row -> ((Number) row[1]).longValue())
+            .collect(Collectors.toList());
+      }
+      return peerHoursToCapacity;
+    }
+
+    List<SimilarActivityMetricsVm> getSimilarActivities() {
+      if (similarActivities == null) {
+        similarActivities = rankSimilarActivities(this);
+      }
+      return similarActivities;
+    }
+  }
+
+  private record PeerMetrics(double participationRate, double averageRating) {
+    static final PeerMetrics EMPTY = new PeerMetrics(0.0, 0.0);
+  }
+
+  // The columns of a same-category activity that similarity ranking reads
+  private record Peer(Long id, String activityName, Instant startDate, Integer capacityLimit,
+      Integer currentParticipants, Double fee) {
+    static Peer of(Object[] row) {
+      return new Peer((Long) row[0], (String) row[1], (Instant) row[2], (Integer) row[3], (Integer) row[4],
+          (Double) row[5]);
+    }
+  }
+
+  /**
+   * Folds the flat participation rows of one activity into every participation
+   * field of {@link ActivityStatisticsVm} in a single pass. Rows must be ordered
+   * by participation id; consecutive rows of the same participation carry one
+   * feedback each. Role and status counts are plain arrays indexed by ordinal,
+   * and top participants are kept in a bounded min-heap so only the best
+   * {@value #TOP_PARTICIPANT_LIMIT} are ever materialized as view models.
+   */
+  private static final class ParticipationAccumulator {
+    private static final int TOP_PARTICIPANT_LIMIT = 10;
+    private static final ParticipationRole[] ROLES = ParticipationRole.values();
+    private static final ParticipationStatus[] STATUSES = ParticipationStatus.values();
+
+    // Worst candidate at the head: lowest score, then latest registration
+    private static final Comparator<ScoredParticipant> WORST_FIRST = Comparator
+        .comparingDouble((ScoredParticipant p) -> p.score())
+        .thenComparing(Comparator.comparingLong((ScoredParticipant p) -> p.participationId()).reversed());
+
+    private final int[] roleCounts = new int[ROLES.length];
+    private final int[] statusCounts = new int[STATUSES.length];
+    private int unknownRoleCount;
+    private int unknownStatusCount;
+    private int totalRegistrations;
+    private final PriorityQueue<ScoredParticipant> topParticipants = new PriorityQueue<>(
+        TOP_PARTICIPANT_LIMIT + 1, WORST_FIRST);
+
+    // The participation whose rows are currently being read
+    private Long participationId;
+    private ParticipationRole role;
+    private ParticipationStatus status;
+    private Long participantId;
+    private String participantName;
+    private double ratingSum;
+    private int ratingCount;
+    private final StringBuilder descriptions = new StringBuilder();
+
+    static ParticipationAccumulator of(List<Object[]> rows) {
+      ParticipationAccumulator accumulator = new ParticipationAccumulator();
+      for (Object[] row : rows) {
+        accumulator.accept(row);
+      }
+      accumulator.flush();
+      return accumulator;
+    }
+
+    private void accept(Object[] row) {
+      Long rowParticipationId = ((Number) row[0]).longValue();
+      if (!rowParticipationId.equals(participationId)) {
+        flush();
+        participationId = rowParticipationId;
+        role = (ParticipationRole) row[1];
+        status = (ParticipationStatus) row[2];
+        participantId = row[3] != null ? ((Number) row[3]).longValue() : null;
+        participantName = (String) row[4];
+      }
+
+      if (row[5] != null) {
+        ratingSum += ((Number) row[5]).doubleValue();
+        ratingCount++;
+      }
+      String description = (String) row[6];
+      if (description != null && !description.trim().isEmpty()) {
+        if (descriptions.length() > 0) {
+          descriptions.append(" | ");
+        }
+        descriptions.append(description);
+      }
+    }
+
+    private void flush() {
+      if (participationId == null) {
+        return;
+      }
+
+      totalRegistrations++;
+      if (role != null) {
+        roleCounts[role.ordinal()]++;
+      } else {
+        unknownRoleCount++;
+      }
+      if (status != null) {
+        statusCounts[status.ordinal()]++;
+      } else {
+        unknownStatusCount++;
+      }
+
+      if (status == ParticipationStatus.VERIFIED) {
+        offerTopParticipant();
+      }
+
+      participationId = null;
+      ratingSum = 0;
+      ratingCount = 0;
+      descriptions.setLength(0);
+    }
+
+    private void offerTopParticipant() {
+      // Placeholder score: the participant's average feedback rating
+      double score = ratingCount > 0 ? ratingSum / ratingCount : 0.0;
+
+      if (topParticipants.size() == TOP_PARTICIPANT_LIMIT) {
+        // Rows arrive in id order, so a tie never displaces an earlier participant
+        if (score <= topParticipants.peek().score()) {
+          return;
+        }
+        topParticipants.poll();
+      }
+
+      topParticipants.add(new ScoredParticipant(participationId, score, ParticipantScoreVm.builder()
+          .feedbackDescription(descriptions.toString())
+          .participantId(participantId)
+          .participantName(participantName)
+          .role(role)
+          .score(score)
+          .feedbackRating(score)
+          .build()));
+    }
+
+    void applyTo(ActivityStatisticsVm statistics, Integer capacityLimit) {
+      int confirmedParticipants = statusCounts[ParticipationStatus.VERIFIED.ordinal()];
+      int actualAttendees = confirmedParticipants; // actualAttendees should be the same as confirmedParticipants
+
+      double participationRate = totalRegistrations > 0 ? (double) actualAttendees / totalRegistrations * 100 : 0;
+      double capacityUtilization = (capacityLimit != null && capacityLimit > 0)
+          ? (double) actualAttendees / capacityLimit * 100
+          : 0;
+
+      statistics.setTotalRegistrations(totalRegistrations);
+      statistics.setConfirmedParticipants(confirmedParticipants);
+      statistics.setActualAttendees(actualAttendees);
+      statistics.setParticipationRate(participationRate);
+      statistics.setCapacityUtilization(capacityUtilization);
+      statistics.setParticipantsByRole(toBreakdown(ROLES, roleCounts, unknownRoleCount));
+      statistics.setParticipantsByStatus(toBreakdown(STATUSES, statusCounts, unknownStatusCount));
+    }
+
+    List<ParticipantScoreVm> getTopParticipants() {
+      List<ScoredParticipant> best = new ArrayList<>(topParticipants);
+      best.sort(WORST_FIRST.reversed());
+
+      List<ParticipantScoreVm> result = new ArrayList<>(best.size());
+      for (ScoredParticipant participant : best) {
+        result.add(participant.vm());
+      }
+      return result;
+    }
+
+    // Only keys that occurred are present, and null is kept as its own bucket
+    private static <E extends Enum<E>> Map<E, Integer> toBreakdown(E[] keys, int[] counts, int unknownCount) {
+      Map<E, Integer> breakdown = new HashMap<>();
+      for (int i = 0; i < keys.length; i++) {
+        if (counts[i] > 0) {
+          breakdown.put(keys[i], counts[i]);
+        }
+      }
+      if (unknownCount > 0) {
+        breakdown.put(null, unknownCount);
+      }
+      return breakdown;
+    }
+
+    private record ScoredParticipant(long participationId, double score, ParticipantScoreVm vm) {
+    }
   }
 }
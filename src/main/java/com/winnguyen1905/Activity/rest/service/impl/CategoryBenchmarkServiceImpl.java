@@ -0,0 +1,285 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.model.viewmodel.CategoryBenchmarkVm;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.entity.ECategoryBenchmark;
+import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
+import com.winnguyen1905.activity.persistance.repository.CategoryBenchmarkRepository;
+import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
+import com.winnguyen1905.activity.rest.service.CategoryBenchmarkService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one row of running totals per {@link ActivityCategory}. Writers apply
+ * additive deltas through atomic UPDATE statements, readers do a primary key
+ * lookup, and a nightly rebuild corrects any drift from writes that bypass the
+ * service layer. The rebuild holds the row locks the deltas need while it
+ * reads and writes the totals, so no delta is lost or counted twice.
+ */
+@Slf4j
+@Service
+public class CategoryBenchmarkServiceImpl implements CategoryBenchmarkService {
+
+  private final CategoryBenchmarkRepository categoryBenchmarkRepository;
+  private final ActivityRepository activityRepository;
+  private final FeedbackRepository feedbackRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public CategoryBenchmarkServiceImpl(CategoryBenchmarkRepository categoryBenchmarkRepository,
+      ActivityRepository activityRepository, FeedbackRepository feedbackRepository,
+      PlatformTransactionManager transactionManager) {
+    this.categoryBenchmarkRepository = categoryBenchmarkRepository;
+    this.activityRepository = activityRepository;
+    this.feedbackRepository = feedbackRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CategoryBenchmarkVm getBenchmark(ActivityCategory category) {
+    ECategoryBenchmark benchmark = categoryBenchmarkRepository.findById(category).orElse(null);
+    if (benchmark == null) {
+      return CategoryBenchmarkVm.builder()
+          .category(category)
+          .activityCount(0L)
+          .averageParticipationRate(0.0)
+          .averageCostPerParticipant(0.0)
+          .averageRating(0.0)
+          .ratingCount(0L)
+          .build();
+    }
+
+    return CategoryBenchmarkVm.builder()
+        .category(category)
+        .activityCount(benchmark.getActivityCount())
+        .averageParticipationRate(divide(benchmark.getParticipationRateSum(), benchmark.getCapacityActivityCount()))
+        .averageCostPerParticipant(divide(benchmark.getTotalCost(), benchmark.getPaidParticipantCount()))
+        .averageRating(benchmark.getRatingCount() > 0
+            ? benchmark.getRatingSum() / benchmark.getRatingCount()
+            : calculateOverallAverageRating())
+        .ratingCount(benchmark.getRatingCount())
+        .build();
+  }
+
+  @Override
+  @Transactional
+  public void onActivityCreated(EActivity activity) {
+    applyContribution(activity.getActivityCategory(), Contribution.of(ActivitySnapshot.of(activity)));
+  }
+
+  @Override
+  @Transactional
+  public void onActivityChanged(ActivitySnapshot before, EActivity after) {
+    ActivitySnapshot current = ActivitySnapshot.of(after);
+
+    if (before.category() == current.category()) {
+      applyContribution(current.category(), Contribution.of(current).minus(Contribution.of(before)));
+      return;
+    }
+
+    applyContribution(before.category(), Contribution.EMPTY.minus(Contribution.of(before)));
+    applyContribution(current.category(), Contribution.of(current));
+
+    // Ratings follow the activity into its new category
+    double[] ratings = getActivityRatingTotals(after.getId());
+    if (ratings[1] > 0) {
+      applyRating(before.category(), -ratings[0], -(long) ratings[1]);
+      applyRating(current.category(), ratings[0], (long) ratings[1]);
+    }
+  }
+
+  @Override
+  @Transactional
+  public void onActivityDeleted(EActivity activity) {
+    ActivityCategory category = activity.getActivityCategory();
+    applyContribution(category, Contribution.EMPTY.minus(Contribution.of(ActivitySnapshot.of(activity))));
+
+    double[] ratings = getActivityRatingTotals(activity.getId());
+    if (ratings[1] > 0) {
+      applyRating(category, -ratings[0], -(long) ratings[1]);
+    }
+  }
+
+  @Override
+  @Transactional
+  public void onFeedbackAdded(ActivityCategory category, Double rating) {
+    if (rating != null) {
+      applyRating(category, rating, 1);
+    }
+  }
+
+  @Override
+  @Transactional
+  public void onFeedbackRemoved(ActivityCategory category, Double rating) {
+    if (rating != null) {
+      applyRating(category, -rating, -1);
+    }
+  }
+
+  @Override
+  public void rebuild() {
+    // Not @Transactional, since the scheduled callers below would bypass the proxy
+    transactionTemplate.executeWithoutResult(status -> rebuildLocked());
+  }
+
+  private void rebuildLocked() {
+    // Taken before the totals are read: deltas already applied have committed
+    // their source rows by then, and later ones wait until the rebuild commits
+    categoryBenchmarkRepository.findAllForUpdate();
+
+    Map<ActivityCategory, ECategoryBenchmark> benchmarks = new EnumMap<>(ActivityCategory.class);
+    for (ActivityCategory category : ActivityCategory.values()) {
+      benchmarks.put(category, ECategoryBenchmark.builder().category(category).build());
+    }
+
+    for (Object[] row : activityRepository.getCategoryBenchmarkTotals()) {
+      ECategoryBenchmark benchmark = benchmarks.get((ActivityCategory) row[0]);
+      benchmark.setActivityCount(toLong(row[1]));
+      benchmark.setCapacityActivityCount(toLong(row[2]));
+      benchmark.setParticipationRateSum(toDouble(row[3]));
+      benchmark.setPaidParticipantCount(toLong(row[4]));
+      benchmark.setTotalCost(toDouble(row[5]));
+    }
+
+    for (Object[] row : feedbackRepository.getRatingTotalsByCategory()) {
+      ECategoryBenchmark benchmark = benchmarks.get((ActivityCategory) row[0]);
+      benchmark.setRatingSum(toDouble(row[1]));
+      benchmark.setRatingCount(toLong(row[2]));
+    }
+
+    categoryBenchmarkRepository.saveAll(benchmarks.values());
+    log.info("Rebuilt category benchmarks for {} categories", benchmarks.size());
+  }
+
+  /**
+   * Seeds the table once the application (and any data initializer) is ready.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void initializeBenchmarks() {
+    rebuild();
+  }
+
+  /**
+   * Reconciles the incremental totals against the source tables.
+   * Runs daily at 00:30.
+   */
+  @Scheduled(cron = "0 30 0 * * ?")
+  public void reconcileBenchmarks() {
+    log.info("Running scheduled task: reconcileBenchmarks");
+    rebuild();
+  }
+
+  private void applyContribution(ActivityCategory category, Contribution delta) {
+    if (category == null || delta.isEmpty()) {
+      return;
+    }
+
+    int updated = categoryBenchmarkRepository.applyActivityDelta(category, delta.activities(),
+        delta.capacityActivities(), delta.participationRate(), delta.paidParticipants(), delta.totalCost());
+    if (updated == 0) {
+      log.warn("Category benchmark row missing for {}, rebuilding", category);
+      rebuild();
+    }
+  }
+
+  private void applyRating(ActivityCategory category, double ratingSumDelta, long ratingCountDelta) {
+    if (category == null) {
+      return;
+    }
+
+    int updated = categoryBenchmarkRepository.applyRatingDelta(category, ratingSumDelta, ratingCountDelta);
+    if (updated == 0) {
+      log.warn("Category benchmark row missing for {}, rebuilding", category);
+      rebuild();
+    }
+  }
+
+  /**
+   * @return {@code [ratingSum, ratingCount]} for the given activity
+   */
+  private double[] getActivityRatingTotals(Long activityId) {
+    List<Object[]> rows = feedbackRepository.getRatingTotalsForActivity(activityId);
+    if (rows.isEmpty()) {
+      return new double[] { 0, 0 };
+    }
+    return new double[] { toDouble(rows.get(0)[0]), toLong(rows.get(0)[1]) };
+  }
+
+  private double calculateOverallAverageRating() {
+    double ratingSum = 0;
+    long ratingCount = 0;
+    for (ECategoryBenchmark benchmark : categoryBenchmarkRepository.findAll()) {
+      ratingSum += benchmark.getRatingSum();
+      ratingCount += benchmark.getRatingCount();
+    }
+    return divide(ratingSum, ratingCount);
+  }
+
+  private static double divide(double sum, long count) {
+    return count > 0 ? sum / count : 0.0;
+  }
+
+  private static long toLong(Object value) {
+    return value != null ? ((Number) value).longValue() : 0L;
+  }
+
+  private static double toDouble(Object value) {
+    return value != null ? ((Number) value).doubleValue() : 0.0;
+  }
+
+  /**
+   * The amount a single activity adds to its category row. Mirrors the filters
+   * the comparative analysis applies: only activities with a capacity count
+   * towards the participation rate, only paid activities with participants
+   * count towards the cost per participant.
+   */
+  private record Contribution(long activities, long capacityActivities, double participationRate,
+      long paidParticipants, double totalCost) {
+
+    static final Contribution EMPTY = new Contribution(0, 0, 0.0, 0, 0.0);
+
+    static Contribution of(ActivitySnapshot snapshot) {
+      Integer capacity = snapshot.capacityLimit();
+      Integer participants = snapshot.currentParticipants();
+      Double fee = snapshot.fee();
+
+      boolean hasCapacity = capacity != null && capacity > 0 && participants != null;
+      boolean isPaid = fee != null && fee > 0 && participants != null && participants > 0;
+
+      return new Contribution(
+          1,
+          hasCapacity ? 1 : 0,
+          hasCapacity ? (double) participants / capacity * 100.0 : 0.0,
+          isPaid ? participants : 0,
+          isPaid ? fee * participants : 0.0);
+    }
+
+    Contribution minus(Contribution other) {
+      return new Contribution(
+          activities - other.activities,
+          capacityActivities - other.capacityActivities,
+          participationRate - other.participationRate,
+          paidParticipants - other.paidParticipants,
+          totalCost - other.totalCost);
+    }
+
+    boolean isEmpty() {
+      return activities == 0 && capacityActivities == 0 && participationRate == 0.0
+          && paidParticipants == 0 && totalCost == 0.0;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.model.viewmodel.KeywordCountVm;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.entity.EFeedback;
+import com.winnguyen1905.activity.persistance.entity.EFeedbackKeyword;
+import com.winnguyen1905.activity.persistance.repository.FeedbackKeywordRepository;
+import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
+import com.winnguyen1905.activity.rest.service.FeedbackKeywordService;
+import com.winnguyen1905.activity.utils.KeywordTokenizer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the feedback keyword index incrementally: creating or deleting a
+ * feedback tokenizes only that description and applies per-term deltas with
+ * atomic upserts, and moving an activity to another category or month moves
+ * the keywords of its feedback between partitions. The rebuild locks the
+ * index, so deltas committed while it runs are neither lost nor counted twice.
+ */
+@Slf4j
+@Service
+public class FeedbackKeywordServiceImpl implements FeedbackKeywordService {
+
+  // Bounds of periodMonth, which is encoded as yyyyMM
+  private static final int MIN_PERIOD = 0;
+  private static final int MAX_PERIOD = 999912;
+
+  private final FeedbackKeywordRepository feedbackKeywordRepository;
+  private final FeedbackRepository feedbackRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public FeedbackKeywordServiceImpl(FeedbackKeywordRepository feedbackKeywordRepository,
+      FeedbackRepository feedbackRepository, PlatformTransactionManager transactionManager) {
+    this.feedbackKeywordRepository = feedbackKeywordRepository;
+    this.feedbackRepository = feedbackRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<KeywordCountVm> getTopKeywords(Long organizationId, ActivityCategory category, Instant startDate,
+      Instant endDate, int limit) {
+    int fromMonth = startDate != null ? toPeriodMonth(startDate) : MIN_PERIOD;
+    int toMonth = endDate != null ? toPeriodMonth(endDate) : MAX_PERIOD;
+
+    return feedbackKeywordRepository
+        .findTopKeywords(organizationId, category != null ? category.name() : null, fromMonth, toMonth,
+            PageRequest.of(0, limit))
+        .stream()
+        .map(row -> KeywordCountVm.builder()
+            .keyword((String) row[0])
+            .count(((Number) row[1]).longValue())
+            .build())
+        .toList();
+  }
+
+  @Override
+  @Transactional
+  public void onFeedbackCreated(EFeedback feedback) {
+    applyDescription(feedback.getActivity(), feedback.getFeedbackDescription(), 1);
+  }
+
+  @Override
+  @Transactional
+  public void onFeedbackDeleted(EFeedback feedback) {
+    applyDescription(feedback.getActivity(), feedback.getFeedbackDescription(), -1);
+  }
+
+  @Override
+  @Transactional
+  public void onActivityMoved(EActivity activity, ActivityCategory oldCategory, Instant oldStartDate) {
+    if (activity.getActivityCategory() == oldCategory
+        && toPeriodMonth(activity.getStartDate()) == toPeriodMonth(oldStartDate)) {
+      return;
+    }
+    Long organizationId = organizationIdOf(activity);
+    for (String description : feedbackRepository.getFeedbackDescriptionsForActivity(activity.getId())) {
+      applyDescription(organizationId, oldCategory, oldStartDate, description, -1);
+      applyDescription(activity, description, 1);
+    }
+  }
+
+  @Override
+  @Transactional
+  public void onActivityDeleted(EActivity activity) {
+    for (String description : feedbackRepository.getFeedbackDescriptionsForActivity(activity.getId())) {
+      applyDescription(activity, description, -1);
+    }
+  }
+
+  @Override
+  public void rebuild() {
+    // Not @Transactional, since the scheduled callers below would bypass the proxy
+    transactionTemplate.executeWithoutResult(status -> rebuildLocked());
+  }
+
+  private void rebuildLocked() {
+    // Taken before the feedback is read, so the read sees every feedback whose delta is already applied
+    feedbackKeywordRepository.lockIndex();
+
+    Map<PartitionTerm, Long> occurrences = new HashMap<>();
+    for (Object[] row : feedbackRepository.getKeywordIndexRows()) {
+      long organizationId = row[0] != null ? (Long) row[0] : 0L;
+      String category = row[1] != null ? ((ActivityCategory) row[1]).name() : "";
+      int periodMonth = toPeriodMonth((Instant) row[2]);
+      KeywordTokenizer.countKeywords((String) row[3]).forEach((term, count) -> occurrences
+          .merge(new PartitionTerm(organizationId, category, periodMonth, term), (long) count, Long::sum));
+    }
+
+    List<EFeedbackKeyword> keywords = new ArrayList<>(occurrences.size());
+    occurrences.forEach((key, count) -> keywords.add(EFeedbackKeyword.builder()
+        .organizationId(key.organizationId())
+        .category(key.category())
+        .periodMonth(key.periodMonth())
+        .term(key.term())
+        .occurrences(count)
+        .build()));
+
+    feedbackKeywordRepository.deleteAllInBatch();
+    feedbackKeywordRepository.saveAll(keywords);
+    log.info("Rebuilt feedback keyword index with {} entries", keywords.size());
+  }
+
+  /**
+   * Builds the index once the application (and any data initializer) is ready.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void initializeIndex() {
+    rebuild();
+  }
+
+  /**
+   * Reconciles the index against the feedback table.
+   * Runs daily at 00:45.
+   */
+  @Scheduled(cron = "0 45 0 * * ?")
+  public void reconcileIndex() {
+    log.info("Running scheduled task: reconcileIndex");
+    rebuild();
+  }
+
+  private void applyDescription(EActivity activity, String description, int sign) {
+    if (activity != null) {
+      applyDescription(organizationIdOf(activity), activity.getActivityCategory(), activity.getStartDate(),
+          description, sign);
+    }
+  }
+
+  private void applyDescription(Long organizationId, ActivityCategory category, Instant startDate,
+      String description, int sign) {
+    Map<String, Integer> counts = KeywordTokenizer.countKeywords(description);
+    if (counts.isEmpty()) {
+      return;
+    }
+
+    String categoryName = category != null ? category.name() : null;
+    int periodMonth = toPeriodMonth(startDate);
+    counts.forEach((term, count) -> feedbackKeywordRepository.applyDelta(organizationId, categoryName, periodMonth,
+        term, (long) sign * count));
+  }
+
+  private static Long organizationIdOf(EActivity activity) {
+    return activity.getOrganization() != null ? activity.getOrganization().getId() : null;
+  }
+
+  private static int toPeriodMonth(Instant instant) {
+    if (instant == null) {
+      return MIN_PERIOD;
+    }
+    ZonedDateTime dateTime = instant.atZone(ZoneOffset.UTC);
+    return dateTime.getYear() * 100 + dateTime.getMonthValue();
+  }
+
+  private record PartitionTerm(long organizationId, String category, int periodMonth, String term) {
+  }
+}
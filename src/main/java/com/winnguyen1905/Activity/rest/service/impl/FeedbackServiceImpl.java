@@ -2,16 +2,18 @@ package com.winnguyen1905.activity.rest.service.impl;
 
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,8 +25,11 @@ import com.winnguyen1905.activity.exception.BusinessLogicException;
 import com.winnguyen1905.activity.exception.ResourceNotFoundException;
 import com.winnguyen1905.activity.model.dto.FeedbackCreateDto;
 import com.winnguyen1905.activity.model.dto.FeedbackUpdateDto;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent;
 import com.winnguyen1905.activity.model.viewmodel.FeedbackDetailVm;
 import com.winnguyen1905.activity.model.viewmodel.FeedbackSummaryVm;
+import com.winnguyen1905.activity.model.viewmodel.KeywordCountVm;
+import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
 import com.winnguyen1905.activity.model.dto.OrganizationResponseDto;
 import com.winnguyen1905.activity.persistance.entity.EAccountCredentials;
 import com.winnguyen1905.activity.persistance.entity.EActivity;
@@ -36,10 +41,16 @@ import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
 import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
 import com.winnguyen1905.activity.rest.service.FeedbackService;
 import com.winnguyen1905.activity.rest.service.AuthorizationService;
+import com.winnguyen1905.activity.rest.service.CategoryBenchmarkService;
+import com.winnguyen1905.activity.rest.service.FeedbackKeywordService;
+import com.winnguyen1905.activity.utils.ScrollCursor;
 
 @Service
 public class FeedbackServiceImpl implements FeedbackService {
 
+    // Newest first, with the id as tie-breaker
+    private static final Sort FEEDBACK_SCROLL_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     @Autowired
     private FeedbackRepository feedbackRepository;
 
@@ -55,6 +66,15 @@ public class FeedbackServiceImpl implements FeedbackService {
     @Autowired
     private AuthorizationService authorizationService;
 
+    @Autowired
+    private CategoryBenchmarkService categoryBenchmarkService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FeedbackKeywordService feedbackKeywordService;
+
     @Override
     @Transactional
     public FeedbackDetailVm createFeedback(TAccountRequest accountRequest, FeedbackCreateDto feedbackDto) {
@@ -67,8 +87,12 @@ public class FeedbackServiceImpl implements FeedbackService {
         ensureNoExistingFeedback(participation);
 
         EFeedback feedback = buildFeedbackEntity(feedbackDto, activity, participation);
+        EFeedback savedFeedback = feedbackRepository.save(feedback);
+        categoryBenchmarkService.onFeedbackAdded(activity.getActivityCategory(), savedFeedback.getRating());
+        feedbackKeywordService.onFeedbackCreated(savedFeedback);
+        eventPublisher.publishEvent(ActivityDataChangedEvent.ofFeedback(savedFeedback));
 
-        return mapToDetailVm(feedbackRepository.save(feedback));
+        return mapToDetailVm(savedFeedback);
     }
 
     @Override
@@ -86,18 +110,22 @@ public class FeedbackServiceImpl implements FeedbackService {
                 .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with id: " + feedbackDto.getId()));
 
         applyUpdates(feedback, feedbackDto);
+        EFeedback savedFeedback = feedbackRepository.save(feedback);
+        eventPublisher.publishEvent(ActivityDataChangedEvent.ofFeedback(savedFeedback));
 
-        return mapToDetailVm(feedbackRepository.save(feedback));
+        return mapToDetailVm(savedFeedback);
     }
 
     @Override
     @Transactional
     public void deleteFeedback(Long feedbackId) {
-        if (!feedbackRepository.existsById(feedbackId)) {
-            throw new ResourceNotFoundException("Feedback not found with id: " + feedbackId);
-        }
+        EFeedback feedback = feedbackRepository.findById(feedbackId)
+                .orElseThrow(() -> new ResourceNotFoundException("Feedback not found with id: " + feedbackId));
 
+        categoryBenchmarkService.onFeedbackRemoved(feedback.getActivity().getActivityCategory(), feedback.getRating());
+        feedbackKeywordService.onFeedbackDeleted(feedback);
         feedbackRepository.deleteById(feedbackId);
+        eventPublisher.publishEvent(ActivityDataChangedEvent.ofFeedback(feedback));
     }
 
     @Override
@@ -144,6 +172,22 @@ public class FeedbackServiceImpl implements FeedbackService {
         return new PageImpl<>(feedbackVms, pageable, feedbacks.getTotalElements());
     }
 
+    @Override
+    public PagedResponse<FeedbackSummaryVm> scrollActivityFeedbacks(Long activityId, String cursor, int size) {
+        if (!activityRepository.existsById(activityId)) {
+            throw new ResourceNotFoundException("Activity not found with id: " + activityId);
+        }
+
+        Window<EFeedback> feedbacks = feedbackRepository.findByActivityId(activityId,
+                ScrollCursor.decode(cursor, FEEDBACK_SCROLL_SORT), FEEDBACK_SCROLL_SORT, Limit.of(size));
+
+        List<FeedbackSummaryVm> feedbackVms = feedbacks.getContent().stream()
+                .map(this::mapToSummaryVm)
+                .collect(Collectors.toList());
+
+        return ScrollCursor.toPagedResponse(feedbacks, feedbackVms, size);
+    }
+
     @Override
     public Double getAverageRatingForActivity(Long activityId) {
         return feedbackRepository.getAverageRatingForActivity(activityId);
@@ -201,32 +245,9 @@ public class FeedbackServiceImpl implements FeedbackService {
 
     @Override
     public List<String> getKeywordAnalysis(Long organizationId) {
-        // Get all feedback descriptions for the organization
-        List<String> feedbackDescriptions = feedbackRepository.getFeedbackDescriptionsForOrganization(organizationId);
-
-        // Simple keyword extraction - split by space and count occurrences
-        Map<String, Integer> wordFrequency = new HashMap<>();
-
-        for (String description : feedbackDescriptions) {
-            if (description == null || description.trim().isEmpty()) {
-                continue;
-            }
-
-            String[] words = description.toLowerCase().split("\\s+");
-            for (String word : words) {
-                // Clean word and ignore short words
-                word = word.replaceAll("[^a-zA-Z]", "");
-                if (word.length() > 3) {
-                    wordFrequency.put(word, wordFrequency.getOrDefault(word, 0) + 1);
-                }
-            }
-        }
-
-        // Return top keywords
-        return wordFrequency.entrySet().stream()
-                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                .limit(20)
-                .map(Map.Entry::getKey)
+        // Top keywords come straight from the keyword index
+        return feedbackKeywordService.getTopKeywords(organizationId, null, null, null, 20).stream()
+                .map(KeywordCountVm::getKeyword)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,69 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.winnguyen1905.activity.rest.service.SeatReservationService.SeatCounter;
+
+/**
+ * In-process seat counter for single-instance deployments and local runs
+ * without Redis. Each activity has its own atomic counter, so joins to
+ * different activities never contend. Generations come from one sequence,
+ * so they are never reused after an eviction.
+ */
+@Component
+@ConditionalOnProperty(name = "activity.seats.store", havingValue = "local")
+public class LocalSeatCounter implements SeatCounter {
+
+  private record Counter(AtomicLong remaining, long generation) {
+  }
+
+  private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+  private final AtomicLong generations = new AtomicLong();
+
+  @Override
+  public Taken take(Long activityId) {
+    Counter counter = counters.get(activityId);
+    if (counter == null) {
+      return null;
+    }
+    AtomicLong remaining = counter.remaining();
+    while (true) {
+      long current = remaining.get();
+      if (current <= 0) {
+        return new Taken(-1, counter.generation());
+      }
+      if (remaining.compareAndSet(current, current - 1)) {
+        return new Taken(current - 1, counter.generation());
+      }
+    }
+  }
+
+  @Override
+  public Long generationOf(Long activityId) {
+    Counter counter = counters.get(activityId);
+    return counter != null ? counter.generation() : null;
+  }
+
+  @Override
+  public void give(Long activityId, long seats, long generation) {
+    Counter counter = counters.get(activityId);
+    if (counter != null && counter.generation() == generation) {
+      counter.remaining().addAndGet(seats);
+    }
+  }
+
+  @Override
+  public void reseed(Long activityId, long remaining) {
+    counters.put(activityId, new Counter(new AtomicLong(remaining), generations.incrementAndGet()));
+  }
+
+  @Override
+  public void evict(Long activityId) {
+    counters.remove(activityId);
+  }
+}
@@ -11,10 +11,14 @@ import com.winnguyen1905.activity.persistance.repository.AccountRepository;
 import com.winnguyen1905.activity.persistance.repository.NotificationRepository;
 import com.winnguyen1905.activity.model.viewmodel.NotificationVm;
 import com.winnguyen1905.activity.rest.service.NotificationService;
+import com.winnguyen1905.activity.utils.ScrollCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -39,6 +43,10 @@ public class NotificationServiceImpl implements NotificationService {
   private static final String ACCOUNT_NOT_FOUND = "Account not found with ID: %d";
   private static final String RECEIVER_NOT_FOUND = "Receiver not found with ID: %d";
 
+  // Same order as the offset listing, with the id as tie-breaker
+  private static final Sort SCROLL_SORT = Sort.by(Sort.Order.asc("isRead"), Sort.Order.desc("createdDate"),
+      Sort.Order.desc("id"));
+
   /**
    * Sends a notification to the specified receiver.
    *
@@ -85,6 +93,25 @@ public class NotificationServiceImpl implements NotificationService {
     return buildPagedResponse(notificationsPage, notificationVms);
   }
 
+  /**
+   * Retrieves a page of notifications for the authenticated user after a cursor,
+   * unread first, without counting the total.
+   *
+   * @param accountRequest The account request context
+   * @param cursor The cursor of the previous page, or null for the first page
+   * @param size The maximum number of notifications
+   * @return Cursor page containing notifications
+   * @throws BadRequestException if the cursor is invalid
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public PagedResponse<NotificationVm> scrollNotifications(TAccountRequest accountRequest, String cursor, int size) {
+    Window<ENotification> notifications = notificationRepository.findByReceiverId(accountRequest.getId(),
+        ScrollCursor.decode(cursor, SCROLL_SORT), SCROLL_SORT, Limit.of(size));
+
+    return ScrollCursor.toPagedResponse(notifications, mapNotificationsToViewModels(notifications.getContent()), size);
+  }
+
   /**
    * Marks a notification as read.
    *
@@ -21,6 +21,8 @@ import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
 import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
 import com.winnguyen1905.activity.persistance.repository.OrganizationRepository;
 import com.winnguyen1905.activity.rest.service.OrganizationStatisticsService;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService.CacheKey;
 import com.winnguyen1905.activity.model.viewmodel.ActivityStatisticsSummaryVm;
 import com.winnguyen1905.activity.model.viewmodel.OrganizationStatisticsVm;
 import com.winnguyen1905.activity.rest.service.AuthorizationService;
@@ -45,6 +47,7 @@ public class OrganizationStatisticsServiceImpl implements OrganizationStatistics
   private final FeedbackRepository feedbackRepository;
   private final OrganizationRepository organizationRepository;
   private final AuthorizationService authorizationService;
+  private final StatisticsCacheService statisticsCacheService;
 
   // Configuration constants
   private static final int TOP_ITEMS_COUNT = 5;
@@ -55,6 +58,12 @@ public class OrganizationStatisticsServiceImpl implements OrganizationStatistics
 
   @Override
   public OrganizationStatisticsVm getOrganizationStatistics(Long organizationId) {
+    // Every filtered, periodic and date-range variant currently resolves here
+    return statisticsCacheService.getOrLoad(CacheKey.organization(organizationId, "organization.overview"),
+        OrganizationStatisticsVm.class, () -> computeOrganizationStatistics(organizationId));
+  }
+
+  private OrganizationStatisticsVm computeOrganizationStatistics(Long organizationId) {
     log.debug("Generating statistics for organization ID: {}", organizationId);
     
     EOrganization organization = validateAndGetOrganization(organizationId);
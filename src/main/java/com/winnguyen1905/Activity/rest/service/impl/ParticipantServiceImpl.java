@@ -9,6 +9,7 @@ import com.winnguyen1905.activity.exception.ResourceNotFoundException;
 import com.winnguyen1905.activity.model.dto.ParticipationSearchParams;
 import com.winnguyen1905.activity.model.dto.JoinActivityRequest;
 import com.winnguyen1905.activity.model.dto.ParticipationUpdateDto;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent;
 import com.winnguyen1905.activity.model.viewmodel.ActivityVm;
 import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
 import com.winnguyen1905.activity.model.viewmodel.ParticipationDetailVm;
@@ -21,9 +22,12 @@ import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepo
 import com.winnguyen1905.activity.persistance.repository.specification.EParticipationDetailSpecification;
 import com.winnguyen1905.activity.rest.service.ParticipantService;
 import com.winnguyen1905.activity.rest.service.AuthorizationService;
+import com.winnguyen1905.activity.rest.service.SeatReservationService;
+import com.winnguyen1905.activity.rest.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -49,6 +53,9 @@ public class ParticipantServiceImpl implements ParticipantService {
   private final ActivityRepository activityRepository;
   private final ParticipationDetailRepository participationDetailRepository;
   private final AuthorizationService authorizationService;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SeatReservationService seatReservationService;
+  private final WaitlistService waitlistService;
 
   private static final String PARTICIPATION_NOT_FOUND = "Participation detail not found with ID: %d";
   private static final String ACCOUNT_NOT_FOUND = "Account not found with ID: %d";
@@ -103,9 +110,11 @@ public class ParticipantServiceImpl implements ParticipantService {
   public void deleteParticipant(TAccountRequest accountRequest, Long participationId) {
     log.info("Deleting participant with ID: {} by account: {}", participationId, accountRequest.getId());
     
-    validateParticipationExists(participationId);
+    EParticipationDetail participationDetail = findParticipationById(participationId);
     
     participationDetailRepository.deleteById(participationId);
+    applySeatChange(participationDetail, participationDetail.getParticipationStatus(), null);
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofParticipation(participationDetail));
     
     log.info("Participant deleted successfully with ID: {}", participationId);
   }
@@ -163,9 +172,12 @@ public class ParticipantServiceImpl implements ParticipantService {
     // Authorization check: Only admins or contributors to the specific activity can verify participants
     authorizationService.validateParticipationVerificationAccess(participationDetail.getActivity().getId(), accountRequest);
     
+    ParticipationStatus oldStatus = participationDetail.getParticipationStatus();
     updateParticipationStatus(participationDetail, updateDto, accountRequest.getUsername());
+    applySeatChange(participationDetail, oldStatus, updateDto.getStatus());
     
     EParticipationDetail savedDetail = participationDetailRepository.save(participationDetail);
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofParticipation(savedDetail));
     
     log.info("Participation verified successfully with ID: {}", savedDetail.getId());
     
@@ -192,9 +204,12 @@ public class ParticipantServiceImpl implements ParticipantService {
     // Authorization check: Only admins or contributors to the specific activity can reject participants
     authorizationService.validateParticipationVerificationAccess(participationDetail.getActivity().getId(), accountRequest);
     
+    ParticipationStatus oldStatus = participationDetail.getParticipationStatus();
     updateParticipationStatus(participationDetail, updateDto, accountRequest.getUsername());
+    applySeatChange(participationDetail, oldStatus, updateDto.getStatus());
     
     EParticipationDetail savedDetail = participationDetailRepository.save(participationDetail);
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofParticipation(savedDetail));
     
     log.info("Participation rejected successfully with ID: {}", savedDetail.getId());
     
@@ -258,6 +273,38 @@ public class ParticipantServiceImpl implements ParticipantService {
     if (updateDto.getStatus() == null) {
       throw new BadRequestException("Status is required");
     }
+
+    if (updateDto.getStatus() == ParticipationStatus.WAITLISTED) {
+      throw new BadRequestException("Participants are only waitlisted when joining a full activity");
+    }
+  }
+
+  /**
+   * Keeps the activity's seats in step with a participation status change.
+   * Leaving a seated status frees the seat for the next waitlisted user;
+   * entering one takes a seat and fails when the activity is full.
+   *
+   * @param participationDetail The participation being changed
+   * @param oldStatus Its status before the change
+   * @param newStatus Its status after the change, or null when it is deleted
+   * @throws BadRequestException if a seat is needed and none is left
+   */
+  private void applySeatChange(EParticipationDetail participationDetail, ParticipationStatus oldStatus,
+                               ParticipationStatus newStatus) {
+    EActivity activity = participationDetail.getActivity();
+    boolean wasSeated = SeatReservationService.SEATED_STATUSES.contains(oldStatus);
+    boolean isSeated = SeatReservationService.SEATED_STATUSES.contains(newStatus);
+
+    if (oldStatus == ParticipationStatus.WAITLISTED && newStatus != ParticipationStatus.WAITLISTED) {
+      waitlistService.remove(participationDetail);
+    }
+
+    if (wasSeated && !isSeated) {
+      seatReservationService.release(activity);
+      waitlistService.promoteAfterCommit(activity.getId());
+    } else if (!wasSeated && isSeated && !seatReservationService.tryReserve(activity)) {
+      throw new BadRequestException("Out of slot");
+    }
   }
 
   /**
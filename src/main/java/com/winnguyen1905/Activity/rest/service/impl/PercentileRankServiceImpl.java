@@ -0,0 +1,265 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.winnguyen1905.activity.common.constant.ActivityCategory;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
+import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
+import com.winnguyen1905.activity.rest.service.PercentileRankService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps an immutable snapshot of every category's metric distribution as sorted
+ * primitive arrays. A rank is two binary searches instead of one rating query
+ * per activity in the category. The snapshot is rebuilt from two bulk queries
+ * on a fixed delay, so ranks may lag writes by up to one refresh interval.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PercentileRankServiceImpl implements PercentileRankService {
+
+  private final ActivityRepository activityRepository;
+  private final FeedbackRepository feedbackRepository;
+
+  @Value("${statistics.percentile.refresh-interval-ms:300000}")
+  private long refreshIntervalMs;
+
+  private volatile Snapshot snapshot;
+
+  @Override
+  public Integer getPercentileRank(EActivity activity, PercentileMetric metric) {
+    Snapshot current = currentSnapshot();
+    Distribution distribution = current.distributions().get(activity.getActivityCategory());
+    ActivityMetrics indexed = current.activities().get(activity.getId());
+
+    int categorySize = distribution != null ? distribution.size() : 0;
+    int otherActivities = indexed != null ? categorySize - 1 : categorySize;
+    if (otherActivities <= 0) {
+      return 100;
+    }
+
+    double target = switch (metric) {
+      case PARTICIPATION_RATE -> participationRate(activity.getCapacityLimit(), activity.getCurrentParticipants());
+      case RATING -> indexed != null ? indexed.rating() : Double.NaN;
+      case COST_EFFICIENCY -> costPerParticipant(activity.getFee(), activity.getCurrentParticipants());
+    };
+    if (Double.isNaN(target)) {
+      return 0;
+    }
+
+    // The snapshot may still hold this activity's own value; it must not count
+    // against itself
+    double ownValue = indexed != null ? indexed.get(metric) : Double.NaN;
+    int outperformed;
+    if (metric == PercentileMetric.COST_EFFICIENCY) {
+      outperformed = distribution.countGreaterThan(metric, target) - (ownValue > target ? 1 : 0);
+    } else {
+      outperformed = distribution.countLessThan(metric, target) - (ownValue < target ? 1 : 0);
+    }
+
+    return (int) Math.round((double) outperformed / otherActivities * 100);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public synchronized void refresh() {
+    Map<Long, Double> ratings = new HashMap<>();
+    for (Object[] row : feedbackRepository.getAverageRatingsByActivity()) {
+      if (row[0] != null && row[1] != null) {
+        ratings.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+      }
+    }
+
+    List<Object[]> rows = activityRepository.getPercentileMetrics();
+    Map<Long, ActivityMetrics> activities = new HashMap<>(rows.size() * 2);
+    Map<ActivityCategory, DistributionBuilder> builders = new EnumMap<>(ActivityCategory.class);
+
+    for (Object[] row : rows) {
+      Long id = ((Number) row[0]).longValue();
+      ActivityCategory category = (ActivityCategory) row[1];
+      Integer capacity = row[2] != null ? ((Number) row[2]).intValue() : null;
+      Integer participants = row[3] != null ? ((Number) row[3]).intValue() : null;
+      Double fee = row[4] != null ? ((Number) row[4]).doubleValue() : null;
+
+      ActivityMetrics metrics = new ActivityMetrics(
+          participationRate(capacity, participants),
+          ratings.getOrDefault(id, Double.NaN),
+          costPerParticipant(fee, participants));
+      activities.put(id, metrics);
+      builders.computeIfAbsent(category, key -> new DistributionBuilder()).add(metrics);
+    }
+
+    Map<ActivityCategory, Distribution> distributions = new EnumMap<>(ActivityCategory.class);
+    builders.forEach((category, builder) -> distributions.put(category, builder.build()));
+
+    snapshot = new Snapshot(distributions, activities, Instant.now());
+    log.debug("Refreshed percentile distributions for {} activities", activities.size());
+  }
+
+  @Scheduled(fixedDelayString = "${statistics.percentile.refresh-interval-ms:300000}")
+  public void scheduledRefresh() {
+    refresh();
+  }
+
+  private Snapshot currentSnapshot() {
+    Snapshot current = snapshot;
+    if (current == null || current.isOlderThan(Duration.ofMillis(refreshIntervalMs * 2))) {
+      synchronized (this) {
+        if (snapshot == current) {
+          refresh();
+        }
+        current = snapshot;
+      }
+    }
+    return current;
+  }
+
+  // NaN marks "no value", matching the activities the per-query code skipped
+  private static double participationRate(Integer capacity, Integer participants) {
+    if (capacity == null || capacity <= 0 || participants == null) {
+      return Double.NaN;
+    }
+    return ((double) participants / capacity) * 100.0;
+  }
+
+  private static double costPerParticipant(Double fee, Integer participants) {
+    if (fee == null || fee <= 0 || participants == null || participants <= 0) {
+      return Double.NaN;
+    }
+    return fee / participants;
+  }
+
+  private record Snapshot(Map<ActivityCategory, Distribution> distributions,
+      Map<Long, ActivityMetrics> activities, Instant builtAt) {
+
+    boolean isOlderThan(Duration age) {
+      return builtAt.plus(age).isBefore(Instant.now());
+    }
+  }
+
+  private record ActivityMetrics(double participationRate, double rating, double costPerParticipant) {
+
+    double get(PercentileMetric metric) {
+      return switch (metric) {
+        case PARTICIPATION_RATE -> participationRate;
+        case RATING -> rating;
+        case COST_EFFICIENCY -> costPerParticipant;
+      };
+    }
+  }
+
+  /**
+   * Sorted values per metric. Activities without a value are left out of the
+   * arrays but still counted in {@code size}, which is the percentile
+   * denominator.
+   */
+  private record Distribution(int size, double[] participationRates, double[] ratings,
+      double[] costsPerParticipant) {
+
+    int countLessThan(PercentileMetric metric, double value) {
+      return lowerBound(values(metric), value);
+    }
+
+    int countGreaterThan(PercentileMetric metric, double value) {
+      double[] values = values(metric);
+      return values.length - upperBound(values, value);
+    }
+
+    private double[] values(PercentileMetric metric) {
+      return switch (metric) {
+        case PARTICIPATION_RATE -> participationRates;
+        case RATING -> ratings;
+        case COST_EFFICIENCY -> costsPerParticipant;
+      };
+    }
+
+    // First index whose value is >= key
+    private static int lowerBound(double[] values, double key) {
+      int low = 0;
+      int high = values.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] < key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    // First index whose value is > key
+    private static int upperBound(double[] values, double key) {
+      int low = 0;
+      int high = values.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] <= key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+
+  private static final class DistributionBuilder {
+    private int size;
+    private double[] participationRates = new double[16];
+    private double[] ratings = new double[16];
+    private double[] costsPerParticipant = new double[16];
+    private int participationCount;
+    private int ratingCount;
+    private int costCount;
+
+    void add(ActivityMetrics metrics) {
+      size++;
+      if (!Double.isNaN(metrics.participationRate())) {
+        participationRates = append(participationRates, participationCount++, metrics.participationRate());
+      }
+      if (!Double.isNaN(metrics.rating())) {
+        ratings = append(ratings, ratingCount++, metrics.rating());
+      }
+      if (!Double.isNaN(metrics.costPerParticipant())) {
+        costsPerParticipant = append(costsPerParticipant, costCount++, metrics.costPerParticipant());
+      }
+    }
+
+    Distribution build() {
+      return new Distribution(size,
+          sorted(participationRates, participationCount),
+          sorted(ratings, ratingCount),
+          sorted(costsPerParticipant, costCount));
+    }
+
+    private static double[] append(double[] values, int index, double value) {
+      if (index == values.length) {
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      values[index] = value;
+      return values;
+    }
+
+    private static double[] sorted(double[] values, int length) {
+      double[] result = Arrays.copyOf(values, length);
+      Arrays.sort(result);
+      return result;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import com.winnguyen1905.activity.rest.service.SeatReservationService.SeatCounter;
+
+/**
+ * Seat counter shared by every instance through Redis. Taking a seat is one
+ * script call that checks and decrements atomically, so concurrent joins
+ * never drive the count below zero.
+ * <p>
+ * Each counter is a hash of its remaining seats and generation. Evicting only
+ * drops the remaining seats and keeps the generation for a while, so a reseed
+ * never reuses the generation of seats that are still being given back.
+ */
+@Component
+@ConditionalOnProperty(name = "activity.seats.store", havingValue = "redis", matchIfMissing = true)
+public class RedisSeatCounter implements SeatCounter {
+
+  private static final String KEY_PREFIX = "activity:seat-counter:";
+  private static final String REMAINING = "remaining";
+  private static final String GENERATION = "generation";
+
+  // Longer than any transaction that took a seat from an evicted counter stays open
+  private static final Duration GENERATION_RETENTION = Duration.ofDays(1);
+
+  // Returns {remaining after taking, generation}, remaining -1 if full; nil when no counter is loaded
+  @SuppressWarnings("rawtypes")
+  private static final DefaultRedisScript<List> TAKE_SCRIPT = new DefaultRedisScript<>(
+      "local seats = redis.call('hmget', KEYS[1], 'remaining', 'generation') "
+          + "if not seats[1] then return false end "
+          + "if tonumber(seats[1]) <= 0 then return {-1, tonumber(seats[2])} end "
+          + "return {redis.call('hincrby', KEYS[1], 'remaining', -1), tonumber(seats[2])}",
+      List.class);
+
+  // Adds ARGV[1] seats if the counter is loaded at generation ARGV[2]
+  private static final DefaultRedisScript<Long> GIVE_SCRIPT = new DefaultRedisScript<>(
+      "local seats = redis.call('hmget', KEYS[1], 'remaining', 'generation') "
+          + "if seats[1] and seats[2] == ARGV[2] then "
+          + "  return redis.call('hincrby', KEYS[1], 'remaining', ARGV[1]) "
+          + "end "
+          + "return 0",
+      Long.class);
+
+  private static final DefaultRedisScript<Long> RESEED_SCRIPT = new DefaultRedisScript<>(
+      "redis.call('persist', KEYS[1]) "
+          + "redis.call('hset', KEYS[1], 'remaining', ARGV[1]) "
+          + "return redis.call('hincrby', KEYS[1], 'generation', 1)",
+      Long.class);
+
+  private static final DefaultRedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>(
+      "redis.call('hdel', KEYS[1], 'remaining') "
+          + "return redis.call('pexpire', KEYS[1], ARGV[1])",
+      Long.class);
+
+  private final StringRedisTemplate stringRedisTemplate;
+
+  public RedisSeatCounter(StringRedisTemplate stringRedisTemplate) {
+    this.stringRedisTemplate = stringRedisTemplate;
+  }
+
+  @Override
+  public Taken take(Long activityId) {
+    List<?> seat = stringRedisTemplate.execute(TAKE_SCRIPT, List.of(KEY_PREFIX + activityId));
+    if (seat == null || seat.size() < 2) {
+      return null;
+    }
+    return new Taken(((Number) seat.get(0)).longValue(), ((Number) seat.get(1)).longValue());
+  }
+
+  @Override
+  public Long generationOf(Long activityId) {
+    List<Object> seats = stringRedisTemplate.opsForHash()
+        .multiGet(KEY_PREFIX + activityId, List.of(REMAINING, GENERATION));
+    if (seats.get(0) == null || seats.get(1) == null) {
+      return null;
+    }
+    return Long.valueOf((String) seats.get(1));
+  }
+
+  @Override
+  public void give(Long activityId, long seats, long generation) {
+    stringRedisTemplate.execute(GIVE_SCRIPT, List.of(KEY_PREFIX + activityId), String.valueOf(seats),
+        String.valueOf(generation));
+  }
+
+  @Override
+  public void reseed(Long activityId, long remaining) {
+    stringRedisTemplate.execute(RESEED_SCRIPT, List.of(KEY_PREFIX + activityId), String.valueOf(remaining));
+  }
+
+  @Override
+  public void evict(Long activityId) {
+    stringRedisTemplate.execute(EVICT_SCRIPT, List.of(KEY_PREFIX + activityId),
+        String.valueOf(GENERATION_RETENTION.toMillis()));
+  }
+}
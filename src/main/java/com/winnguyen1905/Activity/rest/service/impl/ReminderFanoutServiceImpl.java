@@ -0,0 +1,155 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.activity.common.constant.NotificationType;
+import com.winnguyen1905.activity.persistance.entity.EAccountCredentials;
+import com.winnguyen1905.activity.persistance.entity.ENotification;
+import com.winnguyen1905.activity.persistance.repository.AccountRepository;
+import com.winnguyen1905.activity.persistance.repository.NotificationRepository;
+import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
+import com.winnguyen1905.activity.rest.service.EmailService;
+import com.winnguyen1905.activity.rest.service.EmailService.EmailMessage;
+import com.winnguyen1905.activity.rest.service.ReminderFanoutService;
+import com.winnguyen1905.activity.rest.service.SeatReservationService;
+import com.winnguyen1905.activity.scheduling.SideEffectExecutor;
+import com.winnguyen1905.activity.scheduling.SideEffectExecutor.Overflow;
+import com.winnguyen1905.activity.websocket.service.SocketIOService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes reminder notifications and emails in chunks of {@link #BATCH_SIZE},
+ * relying on Hibernate JDBC batching, and clears the persistence context after
+ * each chunk so memory stays flat for very large activities. Socket events
+ * are pushed on the {@link SideEffectExecutor} only after the rows are
+ * committed.
+ */
+@Slf4j
+@Service
+public class ReminderFanoutServiceImpl implements ReminderFanoutService {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final ParticipationDetailRepository participationDetailRepository;
+  private final NotificationRepository notificationRepository;
+  private final AccountRepository accountRepository;
+  private final EmailService emailService;
+  private final SocketIOService socketIOService;
+  private final SideEffectExecutor sideEffectExecutor;
+  private final TransactionTemplate transactionTemplate;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  public ReminderFanoutServiceImpl(ParticipationDetailRepository participationDetailRepository,
+      NotificationRepository notificationRepository, AccountRepository accountRepository,
+      EmailService emailService, SocketIOService socketIOService, SideEffectExecutor sideEffectExecutor,
+      PlatformTransactionManager transactionManager) {
+    this.participationDetailRepository = participationDetailRepository;
+    this.notificationRepository = notificationRepository;
+    this.accountRepository = accountRepository;
+    this.emailService = emailService;
+    this.socketIOService = socketIOService;
+    this.sideEffectExecutor = sideEffectExecutor;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public void fanOut(List<Reminder> reminders) {
+    if (reminders.isEmpty()) {
+      return;
+    }
+
+    Map<Long, List<EAccountCredentials>> recipientsByActivity = loadRecipients(reminders);
+
+    for (Reminder reminder : reminders) {
+      Long activityId = reminder.activity().getId();
+      List<EAccountCredentials> recipients = recipientsByActivity.getOrDefault(activityId, List.of());
+      if (recipients.isEmpty()) {
+        continue;
+      }
+
+      try {
+        transactionTemplate.executeWithoutResult(status -> persist(reminder, recipients));
+      } catch (RuntimeException e) {
+        log.error("Failed to fan out reminder '{}' for activity {}: {}", reminder.title(), activityId,
+            e.getMessage(), e);
+        continue;
+      }
+
+      if (reminder.socketEvent() != null) {
+        // The notifications are already stored, so a dropped push only delays what the user sees
+        sideEffectExecutor.execute("socket.reminder", Overflow.DROP, () -> {
+          for (EAccountCredentials recipient : recipients) {
+            socketIOService.sendNotification(recipient.getId(), reminder.socketEvent(),
+                reminder.socketNotification());
+          }
+        });
+      }
+
+      log.info("Fanned out reminder '{}' to {} participants of activity {}", reminder.title(), recipients.size(),
+          activityId);
+    }
+  }
+
+  private Map<Long, List<EAccountCredentials>> loadRecipients(List<Reminder> reminders) {
+    List<Long> activityIds = reminders.stream().map(reminder -> reminder.activity().getId()).toList();
+
+    Map<Long, List<EAccountCredentials>> recipientsByActivity = new HashMap<>();
+    // Only participants holding a seat; waitlisted and rejected ones are not taking part
+    for (Object[] row : participationDetailRepository.findReminderRecipients(activityIds,
+        SeatReservationService.SEATED_STATUSES)) {
+      // Detached carrier for the template renderers, which only read the name
+      EAccountCredentials recipient = EAccountCredentials.builder()
+          .id((Long) row[1])
+          .email((String) row[2])
+          .fullName((String) row[3])
+          .build();
+      recipientsByActivity.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(recipient);
+    }
+    return recipientsByActivity;
+  }
+
+  private void persist(Reminder reminder, List<EAccountCredentials> recipients) {
+    List<ENotification> notifications = new ArrayList<>(BATCH_SIZE);
+    List<EmailMessage> emails = new ArrayList<>(BATCH_SIZE);
+
+    for (EAccountCredentials recipient : recipients) {
+      notifications.add(ENotification.builder()
+          .title(reminder.title())
+          .content(reminder.content())
+          .isRead(false)
+          .notificationType(NotificationType.ACTIVITY)
+          .receiver(accountRepository.getReferenceById(recipient.getId()))
+          .build());
+      if (reminder.emailSubject() != null) {
+        emails.add(new EmailMessage(recipient.getEmail(), reminder.emailSubject(),
+            reminder.emailBody().apply(recipient)));
+      }
+
+      if (notifications.size() >= BATCH_SIZE) {
+        flush(notifications, emails);
+      }
+    }
+    flush(notifications, emails);
+  }
+
+  private void flush(List<ENotification> notifications, List<EmailMessage> emails) {
+    notificationRepository.saveAll(notifications);
+    emailService.sendEmails(emails);
+    entityManager.flush();
+    entityManager.clear();
+    notifications.clear();
+    emails.clear();
+  }
+}
@@ -0,0 +1,237 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.activity.exception.BusinessLogicException;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
+import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
+import com.winnguyen1905.activity.rest.service.CategoryBenchmarkService;
+import com.winnguyen1905.activity.rest.service.CategoryBenchmarkService.ActivitySnapshot;
+import com.winnguyen1905.activity.rest.service.SeatReservationService;
+import com.winnguyen1905.activity.rest.service.SeatReservationService.SeatCounter.Taken;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seat reservation backed by a {@link SeatCounter}.
+ * <p>
+ * A join takes a seat from the counter before its participation row is
+ * inserted; the counter check is the only capacity guard, so the activity row
+ * is never read-modify-written. Committed joins and departures are summed per
+ * activity and applied to {@code currentParticipants} by {@link #flush()} as
+ * one relative {@code UPDATE} per activity.
+ * <p>
+ * Seat changes hold a shared lock on the activity row until they complete,
+ * the same lock the participation row's foreign key takes anyway. Counters
+ * are only seeded under an exclusive lock on that row, so the participation
+ * rows they are counted from include every seat taken from the previous
+ * generation and none that is still in flight.
+ */
+@Slf4j
+@Service
+public class SeatReservationServiceImpl implements SeatReservationService {
+
+  private final SeatCounter seatCounter;
+  private final ActivityRepository activityRepository;
+  private final ParticipationDetailRepository participationDetailRepository;
+  private final CategoryBenchmarkService categoryBenchmarkService;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate reseedTemplate;
+
+  // Committed participant changes not yet written to currentParticipants; flushed entries are removed
+  private final Map<Long, Integer> pendingDeltas = new ConcurrentHashMap<>();
+
+  public SeatReservationServiceImpl(SeatCounter seatCounter, ActivityRepository activityRepository,
+      ParticipationDetailRepository participationDetailRepository, CategoryBenchmarkService categoryBenchmarkService,
+      PlatformTransactionManager transactionManager) {
+    this.seatCounter = seatCounter;
+    this.activityRepository = activityRepository;
+    this.participationDetailRepository = participationDetailRepository;
+    this.categoryBenchmarkService = categoryBenchmarkService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.reseedTemplate = new TransactionTemplate(transactionManager);
+    this.reseedTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  @Override
+  public boolean tryReserve(EActivity activity) {
+    Long activityId = activity.getId();
+
+    // Activities without a capacity limit never run out of seats
+    if (activity.getCapacityLimit() == null) {
+      afterCompletion(committed -> {
+        if (committed) {
+          addPendingDelta(activityId, 1);
+        }
+      });
+      return true;
+    }
+
+    if (seatCounter.generationOf(activityId) == null) {
+      reseed(activityId);
+    }
+    activityRepository.lockForShare(activityId);
+    Taken seat = seatCounter.take(activityId);
+    if (seat == null) {
+      // Evicted since it was seeded; reseeding now would wait for the lock just taken
+      throw new BusinessLogicException("Seats of this activity are being recounted, please try again");
+    }
+    if (seat.remaining() < 0) {
+      return false;
+    }
+
+    afterCompletion(committed -> {
+      if (committed) {
+        addPendingDelta(activityId, 1);
+      } else {
+        seatCounter.give(activityId, 1, seat.generation());
+      }
+    });
+    return true;
+  }
+
+  @Override
+  public void release(EActivity activity) {
+    Long activityId = activity.getId();
+    Long generation = null;
+    if (activity.getCapacityLimit() != null) {
+      activityRepository.lockForShare(activityId);
+      generation = seatCounter.generationOf(activityId);
+    }
+
+    Long releasedGeneration = generation;
+    afterCompletion(committed -> {
+      if (committed) {
+        if (releasedGeneration != null) {
+          seatCounter.give(activityId, 1, releasedGeneration);
+        }
+        addPendingDelta(activityId, -1);
+      }
+    });
+  }
+
+  @Override
+  public void onCapacityChanged(Long activityId, Integer oldCapacity, Integer newCapacity) {
+    if (Objects.equals(oldCapacity, newCapacity)) {
+      return;
+    }
+    // Reseeded on the next seat change, after seats taken under the old capacity have completed
+    afterCompletion(committed -> {
+      if (committed) {
+        seatCounter.evict(activityId);
+      }
+    });
+  }
+
+  @Override
+  public void onActivityDeleted(Long activityId) {
+    afterCompletion(committed -> {
+      if (committed) {
+        seatCounter.evict(activityId);
+        pendingDeltas.remove(activityId);
+      }
+    });
+  }
+
+  @Override
+  @PreDestroy
+  @Scheduled(fixedDelayString = "${activity.seats.flush-interval-ms:1000}")
+  public void flush() {
+    for (Long activityId : pendingDeltas.keySet()) {
+      // Removing takes the sum atomically; changes committed meanwhile start a new entry
+      Integer delta = pendingDeltas.remove(activityId);
+      if (delta == null || delta == 0) {
+        continue;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(status -> applyDelta(activityId, delta));
+      } catch (RuntimeException e) {
+        log.warn("Failed to update participant count of activity {}, retrying", activityId, e);
+        addPendingDelta(activityId, delta);
+      }
+    }
+  }
+
+  @Override
+  @Scheduled(fixedDelayString = "${activity.seats.reconcile-interval-ms:600000}")
+  public void reconcile() {
+    for (Long activityId : activityRepository.findCapacityLimitedIdsEndingAfter(Instant.now())) {
+      if (seatCounter.generationOf(activityId) == null) {
+        continue;
+      }
+      try {
+        reseed(activityId);
+      } catch (RuntimeException e) {
+        log.warn("Failed to reconcile the seat counter of activity {}", activityId, e);
+      }
+    }
+  }
+
+  // Runs in its own transaction so the exclusive lock is released as soon as the counter is loaded
+  private void reseed(Long activityId) {
+    reseedTemplate.executeWithoutResult(status -> {
+      Integer capacity = activityRepository.lockCapacityLimit(activityId);
+      if (capacity == null) {
+        seatCounter.evict(activityId);
+        return;
+      }
+      // First consistent read of the transaction, so it sees every seat committed before the lock
+      seatCounter.reseed(activityId,
+          capacity - participationDetailRepository.countSeatsTaken(activityId, SEATED_STATUSES));
+    });
+  }
+
+  private void applyDelta(Long activityId, int delta) {
+    EActivity activity = activityRepository.findById(activityId).orElse(null);
+    if (activity == null) {
+      return;
+    }
+    ActivitySnapshot before = ActivitySnapshot.of(activity);
+    // Relative update, so concurrent flushes from other instances add up; detaches the entity
+    activityRepository.adjustCurrentParticipants(activityId, delta);
+
+    int participants = before.currentParticipants() != null ? before.currentParticipants() : 0;
+    activity.setCurrentParticipants(participants + delta);
+    categoryBenchmarkService.onActivityChanged(before, activity);
+  }
+
+  private void addPendingDelta(Long activityId, int delta) {
+    pendingDeltas.merge(activityId, delta, Integer::sum);
+  }
+
+  private static void afterCompletion(Consumer<Boolean> callback) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      callback.accept(true);
+      return;
+    }
+    // Commits are handled in afterCommit so they run in registration order with
+    // other afterCommit callbacks, e.g. a waitlist promotion that needs the seat
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        callback.accept(true);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        if (status == STATUS_ROLLED_BACK) {
+          callback.accept(false);
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,242 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Redis implementation of {@link StatisticsCacheService}.
+ * <p>
+ * Every scope (global, one organization, one student) has a generation counter
+ * that is part of its entry keys. Invalidating a scope is a single INCR: old
+ * entries become unreachable and expire on their own, so no key scan is ever
+ * needed. Misses are collapsed locally per key and guarded across instances by
+ * a short-lived Redis lock, so an expired dashboard entry is recomputed once
+ * rather than once per polling client. Redis failures fall back to the loader.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatisticsCacheServiceImpl implements StatisticsCacheService {
+
+  private static final String KEY_PREFIX = "statistics:";
+  private static final String GENERATION_PREFIX = "statistics:generation:";
+  private static final String LOCK_SUFFIX = ":lock";
+  private static final long LOCK_POLL_INTERVAL_MS = 50;
+
+  // Deletes the lock only if this instance still owns it
+  private static final DefaultRedisScript<Long> RELEASE_LOCK_SCRIPT = new DefaultRedisScript<>(
+      "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+      Long.class);
+
+  private final StringRedisTemplate stringRedisTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Value("${cache.statistics.ttl:600s}")
+  private Duration ttl;
+
+  @Value("${cache.statistics.lock-timeout:10s}")
+  private Duration lockTimeout;
+
+  @Value("${cache.statistics.lock-wait:2s}")
+  private Duration lockWait;
+
+  private final Map<String, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+
+  @Override
+  public <T> T getOrLoad(CacheKey key, Class<T> type, Supplier<T> loader) {
+    return load(key, objectMapper.getTypeFactory().constructType(type), loader);
+  }
+
+  @Override
+  public <T> List<T> getOrLoadList(CacheKey key, Class<T> elementType, Supplier<List<T>> loader) {
+    return load(key, objectMapper.getTypeFactory().constructCollectionType(List.class, elementType), loader);
+  }
+
+  @Override
+  public void invalidate(Scope scope, Long scopeId) {
+    try {
+      stringRedisTemplate.opsForValue().increment(GENERATION_PREFIX + scopeToken(scope, scopeId));
+    } catch (DataAccessException e) {
+      log.warn("Failed to invalidate statistics cache scope {}:{}", scope, scopeId, e);
+    }
+  }
+
+  /**
+   * Invalidates every scope touched by a committed write. Any change affects
+   * the global dashboards; organization and student scopes are only bumped
+   * when the event names them.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onActivityDataChanged(ActivityDataChangedEvent event) {
+    invalidate(Scope.GLOBAL, null);
+    if (event.organizationId() != null) {
+      invalidate(Scope.ORGANIZATION, event.organizationId());
+    }
+    if (event.studentId() != null) {
+      invalidate(Scope.STUDENT, event.studentId());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T load(CacheKey key, JavaType type, Supplier<T> loader) {
+    String redisKey;
+    try {
+      redisKey = resolveRedisKey(key);
+      T cached = read(stringRedisTemplate.opsForValue().get(redisKey), type);
+      if (cached != null) {
+        return cached;
+      }
+    } catch (DataAccessException e) {
+      log.warn("Statistics cache unavailable, computing {} directly", key.endpoint(), e);
+      return loader.get();
+    }
+
+    // Collapse concurrent misses on this instance into one load
+    CompletableFuture<Object> load = new CompletableFuture<>();
+    CompletableFuture<Object> existing = inFlightLoads.putIfAbsent(redisKey, load);
+    if (existing != null) {
+      return (T) await(existing);
+    }
+
+    try {
+      T value = loadWithLock(redisKey, type, loader);
+      load.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlightLoads.remove(redisKey, load);
+    }
+  }
+
+  private <T> T loadWithLock(String redisKey, JavaType type, Supplier<T> loader) {
+    String lockKey = redisKey + LOCK_SUFFIX;
+    String lockToken = UUID.randomUUID().toString();
+    boolean locked = tryLock(lockKey, lockToken);
+
+    if (!locked) {
+      // Another instance is computing this entry; give it a moment to publish
+      T published = awaitPublished(redisKey, type);
+      if (published != null) {
+        return published;
+      }
+    }
+
+    try {
+      T value = loader.get();
+      write(redisKey, value);
+      return value;
+    } finally {
+      if (locked) {
+        releaseLock(lockKey, lockToken);
+      }
+    }
+  }
+
+  private boolean tryLock(String lockKey, String lockToken) {
+    try {
+      return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, lockToken, lockTimeout));
+    } catch (DataAccessException e) {
+      log.debug("Could not acquire statistics cache lock {}", lockKey, e);
+      return false;
+    }
+  }
+
+  private void releaseLock(String lockKey, String lockToken) {
+    try {
+      stringRedisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), lockToken);
+    } catch (DataAccessException e) {
+      log.debug("Could not release statistics cache lock {}", lockKey, e);
+    }
+  }
+
+  private <T> T awaitPublished(String redisKey, JavaType type) {
+    long deadline = System.nanoTime() + lockWait.toNanos();
+    try {
+      while (System.nanoTime() < deadline) {
+        Thread.sleep(LOCK_POLL_INTERVAL_MS);
+        T cached = read(stringRedisTemplate.opsForValue().get(redisKey), type);
+        if (cached != null) {
+          return cached;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (DataAccessException e) {
+      log.debug("Statistics cache poll failed for {}", redisKey, e);
+    }
+    return null;
+  }
+
+  private Object await(CompletableFuture<Object> load) {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private String resolveRedisKey(CacheKey key) {
+    String scopeToken = scopeToken(key.scope(), key.scopeId());
+    String generation = stringRedisTemplate.opsForValue().get(GENERATION_PREFIX + scopeToken);
+    return KEY_PREFIX + scopeToken + ":" + (generation != null ? generation : "0") + ":"
+        + key.endpoint() + ":" + key.parameters();
+  }
+
+  private static String scopeToken(Scope scope, Long scopeId) {
+    return scope == Scope.GLOBAL ? "global" : scope.name().toLowerCase() + ":" + scopeId;
+  }
+
+  private <T> T read(String json, JavaType type) {
+    if (json == null) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      log.warn("Discarding unreadable statistics cache entry of type {}", type, e);
+      return null;
+    }
+  }
+
+  private void write(String redisKey, Object value) {
+    if (value == null) {
+      return;
+    }
+    try {
+      // Spread expiries so entries written together do not all expire together
+      long jitterMs = ThreadLocalRandom.current().nextLong(Math.max(1, ttl.toMillis() / 10));
+      stringRedisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(value),
+          ttl.plusMillis(jitterMs));
+    } catch (JsonProcessingException | DataAccessException e) {
+      log.warn("Failed to cache statistics entry {}", redisKey, e);
+    }
+  }
+}
@@ -6,7 +6,6 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
@@ -18,9 +17,14 @@ import com.winnguyen1905.activity.common.constant.TimePeriod;
 import com.winnguyen1905.activity.model.dto.StatisticsFilterDto;
 import com.winnguyen1905.activity.model.viewmodel.KeywordCountVm;
 import com.winnguyen1905.activity.model.viewmodel.StatisticsVm;
+import com.winnguyen1905.activity.persistance.repository.ActivityDashboardRepository.DashboardTotals;
 import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
 import com.winnguyen1905.activity.persistance.repository.FeedbackRepository;
+import com.winnguyen1905.activity.rest.service.FeedbackKeywordService;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService.CacheKey;
 import com.winnguyen1905.activity.rest.service.StatisticsService;
+import com.winnguyen1905.activity.utils.KeywordTokenizer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,24 +42,20 @@ public class StatisticsServiceImpl implements StatisticsService {
 
   private final ActivityRepository activityRepository;
   private final FeedbackRepository feedbackRepository;
+  private final StatisticsCacheService statisticsCacheService;
+  private final FeedbackKeywordService feedbackKeywordService;
 
   // Configuration constants
   private static final int MAX_KEYWORDS = 10;
-  private static final int MIN_KEYWORD_LENGTH = 3;
   private static final int DEFAULT_PERIOD_DAYS = 30;
 
-  // Common words to exclude from keyword analysis
-  private static final Set<String> COMMON_WORDS = Set.of(
-      "this", "that", "these", "those", "with", "from", "have", "has", "had",
-      "what", "when", "where", "which", "who", "whom", "whose", "why", "how",
-      "there", "here", "were", "their", "they", "them", "then", "than",
-      "your", "you", "our", "ours", "about", "would", "could", "should",
-      "will", "shall", "may", "might", "must", "can", "such", "like", "just",
-      "and", "but", "for", "not", "the", "are", "was", "been", "very", "more"
-  );
-
   @Override
   public StatisticsVm getActivityStatistics(TAccountRequest accountRequest) {
+    return statisticsCacheService.getOrLoad(CacheKey.global("statistics.overview"), StatisticsVm.class,
+        () -> computeActivityStatistics(accountRequest));
+  }
+
+  private StatisticsVm computeActivityStatistics(TAccountRequest accountRequest) {
     log.debug("Generating activity statistics for account: {}", accountRequest.getId());
     
     Instant[] dateRanges = calculateCommonDateRanges();
@@ -69,7 +69,7 @@ public class StatisticsServiceImpl implements StatisticsService {
         .activitiesLastMonth(getActivitiesInPeriod(oneMonthAgo, now))
         .activitiesLastWeek(getActivitiesInPeriod(oneWeekAgo, now))
         .averageRating(getAverageRating())
-        .activitiesByCategory(getActivitiesByCategory(null, null))
+        .activitiesByCategory(getActivitiesByCategory())
         .totalReviews(getTotalReviews())
         .averageScoreByActivity(getAverageScoreByActivity())
         .topKeywords(extractTopKeywords())
@@ -78,18 +78,28 @@ public class StatisticsServiceImpl implements StatisticsService {
 
   @Override
   public StatisticsVm getFilteredActivityStatistics(TAccountRequest accountRequest, StatisticsFilterDto filterDto) {
+    return statisticsCacheService.getOrLoad(CacheKey.global("statistics.filtered", filterDto), StatisticsVm.class,
+        () -> computeFilteredActivityStatistics(filterDto));
+  }
+
+  private StatisticsVm computeFilteredActivityStatistics(StatisticsFilterDto filterDto) {
     log.debug("Generating filtered activity statistics with filter: {}", filterDto);
     
     DateRange dateRange = calculateDateRange(filterDto);
+    DashboardTotals totals = activityRepository.getDashboardTotals(
+        dateRange.start(), dateRange.end(), filterDto.getActivityType(), filterDto.getStatus());
+
+    Map<String, Long> activitiesByCategory = new HashMap<>();
+    totals.activitiesByCategory().forEach((category, count) -> activitiesByCategory.put(category.name(), count));
     
     return StatisticsVm.builder()
-        .totalActivities(getFilteredActivitiesCount(filterDto, dateRange))
-        .totalParticipants(getFilteredParticipantsCount(filterDto, dateRange))
-        .activitiesLastMonth(getActivitiesInPeriod(dateRange.start().minus(30, ChronoUnit.DAYS), dateRange.end()))
-        .activitiesLastWeek(getActivitiesInPeriod(dateRange.start().minus(7, ChronoUnit.DAYS), dateRange.end()))
-        .averageRating(getFilteredAverageRating(filterDto, dateRange))
-        .activitiesByCategory(getActivitiesByCategory(dateRange.start(), dateRange.end()))
-        .totalReviews(getFilteredTotalReviews(filterDto, dateRange))
+        .totalActivities(totals.activityCount())
+        .totalParticipants(totals.participantCount())
+        .activitiesLastMonth(totals.activitiesLastMonth())
+        .activitiesLastWeek(totals.activitiesLastWeek())
+        .averageRating(totals.averageRating())
+        .activitiesByCategory(activitiesByCategory)
+        .totalReviews(totals.reviewCount())
         .averageScoreByActivity(getAverageScoreByActivity()) // Not filtered in current implementation
         .topKeywords(getFilteredTopKeywords(filterDto, dateRange))
         .build();
@@ -189,7 +199,7 @@ public class StatisticsServiceImpl implements StatisticsService {
   /**
    * Gets activities grouped by category with proper initialization.
    */
-  private Map<String, Long> getActivitiesByCategory(Instant startDate, Instant endDate) {
+  private Map<String, Long> getActivitiesByCategory() {
     Map<String, Long> activitiesByCategory = new HashMap<>();
     
     // Initialize all categories with zero count
@@ -197,9 +207,7 @@ public class StatisticsServiceImpl implements StatisticsService {
         .forEach(category -> activitiesByCategory.put(category.name(), 0L));
     
     // Get actual counts
-    List<Object[]> categoryResults = (startDate != null && endDate != null) 
-        ? activityRepository.countActivitiesByCategoryInTimeRange(startDate, endDate)
-        : activityRepository.countActivitiesByCategory();
+    List<Object[]> categoryResults = activityRepository.countActivitiesByCategory();
     
     // Update with actual values
     categoryResults.forEach(result -> {
@@ -229,130 +237,31 @@ public class StatisticsServiceImpl implements StatisticsService {
   }
 
   /**
-   * Extracts top keywords from all feedback descriptions.
+   * Gets top keywords across all feedback from the keyword index.
    */
   private List<KeywordCountVm> extractTopKeywords() {
-    List<String> feedbackDescriptions = feedbackRepository.getAllFeedbackDescriptions();
-    return processKeywords(feedbackDescriptions);
-  }
-
-  /**
-   * Gets filtered activities count based on filter criteria.
-   */
-  private Long getFilteredActivitiesCount(StatisticsFilterDto filterDto, DateRange dateRange) {
-    if (hasActivityTypeAndStatus(filterDto)) {
-      return activityRepository.countActivitiesByTimeAndCategoryAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType(), filterDto.getStatus());
-    }
-    
-    if (filterDto.getActivityType() != null) {
-      return activityRepository.countActivitiesByTimeAndCategory(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType());
-    }
-    
-    if (filterDto.getStatus() != null) {
-      return activityRepository.countActivitiesByTimeAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getStatus());
-    }
-    
-    return getActivitiesInPeriod(dateRange.start(), dateRange.end());
-  }
-
-  /**
-   * Gets filtered participants count based on filter criteria.
-   */
-  private Long getFilteredParticipantsCount(StatisticsFilterDto filterDto, DateRange dateRange) {
-    Long count = null;
-    
-    if (hasActivityTypeAndStatus(filterDto)) {
-      count = activityRepository.countParticipantsByTimeAndCategoryAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType(), filterDto.getStatus());
-    } else if (filterDto.getActivityType() != null) {
-      count = activityRepository.countParticipantsByTimeAndCategory(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType());
-    } else if (filterDto.getStatus() != null) {
-      count = activityRepository.countParticipantsByTimeAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getStatus());
-    } else {
-      count = activityRepository.countParticipantsInTimeRange(dateRange.start(), dateRange.end());
-    }
-    
-    return count != null ? count : 0L;
-  }
-
-  /**
-   * Gets filtered average rating based on filter criteria.
-   */
-  private Double getFilteredAverageRating(StatisticsFilterDto filterDto, DateRange dateRange) {
-    Double rating = null;
-    
-    if (hasActivityTypeAndStatus(filterDto)) {
-      rating = feedbackRepository.getAverageRatingByTimeAndCategoryAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType(), filterDto.getStatus());
-    } else if (filterDto.getActivityType() != null) {
-      rating = feedbackRepository.getAverageRatingByTimeAndCategory(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType());
-    } else if (filterDto.getStatus() != null) {
-      rating = feedbackRepository.getAverageRatingByTimeAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getStatus());
-    } else {
-      rating = feedbackRepository.getAverageRatingInTimeRange(dateRange.start(), dateRange.end());
-    }
-    
-    return rating != null ? rating : 0.0;
-  }
-
-  /**
-   * Gets filtered total reviews count based on filter criteria.
-   */
-  private Long getFilteredTotalReviews(StatisticsFilterDto filterDto, DateRange dateRange) {
-    Long count = null;
-    
-    if (hasActivityTypeAndStatus(filterDto)) {
-      count = feedbackRepository.countReviewsByTimeAndCategoryAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType(), filterDto.getStatus());
-    } else if (filterDto.getActivityType() != null) {
-      count = feedbackRepository.countReviewsByTimeAndCategory(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType());
-    } else if (filterDto.getStatus() != null) {
-      count = feedbackRepository.countReviewsByTimeAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getStatus());
-    } else {
-      count = feedbackRepository.countReviewsInTimeRange(dateRange.start(), dateRange.end());
-    }
-    
-    return count != null ? count : 0L;
+    return feedbackKeywordService.getTopKeywords(null, null, null, null, MAX_KEYWORDS);
   }
 
   /**
    * Gets filtered top keywords based on filter criteria.
    */
   private List<KeywordCountVm> getFilteredTopKeywords(StatisticsFilterDto filterDto, DateRange dateRange) {
-    List<String> descriptions = null;
-    
-    if (hasActivityTypeAndStatus(filterDto)) {
-      descriptions = feedbackRepository.getFeedbackDescriptionsByTimeAndCategoryAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType(), filterDto.getStatus());
-    } else if (filterDto.getActivityType() != null) {
-      descriptions = feedbackRepository.getFeedbackDescriptionsByTimeAndCategory(
-          dateRange.start(), dateRange.end(), filterDto.getActivityType());
-    } else if (filterDto.getStatus() != null) {
-      descriptions = feedbackRepository.getFeedbackDescriptionsByTimeAndStatus(
-          dateRange.start(), dateRange.end(), filterDto.getStatus());
-    } else {
-      descriptions = feedbackRepository.getFeedbackDescriptionsInTimeRange(dateRange.start(), dateRange.end());
+    // The index is not partitioned by status, so status filters still scan descriptions
+    if (filterDto.getStatus() == null) {
+      return feedbackKeywordService.getTopKeywords(
+          null, filterDto.getActivityType(), dateRange.start(), dateRange.end(), MAX_KEYWORDS);
     }
+
+    List<String> descriptions = filterDto.getActivityType() != null
+        ? feedbackRepository.getFeedbackDescriptionsByTimeAndCategoryAndStatus(
+            dateRange.start(), dateRange.end(), filterDto.getActivityType(), filterDto.getStatus())
+        : feedbackRepository.getFeedbackDescriptionsByTimeAndStatus(
+            dateRange.start(), dateRange.end(), filterDto.getStatus());
     
     return processKeywords(descriptions);
   }
 
-  /**
-   * Checks if filter has both activity type and status criteria.
-   */
-  private boolean hasActivityTypeAndStatus(StatisticsFilterDto filterDto) {
-    return filterDto.getActivityType() != null && filterDto.getStatus() != null;
-  }
-
   /**
    * Processes feedback descriptions to extract and rank keywords.
    * 
@@ -366,9 +275,8 @@ public class StatisticsServiceImpl implements StatisticsService {
 
     Map<String, Long> wordFrequency = new HashMap<>();
     
-    feedbackDescriptions.stream()
-        .filter(description -> description != null && !description.trim().isEmpty())
-        .forEach(description -> extractWordsFromDescription(description, wordFrequency));
+    feedbackDescriptions.forEach(description -> KeywordTokenizer.countKeywords(description)
+        .forEach((word, count) -> wordFrequency.merge(word, (long) count, Long::sum)));
 
     return wordFrequency.entrySet().stream()
         .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
@@ -380,21 +288,6 @@ public class StatisticsServiceImpl implements StatisticsService {
         .collect(Collectors.toList());
   }
 
-  /**
-   * Extracts words from a single feedback description and updates frequency map.
-   * 
-   * @param description The feedback description text
-   * @param wordFrequency The frequency map to update
-   */
-  private void extractWordsFromDescription(String description, Map<String, Long> wordFrequency) {
-    String[] words = description.toLowerCase().split("\\W+");
-    
-    Arrays.stream(words)
-        .filter(word -> word.length() > MIN_KEYWORD_LENGTH)
-        .filter(word -> !COMMON_WORDS.contains(word))
-        .forEach(word -> wordFrequency.merge(word, 1L, Long::sum));
-  }
-
   /**
    * Record class for holding date range information.
    */
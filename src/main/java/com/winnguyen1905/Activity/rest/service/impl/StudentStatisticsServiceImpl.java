@@ -24,6 +24,8 @@ import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepo
 import com.winnguyen1905.activity.model.viewmodel.ParticipationSummaryVm;
 import com.winnguyen1905.activity.model.viewmodel.StudentStatisticsVm;
 import com.winnguyen1905.activity.rest.service.AuthorizationService;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService;
+import com.winnguyen1905.activity.rest.service.StatisticsCacheService.CacheKey;
 import com.winnguyen1905.activity.rest.service.StudentStatisticsService;
 
 import lombok.RequiredArgsConstructor;
@@ -43,6 +45,7 @@ public class StudentStatisticsServiceImpl implements StudentStatisticsService {
     private final ParticipationDetailRepository participationDetailRepository;
     private final AccountRepository accountRepository;
     private final AuthorizationService authorizationService;
+    private final StatisticsCacheService statisticsCacheService;
 
     // Configuration constants
     private static final int RECENT_ACTIVITIES_LIMIT = 5;
@@ -74,6 +77,12 @@ public class StudentStatisticsServiceImpl implements StudentStatisticsService {
      * @throws ResourceNotFoundException if the student is not found
      */
     private StudentStatisticsVm getStudentStatisticsById(Long studentId) {
+        // Callers have already passed their authorization checks
+        return statisticsCacheService.getOrLoad(CacheKey.student(studentId, "student.overview"),
+            StudentStatisticsVm.class, () -> computeStudentStatistics(studentId));
+    }
+
+    private StudentStatisticsVm computeStudentStatistics(Long studentId) {
         log.debug("Generating statistics for student ID: {}", studentId);
         
         EAccountCredentials student = validateAndGetStudent(studentId);
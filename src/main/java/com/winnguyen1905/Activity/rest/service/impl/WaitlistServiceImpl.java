@@ -0,0 +1,241 @@
+package com.winnguyen1905.activity.rest.service.impl;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.activity.common.constant.ParticipationStatus;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.entity.EParticipationDetail;
+import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
+import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
+import com.winnguyen1905.activity.rest.service.SeatReservationService;
+import com.winnguyen1905.activity.rest.service.WaitlistService;
+import com.winnguyen1905.activity.websocket.SocketIoGateway;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps each activity's waitlist as an ordered in-memory set over its
+ * {@code WAITLISTED} rows, loaded on first use. Taking the head is O(log n)
+ * and reading the length O(1).
+ * <p>
+ * A promotion takes a seat from {@link SeatReservationService} and moves the
+ * head row from {@code WAITLISTED} to {@code UNVERIFIED} with a conditional
+ * update in one transaction. Rows deleted or admitted elsewhere fail the
+ * condition, give the seat back and are skipped. When the in-memory queue runs
+ * dry it is reloaded once from the rows, which also picks up entries queued by
+ * other instances.
+ */
+@Slf4j
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+
+  private final ParticipationDetailRepository participationDetailRepository;
+  private final ActivityRepository activityRepository;
+  private final SeatReservationService seatReservationService;
+  private final SocketIoGateway socketIoGateway;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Map<Long, WaitlistQueue> queues = new ConcurrentHashMap<>();
+
+  public WaitlistServiceImpl(ParticipationDetailRepository participationDetailRepository,
+      ActivityRepository activityRepository, SeatReservationService seatReservationService,
+      SocketIoGateway socketIoGateway, ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager) {
+    this.participationDetailRepository = participationDetailRepository;
+    this.activityRepository = activityRepository;
+    this.seatReservationService = seatReservationService;
+    this.socketIoGateway = socketIoGateway;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // Promotions run after the releasing transaction committed, so they need their own
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Registration order, with the participation id breaking ties
+   */
+  private record QueueEntry(Instant registeredAt, Long participationId) implements Comparable<QueueEntry> {
+
+    private static final Comparator<QueueEntry> ORDER = Comparator
+        .comparing(QueueEntry::registeredAt, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(QueueEntry::participationId);
+
+    static QueueEntry of(EParticipationDetail participation) {
+      return new QueueEntry(participation.getRegisteredAt(), participation.getId());
+    }
+
+    @Override
+    public int compareTo(QueueEntry other) {
+      return ORDER.compare(this, other);
+    }
+  }
+
+  /**
+   * Ordered entries with a separately tracked size, since
+   * {@link ConcurrentSkipListSet#size()} walks the whole set
+   */
+  private static final class WaitlistQueue {
+
+    private final ConcurrentSkipListSet<QueueEntry> entries = new ConcurrentSkipListSet<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    void add(QueueEntry entry) {
+      if (entries.add(entry)) {
+        size.incrementAndGet();
+      }
+    }
+
+    void remove(QueueEntry entry) {
+      if (entries.remove(entry)) {
+        size.decrementAndGet();
+      }
+    }
+
+    QueueEntry pollFirst() {
+      QueueEntry head = entries.pollFirst();
+      if (head != null) {
+        size.decrementAndGet();
+      }
+      return head;
+    }
+
+    int size() {
+      return size.get();
+    }
+  }
+
+  private enum ClaimResult {
+    PROMOTED,
+    NO_SEAT,
+    STALE
+  }
+
+  @Override
+  public int enqueue(EParticipationDetail participation) {
+    Long activityId = participation.getActivity().getId();
+    QueueEntry entry = QueueEntry.of(participation);
+    // New registrations sort last, so the current length stands in for the position.
+    // A cold queue is not loaded here, since this transaction sees its own uncommitted row
+    WaitlistQueue queue = queues.get(activityId);
+    long ahead = queue != null ? queue.size()
+        : participationDetailRepository.countByActivityIdAndStatusExcluding(activityId,
+            ParticipationStatus.WAITLISTED, participation.getId());
+
+    afterCommit(() -> queueOf(activityId).add(entry));
+    return (int) ahead + 1;
+  }
+
+  @Override
+  public void remove(EParticipationDetail participation) {
+    Long activityId = participation.getActivity().getId();
+    QueueEntry entry = QueueEntry.of(participation);
+    afterCommit(() -> {
+      WaitlistQueue queue = queues.get(activityId);
+      if (queue != null) {
+        queue.remove(entry);
+      }
+    });
+  }
+
+  @Override
+  public void promoteAfterCommit(Long activityId) {
+    afterCommit(() -> {
+      try {
+        promote(activityId);
+      } catch (RuntimeException e) {
+        log.error("Failed to promote waitlist of activity {}", activityId, e);
+      }
+    });
+  }
+
+  private void promote(Long activityId) {
+    EActivity activity = activityRepository.findById(activityId).orElse(null);
+    if (activity == null) {
+      queues.remove(activityId);
+      return;
+    }
+
+    boolean reloaded = false;
+    while (true) {
+      WaitlistQueue queue = queueOf(activityId);
+      QueueEntry head = queue.pollFirst();
+      if (head == null) {
+        if (reloaded) {
+          return;
+        }
+        // Pick up rows queued by other instances before concluding the waitlist is empty
+        queues.remove(activityId, queue);
+        reloaded = true;
+        continue;
+      }
+
+      ClaimResult result = transactionTemplate.execute(status -> claim(activity, head, status));
+      if (result == ClaimResult.NO_SEAT) {
+        queue.add(head);
+        return;
+      }
+    }
+  }
+
+  private ClaimResult claim(EActivity activity, QueueEntry head, TransactionStatus status) {
+    if (!seatReservationService.tryReserve(activity)) {
+      return ClaimResult.NO_SEAT;
+    }
+
+    int updated = participationDetailRepository.updateStatusIfCurrent(head.participationId(),
+        ParticipationStatus.WAITLISTED, ParticipationStatus.UNVERIFIED);
+    if (updated == 0) {
+      // Deleted or admitted since it was queued; rolling back returns the seat
+      status.setRollbackOnly();
+      return ClaimResult.STALE;
+    }
+
+    EParticipationDetail promoted = participationDetailRepository.findById(head.participationId()).orElseThrow();
+    eventPublisher.publishEvent(ActivityDataChangedEvent.ofParticipation(promoted));
+    Long participantId = promoted.getParticipant().getId();
+    afterCommit(() -> socketIoGateway.notifyWaitlistPromotion(activity, participantId));
+
+    log.info("Promoted participation {} of activity {} from the waitlist", head.participationId(),
+        activity.getId());
+    return ClaimResult.PROMOTED;
+  }
+
+  private WaitlistQueue queueOf(Long activityId) {
+    return queues.computeIfAbsent(activityId, id -> {
+      WaitlistQueue queue = new WaitlistQueue();
+      for (Object[] row : participationDetailRepository.findQueueEntries(id, ParticipationStatus.WAITLISTED)) {
+        queue.add(new QueueEntry((Instant) row[1], (Long) row[0]));
+      }
+      return queue;
+    });
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,349 @@
+package com.winnguyen1905.activity.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.activity.common.constant.ActivityStatus;
+import com.winnguyen1905.activity.common.constant.NotificationType;
+import com.winnguyen1905.activity.common.constant.ScheduleStatus;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent;
+import com.winnguyen1905.activity.persistance.entity.EActivity;
+import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
+import com.winnguyen1905.activity.persistance.repository.ActivityScheduleRepository;
+import com.winnguyen1905.activity.rest.service.ReminderFanoutService;
+import com.winnguyen1905.activity.rest.service.ReminderFanoutService.Reminder;
+import com.winnguyen1905.activity.scheduling.SideEffectExecutor.Overflow;
+import com.winnguyen1905.activity.utils.EmailTemplateUtil;
+import com.winnguyen1905.activity.websocket.SocketIoGateway;
+import com.winnguyen1905.activity.websocket.dto.SocketNotificationDto;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves activities through their lifecycle at the moment each transition is
+ * due, instead of polling the database for them.
+ * <p>
+ * Upcoming transitions (registration deadline, start, end) are held in a
+ * {@link DelayQueue}. A single dispatcher thread sleeps until the earliest one
+ * is due, drains everything due at that moment and applies it as one locked
+ * bulk {@code UPDATE} per transition type, then notifies participants.
+ * <p>
+ * Only transitions due within {@code activity.lifecycle.horizon} are held in
+ * memory; the window is reloaded at startup and every
+ * {@code activity.lifecycle.refill-interval-ms}. Activity writes publish
+ * {@link ActivityDataChangedEvent}, which re-reads that activity's dates, so
+ * changed dates and approvals take effect immediately. Every transition
+ * re-checks status and dates under a row lock, so stale queue entries and
+ * other instances firing the same transition are harmless.
+ */
+@Slf4j
+@Component
+public class ActivityLifecycleScheduler {
+
+  // Statuses that still have a transition ahead of them
+  private static final List<ActivityStatus> OPEN_STATUSES = List.of(ActivityStatus.PENDING,
+      ActivityStatus.PUBLISHED, ActivityStatus.IN_PROGRESS);
+
+  // Share of capacity a pending activity needs at its registration deadline to be published
+  private static final double MINIMUM_FILL_RATIO = 0.3;
+
+  private final ActivityRepository activityRepository;
+  private final ActivityScheduleRepository activityScheduleRepository;
+  private final ReminderFanoutService reminderFanoutService;
+  private final SocketIoGateway socketIoGateway;
+  private final SideEffectExecutor sideEffectExecutor;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${activity.lifecycle.horizon:2h}")
+  private Duration horizon;
+
+  private final DelayQueue<Transition> queue = new DelayQueue<>();
+  // Due time of every queued transition; entries whose due time no longer matches are stale
+  private final Map<TransitionKey, Instant> queued = new ConcurrentHashMap<>();
+  private volatile Thread dispatcher;
+
+  public ActivityLifecycleScheduler(ActivityRepository activityRepository,
+      ActivityScheduleRepository activityScheduleRepository, ReminderFanoutService reminderFanoutService,
+      SocketIoGateway socketIoGateway, SideEffectExecutor sideEffectExecutor,
+      ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+    this.activityRepository = activityRepository;
+    this.activityScheduleRepository = activityScheduleRepository;
+    this.reminderFanoutService = reminderFanoutService;
+    this.socketIoGateway = socketIoGateway;
+    this.sideEffectExecutor = sideEffectExecutor;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Types in the order they are applied when several fall due together, so an
+   * overdue activity can pass through deadline, start and end in one round.
+   */
+  enum TransitionType {
+    REGISTRATION_DEADLINE,
+    START,
+    END
+  }
+
+  record TransitionKey(Long activityId, TransitionType type) {
+  }
+
+  record Transition(TransitionKey key, Instant dueAt) implements Delayed {
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(Duration.between(Instant.now(), dueAt));
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return dueAt.compareTo(((Transition) other).dueAt);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    dispatcher = Thread.ofPlatform().name("activity-lifecycle").daemon().start(this::dispatchLoop);
+    refill();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (dispatcher != null) {
+      dispatcher.interrupt();
+    }
+  }
+
+  /**
+   * Queues every transition due within the horizon, including overdue ones,
+   * which fire immediately.
+   */
+  @Scheduled(initialDelayString = "${activity.lifecycle.refill-interval-ms:3600000}",
+      fixedDelayString = "${activity.lifecycle.refill-interval-ms:3600000}")
+  public void refill() {
+    List<Object[]> rows = activityRepository.findLifecycleDueTimes(OPEN_STATUSES, Instant.now().plus(horizon));
+    rows.forEach(this::track);
+    log.debug("Lifecycle scheduler holds {} transitions after refill", queued.size());
+  }
+
+  /**
+   * Re-reads the dates of a written activity so rescheduled, approved or
+   * deleted activities transition at their new times (or not at all).
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onActivityDataChanged(ActivityDataChangedEvent event) {
+    if (event.changeType() != ActivityDataChangedEvent.ChangeType.ACTIVITY || event.activityId() == null) {
+      return;
+    }
+    List<Object[]> rows = activityRepository.findLifecycleDueTimesById(event.activityId());
+    if (rows.isEmpty()) {
+      for (TransitionType type : TransitionType.values()) {
+        queued.remove(new TransitionKey(event.activityId(), type));
+      }
+      return;
+    }
+    track(rows.get(0));
+  }
+
+  private void track(Object[] row) {
+    Long activityId = (Long) row[0];
+    ActivityStatus status = (ActivityStatus) row[1];
+    Instant startDate = (Instant) row[2];
+    Instant endDate = (Instant) row[3];
+    Instant registrationDeadline = (Instant) row[4];
+
+    boolean pending = status == ActivityStatus.PENDING;
+    boolean notStarted = pending || status == ActivityStatus.PUBLISHED;
+    boolean open = notStarted || status == ActivityStatus.IN_PROGRESS;
+
+    schedule(new TransitionKey(activityId, TransitionType.REGISTRATION_DEADLINE), pending ? registrationDeadline : null);
+    schedule(new TransitionKey(activityId, TransitionType.START), notStarted ? startDate : null);
+    schedule(new TransitionKey(activityId, TransitionType.END), open ? endDate : null);
+  }
+
+  private void schedule(TransitionKey key, Instant dueAt) {
+    if (dueAt == null || dueAt.isAfter(Instant.now().plus(horizon))) {
+      // Beyond the horizon is picked up by a later refill
+      queued.remove(key);
+      return;
+    }
+    Instant previous = queued.put(key, dueAt);
+    if (!dueAt.equals(previous)) {
+      queue.offer(new Transition(key, dueAt));
+    }
+  }
+
+  private void dispatchLoop() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        List<Transition> due = new ArrayList<>();
+        due.add(queue.take());
+        queue.drainTo(due);
+        dispatch(due);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        // Transitions that failed are re-queued by the next refill
+        log.error("Failed to apply activity lifecycle transitions", e);
+      }
+    }
+  }
+
+  private void dispatch(List<Transition> due) {
+    Map<TransitionType, List<Long>> idsByType = new EnumMap<>(TransitionType.class);
+    for (Transition transition : due) {
+      // Skip entries superseded by a reschedule or removed since they were queued
+      if (queued.remove(transition.key(), transition.dueAt())) {
+        idsByType.computeIfAbsent(transition.key().type(), type -> new ArrayList<>())
+            .add(transition.key().activityId());
+      }
+    }
+
+    idsByType.forEach((type, ids) -> {
+      try {
+        announceAll(transactionTemplate.execute(status -> apply(type, ids, Instant.now())));
+      } catch (RuntimeException e) {
+        if (ids.size() == 1) {
+          // Re-queued by the next refill
+          log.error("Failed to apply {} transition of activity {}", type, ids.get(0), e);
+          return;
+        }
+        // One bad activity must not hold back the rest of the batch, so retry them one by one
+        log.warn("Failed to apply {} transitions of {} activities, retrying individually", type, ids.size(), e);
+        for (Long id : ids) {
+          try {
+            announceAll(transactionTemplate.execute(status -> apply(type, List.of(id), Instant.now())));
+          } catch (RuntimeException individual) {
+            log.error("Failed to apply {} transition of activity {}", type, id, individual);
+          }
+        }
+      }
+    });
+  }
+
+  private void announceAll(List<StatusChange> changes) {
+    if (changes != null) {
+      // Announcements must not be lost, so a full queue makes the dispatcher announce itself
+      changes.forEach(change -> sideEffectExecutor.execute("activity.status-announcement",
+          Overflow.CALLER_RUNS, () -> announce(change)));
+    }
+  }
+
+  private List<StatusChange> apply(TransitionType type, List<Long> ids, Instant now) {
+    List<StatusChange> changes = new ArrayList<>();
+    switch (type) {
+      case REGISTRATION_DEADLINE -> {
+        List<Long> published = new ArrayList<>();
+        List<Long> cancelled = new ArrayList<>();
+        for (EActivity activity : activityRepository.lockPastRegistrationDeadline(ids, ActivityStatus.PENDING, now)) {
+          boolean enoughParticipants = hasEnoughParticipants(activity);
+          ActivityStatus newStatus = enoughParticipants ? ActivityStatus.PUBLISHED : ActivityStatus.CANCELLED;
+          (enoughParticipants ? published : cancelled).add(activity.getId());
+          changes.add(new StatusChange(activity, ActivityStatus.PENDING, newStatus));
+        }
+        updateStatus(published, ActivityStatus.PUBLISHED);
+        updateStatus(cancelled, ActivityStatus.CANCELLED);
+      }
+      case START -> {
+        List<EActivity> started = activityRepository.lockDueToStart(ids, ActivityStatus.PUBLISHED, now);
+        started.forEach(activity -> changes.add(
+            new StatusChange(activity, ActivityStatus.PUBLISHED, ActivityStatus.IN_PROGRESS)));
+        updateStatus(started.stream().map(EActivity::getId).toList(), ActivityStatus.IN_PROGRESS);
+      }
+      case END -> {
+        List<EActivity> ended = activityRepository.lockDueToEnd(ids, ActivityStatus.IN_PROGRESS, now);
+        List<Long> endedIds = ended.stream().map(EActivity::getId).toList();
+        ended.forEach(activity -> changes.add(
+            new StatusChange(activity, ActivityStatus.IN_PROGRESS, ActivityStatus.COMPLETED)));
+        updateStatus(endedIds, ActivityStatus.COMPLETED);
+        if (!endedIds.isEmpty()) {
+          activityScheduleRepository.updateStatusForActivities(endedIds, ScheduleStatus.COMPLETED);
+        }
+      }
+    }
+
+    // Invalidates cached statistics and re-queues the follow-up transition after commit
+    changes.forEach(change -> {
+      change.activity().setStatus(change.newStatus());
+      eventPublisher.publishEvent(ActivityDataChangedEvent.ofActivity(change.activity()));
+    });
+    return changes;
+  }
+
+  // Activities without a capacity limit have no fill ratio and always go ahead
+  private static boolean hasEnoughParticipants(EActivity activity) {
+    if (activity.getCapacityLimit() == null) {
+      return true;
+    }
+    int participants = activity.getCurrentParticipants() != null ? activity.getCurrentParticipants() : 0;
+    return participants >= activity.getCapacityLimit() * MINIMUM_FILL_RATIO;
+  }
+
+  private void updateStatus(List<Long> ids, ActivityStatus status) {
+    if (!ids.isEmpty()) {
+      int updated = activityRepository.updateStatus(ids, status);
+      log.info("Moved {} activities to {}", updated, status);
+    }
+  }
+
+  private record StatusChange(EActivity activity, ActivityStatus oldStatus, ActivityStatus newStatus) {
+  }
+
+  private void announce(StatusChange change) {
+    try {
+      notifyStatusChange(change.activity(), change.oldStatus().toString(), change.newStatus().toString());
+      socketIoGateway.broadcastActivityStatusChange(change.activity(), change.oldStatus(), change.newStatus());
+    } catch (RuntimeException e) {
+      log.error("Failed to announce status change of activity {}", change.activity().getId(), e);
+    }
+  }
+
+  /**
+   * Helper method to notify all participants about activity status changes.
+   */
+  private void notifyStatusChange(EActivity activity, String oldStatus, String newStatus) {
+    String message = "Activity '" + activity.getActivityName() + "' status changed from " + oldStatus + " to "
+        + newStatus;
+
+    SocketNotificationDto socketNotification = SocketNotificationDto.builder()
+        .title("Activity Status Change")
+        .message(message)
+        .type(NotificationType.ACTIVITY)
+        .activityId(activity.getId())
+        .timestamp(Instant.now())
+        .activityName(activity.getActivityName())
+        .activityStartDate(activity.getStartDate())
+        .build();
+
+    reminderFanoutService.fanOut(List.of(Reminder.builder()
+        .activity(activity)
+        .title("Activity Status Update: " + activity.getActivityName())
+        .content(message)
+        .emailSubject("Activity Status Update: " + activity.getActivityName())
+        .emailBody(participant -> EmailTemplateUtil.generateActivityStatusChangeBody(activity, participant,
+            oldStatus, newStatus))
+        .socketEvent("activity_status_change")
+        .socketNotification(socketNotification)
+        .build()));
+  }
+}
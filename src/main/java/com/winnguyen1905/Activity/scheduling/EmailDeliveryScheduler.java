@@ -0,0 +1,295 @@
+package com.winnguyen1905.activity.scheduling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.winnguyen1905.activity.common.constant.EmailStatus;
+import com.winnguyen1905.activity.persistance.entity.EOutboundEmail;
+import com.winnguyen1905.activity.persistance.repository.OutboundEmailRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the outbound email queue.
+ * <p>
+ * Each poll claims batches of due emails and hands every batch to a virtual
+ * thread, which sends it with a single {@code JavaMailSender.send(MimeMessage...)}
+ * call so the whole batch shares one SMTP connection. The number of batches in
+ * flight is capped by {@code email.delivery.connections}, and sends are paced to
+ * {@code email.delivery.rate-per-second}. Failed emails are retried with
+ * exponential backoff until {@code email.delivery.max-attempts} is reached.
+ * The scheduler thread itself only runs the claim queries, so slow SMTP never
+ * delays other scheduled jobs.
+ * <p>
+ * Metrics: {@code email.delivery} (counter, tagged {@code result}),
+ * {@code email.delivery.batch} (timer) and {@code email.queue.pending} (gauge).
+ */
+@Slf4j
+@Component
+public class EmailDeliveryScheduler {
+
+  private final OutboundEmailRepository outboundEmailRepository;
+  private final JavaMailSender mailSender;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Counter sentCounter;
+  private final Counter retriedCounter;
+  private final Counter failedCounter;
+  private final Timer batchTimer;
+  private final AtomicLong pendingEmails = new AtomicLong();
+
+  private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+  private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+  @Value("${spring.mail.username}")
+  private String fromEmail;
+
+  @Value("${email.delivery.batch-size:50}")
+  private int batchSize;
+
+  @Value("${email.delivery.max-attempts:5}")
+  private int maxAttempts;
+
+  @Value("${email.delivery.initial-backoff:30s}")
+  private Duration initialBackoff;
+
+  @Value("${email.delivery.max-backoff:1h}")
+  private Duration maxBackoff;
+
+  @Value("${email.delivery.claim-timeout:5m}")
+  private Duration claimTimeout;
+
+  @Value("${email.delivery.retention:7d}")
+  private Duration retention;
+
+  private final Semaphore connections;
+  private final SendPacer pacer;
+
+  public EmailDeliveryScheduler(OutboundEmailRepository outboundEmailRepository, JavaMailSender mailSender,
+      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+      @Value("${email.delivery.connections:4}") int connections,
+      @Value("${email.delivery.rate-per-second:10}") double ratePerSecond) {
+    this.outboundEmailRepository = outboundEmailRepository;
+    this.mailSender = mailSender;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.connections = new Semaphore(Math.max(1, connections));
+    this.pacer = new SendPacer(ratePerSecond);
+
+    this.sentCounter = Counter.builder("email.delivery").tag("result", "sent")
+        .description("Emails delivered").register(meterRegistry);
+    this.retriedCounter = Counter.builder("email.delivery").tag("result", "retried")
+        .description("Failed delivery attempts scheduled for retry").register(meterRegistry);
+    this.failedCounter = Counter.builder("email.delivery").tag("result", "failed")
+        .description("Emails abandoned after the last attempt").register(meterRegistry);
+    this.batchTimer = Timer.builder("email.delivery.batch")
+        .description("Time to send one batch over a single SMTP connection").register(meterRegistry);
+    Gauge.builder("email.queue.pending", pendingEmails, AtomicLong::get)
+        .description("Emails waiting for delivery").register(meterRegistry);
+  }
+
+  /**
+   * Claims due emails and dispatches them while connection slots are free.
+   */
+  @Scheduled(fixedDelayString = "${email.delivery.poll-interval-ms:2000}")
+  public void deliverDueEmails() {
+    Instant now = Instant.now();
+    transactionTemplate.executeWithoutResult(status -> outboundEmailRepository.releaseExpiredClaims(now,
+        EmailStatus.PENDING, EmailStatus.SENDING));
+
+    while (connections.tryAcquire()) {
+      List<EOutboundEmail> batch;
+      try {
+        batch = transactionTemplate.execute(status -> claimBatch(now));
+      } catch (RuntimeException e) {
+        connections.release();
+        throw e;
+      }
+
+      if (batch == null || batch.isEmpty()) {
+        connections.release();
+        break;
+      }
+
+      deliveryExecutor.execute(() -> {
+        try {
+          deliverBatch(batch);
+        } finally {
+          connections.release();
+        }
+      });
+    }
+
+    pendingEmails.set(outboundEmailRepository.countByStatus(EmailStatus.PENDING));
+  }
+
+  /**
+   * Deletes delivered emails past the retention period.
+   * Runs daily at 01:15.
+   */
+  @Scheduled(cron = "0 15 1 * * ?")
+  public void purgeSentEmails() {
+    log.info("Running scheduled task: purgeSentEmails");
+    Instant before = Instant.now().minus(retention);
+    Integer deleted = transactionTemplate.execute(status -> outboundEmailRepository
+        .deleteSentBefore(EmailStatus.SENT, before));
+    log.info("Purged {} sent emails older than {}", deleted, before);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    // In-flight batches are abandoned; their claims expire and they are retried
+    deliveryExecutor.shutdownNow();
+  }
+
+  private List<EOutboundEmail> claimBatch(Instant now) {
+    List<Long> dueIds = outboundEmailRepository.findDueIds(EmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+    if (dueIds.isEmpty()) {
+      return List.of();
+    }
+
+    // A token per batch, so concurrent batches of this instance stay apart
+    String claimToken = instanceId + ":" + UUID.randomUUID();
+    outboundEmailRepository.claim(dueIds, claimToken, now.plus(claimTimeout), EmailStatus.PENDING,
+        EmailStatus.SENDING);
+    return outboundEmailRepository.findByClaimedByAndStatus(claimToken, EmailStatus.SENDING);
+  }
+
+  private void deliverBatch(List<EOutboundEmail> batch) {
+    Map<MimeMessage, EOutboundEmail> messages = new IdentityHashMap<>();
+    Map<EOutboundEmail, String> errors = new IdentityHashMap<>();
+
+    for (EOutboundEmail email : batch) {
+      try {
+        messages.put(toMimeMessage(email), email);
+      } catch (MessagingException | RuntimeException e) {
+        errors.put(email, e.getMessage());
+      }
+    }
+
+    if (!messages.isEmpty()) {
+      try {
+        pacer.acquire(messages.size());
+        batchTimer.record(() -> mailSender.send(messages.keySet().toArray(new MimeMessage[0])));
+      } catch (MailSendException e) {
+        // Only the listed messages failed; the rest of the batch went out
+        e.getFailedMessages().forEach((message, cause) -> {
+          EOutboundEmail email = messages.get(message);
+          if (email != null) {
+            errors.put(email, cause.getMessage());
+          }
+        });
+        if (e.getFailedMessages().isEmpty()) {
+          messages.values().forEach(email -> errors.put(email, e.getMessage()));
+        }
+      } catch (MailException e) {
+        messages.values().forEach(email -> errors.put(email, e.getMessage()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+
+    Instant now = Instant.now();
+    for (EOutboundEmail email : batch) {
+      email.setClaimedBy(null);
+      email.setClaimedUntil(null);
+      if (errors.containsKey(email)) {
+        scheduleRetry(email, errors.get(email), now);
+      } else {
+        email.setStatus(EmailStatus.SENT);
+        email.setSentDate(now);
+        email.setAttempts(email.getAttempts() + 1);
+        sentCounter.increment();
+      }
+    }
+    transactionTemplate.executeWithoutResult(status -> outboundEmailRepository.saveAll(batch));
+
+    if (!errors.isEmpty()) {
+      log.warn("Email batch finished with {} of {} messages failed", errors.size(), batch.size());
+    }
+  }
+
+  private void scheduleRetry(EOutboundEmail email, String error, Instant now) {
+    int attempts = email.getAttempts() + 1;
+    email.setAttempts(attempts);
+    email.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+
+    if (attempts >= maxAttempts) {
+      email.setStatus(EmailStatus.FAILED);
+      failedCounter.increment();
+      log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), attempts,
+          error);
+      return;
+    }
+
+    // 1x, 2x, 4x ... the initial backoff, capped at the maximum
+    long backoffSeconds = initialBackoff.getSeconds() << Math.min(attempts - 1, 20);
+    email.setStatus(EmailStatus.PENDING);
+    email.setNextAttemptAt(now.plus(Math.min(backoffSeconds, maxBackoff.getSeconds()), ChronoUnit.SECONDS));
+    retriedCounter.increment();
+  }
+
+  private MimeMessage toMimeMessage(EOutboundEmail email) throws MessagingException {
+    MimeMessage message = mailSender.createMimeMessage();
+    MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+    helper.setFrom(fromEmail);
+    helper.setTo(email.getRecipient());
+    helper.setSubject(email.getSubject() != null ? email.getSubject() : "");
+    helper.setText(email.getBody() != null ? email.getBody() : "");
+    return message;
+  }
+
+  /**
+   * Spaces sends evenly to a configured rate. Callers reserve time slots and
+   * sleep until theirs starts, which is cheap on virtual threads.
+   */
+  private static final class SendPacer {
+    private final long nanosPerMessage;
+    private final AtomicLong nextFreeSlot = new AtomicLong(System.nanoTime());
+
+    SendPacer(double ratePerSecond) {
+      this.nanosPerMessage = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+    }
+
+    void acquire(int messages) throws InterruptedException {
+      if (nanosPerMessage == 0) {
+        return;
+      }
+      long now = System.nanoTime();
+      long cost = nanosPerMessage * messages;
+      long slot = nextFreeSlot.getAndUpdate(previous -> Math.max(previous, now) + cost);
+      long wait = slot - now;
+      if (wait > 0) {
+        TimeUnit.NANOSECONDS.sleep(wait);
+      }
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.winnguyen1905.activity.scheduling;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs fire-and-forget side effects such as socket pushes and notification
+ * fan-out off the caller's thread.
+ * <p>
+ * Every task gets its own virtual thread, so blocking Redis or JPA calls never
+ * tie up a shared pool. At most {@code side-effects.concurrency} tasks run at
+ * once; the rest wait for a slot. Once {@code side-effects.queue-capacity}
+ * tasks are waiting, new tasks are handled by their {@link Overflow} policy:
+ * best-effort work is dropped, work that must not be lost runs on the caller's
+ * thread, which slows the producer down.
+ * <p>
+ * Metrics: {@code side.effects.queued} and {@code side.effects.active}
+ * (gauges), {@code side.effects.wait} and {@code side.effects.run} (timers,
+ * tagged {@code task}), {@code side.effects.rejected} (counter, tagged
+ * {@code task}) and {@code side.effects.failed} (counter, tagged {@code task}).
+ */
+@Slf4j
+@Component
+public class SideEffectExecutor {
+
+  /**
+   * What to do with a task when the queue is full
+   */
+  public enum Overflow {
+    /**
+     * Drop the task; for best-effort pushes the client can recover from
+     */
+    DROP,
+    /**
+     * Run the task on the submitting thread
+     */
+    CALLER_RUNS
+  }
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore running;
+  private final int queueCapacity;
+  private final AtomicInteger queued = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final MeterRegistry meterRegistry;
+
+  public SideEffectExecutor(MeterRegistry meterRegistry,
+      @Value("${side-effects.concurrency:64}") int concurrency,
+      @Value("${side-effects.queue-capacity:10000}") int queueCapacity) {
+    this.meterRegistry = meterRegistry;
+    this.running = new Semaphore(Math.max(1, concurrency));
+    this.queueCapacity = Math.max(0, queueCapacity);
+
+    Gauge.builder("side.effects.queued", queued, AtomicInteger::get)
+        .description("Side effects waiting for a free slot").register(meterRegistry);
+    Gauge.builder("side.effects.active", active, AtomicInteger::get)
+        .description("Side effects currently running").register(meterRegistry);
+  }
+
+  /**
+   * Runs a task asynchronously.
+   *
+   * @param task Low-cardinality name used to tag the metrics
+   * @param overflow What to do if the queue is full
+   * @param action The work to run
+   */
+  public void execute(String task, Overflow overflow, Runnable action) {
+    if (queued.incrementAndGet() > queueCapacity) {
+      queued.decrementAndGet();
+      reject(task, overflow, action);
+      return;
+    }
+
+    long submittedAt = System.nanoTime();
+    try {
+      executor.execute(() -> run(task, action, submittedAt));
+    } catch (RejectedExecutionException e) {
+      // Shutting down
+      queued.decrementAndGet();
+      reject(task, overflow, action);
+    }
+  }
+
+  private void run(String task, Runnable action, long submittedAt) {
+    boolean acquired = false;
+    try {
+      running.acquire();
+      acquired = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      queued.decrementAndGet();
+    }
+    if (!acquired) {
+      return;
+    }
+
+    long startedAt = System.nanoTime();
+    timer("side.effects.wait", task).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+    active.incrementAndGet();
+    try {
+      action.run();
+    } catch (RuntimeException e) {
+      counter("side.effects.failed", task).increment();
+      log.error("Side effect {} failed", task, e);
+    } finally {
+      active.decrementAndGet();
+      running.release();
+      timer("side.effects.run", task).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private void reject(String task, Overflow overflow, Runnable action) {
+    counter("side.effects.rejected", task).increment();
+    if (overflow == Overflow.CALLER_RUNS) {
+      try {
+        action.run();
+      } catch (RuntimeException e) {
+        counter("side.effects.failed", task).increment();
+        log.error("Side effect {} failed", task, e);
+      }
+    } else {
+      log.warn("Side effect queue is full, dropped {}", task);
+    }
+  }
+
+  // Meter lookups are cached by the registry, so resolving them per task is cheap
+  private Timer timer(String name, String task) {
+    return Timer.builder(name).tag("task", task).register(meterRegistry);
+  }
+
+  private Counter counter(String name, String task) {
+    return Counter.builder(name).tag("task", task).register(meterRegistry);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+        log.warn("{} side effects still pending at shutdown", queued.get() + active.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
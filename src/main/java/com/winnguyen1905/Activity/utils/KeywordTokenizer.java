@@ -0,0 +1,62 @@
+package com.winnguyen1905.activity.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits free text into normalized keywords for feedback keyword analysis.
+ * A keyword is a run of letters or digits, lower-cased, longer than
+ * {@link #MIN_KEYWORD_LENGTH} and at most {@link #MAX_KEYWORD_LENGTH}
+ * characters, and not a common English word.
+ * The text is scanned once by hand, so no regex or intermediate word array is
+ * allocated per description.
+ */
+public final class KeywordTokenizer {
+
+    public static final int MIN_KEYWORD_LENGTH = 3;
+    public static final int MAX_KEYWORD_LENGTH = 64;
+
+    // Common words to exclude from keyword analysis
+    private static final Set<String> COMMON_WORDS = Set.of(
+            "this", "that", "these", "those", "with", "from", "have", "has", "had",
+            "what", "when", "where", "which", "who", "whom", "whose", "why", "how",
+            "there", "here", "were", "their", "they", "them", "then", "than",
+            "your", "you", "our", "ours", "about", "would", "could", "should",
+            "will", "shall", "may", "might", "must", "can", "such", "like", "just",
+            "and", "but", "for", "not", "the", "are", "was", "been", "very", "more");
+
+    private KeywordTokenizer() {
+    }
+
+    /**
+     * Counts the keywords of a text
+     *
+     * @param text The text to tokenize, may be null
+     * @return Occurrences per keyword, empty when the text has none
+     */
+    public static Map<String, Integer> countKeywords(String text) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (text == null || text.isEmpty()) {
+            return counts;
+        }
+
+        StringBuilder word = new StringBuilder(16);
+        int length = text.length();
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+                continue;
+            }
+            if (word.length() > MIN_KEYWORD_LENGTH && word.length() <= MAX_KEYWORD_LENGTH) {
+                String keyword = word.toString();
+                if (!COMMON_WORDS.contains(keyword)) {
+                    counts.merge(keyword, 1, Integer::sum);
+                }
+            }
+            word.setLength(0);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,148 @@
+package com.winnguyen1905.activity.utils;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import com.winnguyen1905.activity.exception.BadRequestException;
+import com.winnguyen1905.activity.model.viewmodel.PagedResponse;
+
+/**
+ * Converts keyset scroll positions to opaque continuation tokens and back.
+ * <p>
+ * A token holds the sort key values of the last row of a page, tagged with
+ * their type, so the next page is read with a range predicate on an index
+ * instead of skipping the previous rows. Tokens only encode values, never SQL,
+ * and are checked against the sort of the listing they are passed to. Cursor
+ * pages skip the {@code COUNT(*)} of offset pages.
+ */
+public final class ScrollCursor {
+
+    private static final String ID_PROPERTY = "id";
+    private static final char ENTRY_SEPARATOR = ',';
+    private static final char PART_SEPARATOR = ':';
+
+    private ScrollCursor() {
+    }
+
+    /**
+     * Decodes a token for a listing sorted by {@code sort}.
+     *
+     * @param cursor The token of the previous page; null or blank for the first page
+     * @param sort   The listing sort; the id is always an implicit last key
+     * @return The position to continue from
+     * @throws BadRequestException if the token is malformed or belongs to another sort
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String entry : payload.split(String.valueOf(ENTRY_SEPARATOR))) {
+                String[] parts = entry.split(String.valueOf(PART_SEPARATOR), 3);
+                keys.put(parts[0], decodeValue(parts[1], URLDecoder.decode(parts[2], StandardCharsets.UTF_8)));
+            }
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        if (!keys.keySet().equals(keyProperties(sort))) {
+            throw new BadRequestException("Cursor does not belong to this listing");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * @return The token of a keyset position
+     */
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Only keyset positions can be encoded");
+        }
+
+        StringBuilder payload = new StringBuilder();
+        keyset.getKeys().forEach((property, value) -> {
+            if (!payload.isEmpty()) {
+                payload.append(ENTRY_SEPARATOR);
+            }
+            payload.append(property).append(PART_SEPARATOR)
+                    .append(typeOf(value)).append(PART_SEPARATOR)
+                    .append(URLEncoder.encode(value != null ? value.toString() : "", StandardCharsets.UTF_8));
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a cursor page. Offset and total fields are not computed and stay zero.
+     *
+     * @param window   The page read from the repository
+     * @param results  The mapped rows of the window
+     * @param pageSize The requested page size
+     */
+    public static <T> PagedResponse<T> toPagedResponse(Window<?> window, List<T> results, int pageSize) {
+        boolean hasNext = window.hasNext() && !window.isEmpty();
+        return PagedResponse.<T>builder()
+                .maxPageItems(pageSize)
+                .size(results.size())
+                .results(results)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encode(window.positionAt(window.size() - 1)) : null)
+                .build();
+    }
+
+    private static Set<String> keyProperties(Sort sort) {
+        Set<String> properties = new LinkedHashSet<>();
+        sort.forEach(order -> properties.add(order.getProperty()));
+        properties.add(ID_PROPERTY);
+        return properties;
+    }
+
+    private static char typeOf(Object value) {
+        if (value == null) {
+            return 'n';
+        }
+        if (value instanceof Instant) {
+            return 't';
+        }
+        if (value instanceof Long) {
+            return 'l';
+        }
+        if (value instanceof Integer) {
+            return 'i';
+        }
+        if (value instanceof Boolean) {
+            return 'b';
+        }
+        if (value instanceof String) {
+            return 's';
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type " + value.getClass().getName());
+    }
+
+    private static Object decodeValue(String type, String text) {
+        return switch (type) {
+            case "n" -> null;
+            case "t" -> Instant.parse(text);
+            case "l" -> Long.valueOf(text);
+            case "i" -> Integer.valueOf(text);
+            case "b" -> Boolean.valueOf(text);
+            case "s" -> text;
+            default -> throw new IllegalArgumentException("Unknown cursor key type " + type);
+        };
+    }
+}
@@ -10,11 +10,13 @@ import com.winnguyen1905.activity.persistance.entity.EParticipationDetail;
 import com.winnguyen1905.activity.persistance.repository.AccountRepository;
 import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
 import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
+import com.winnguyen1905.activity.scheduling.SideEffectExecutor;
+import com.winnguyen1905.activity.scheduling.SideEffectExecutor.Overflow;
 import com.winnguyen1905.activity.websocket.dto.*;
+import com.winnguyen1905.activity.websocket.service.SocketAuthService;
 import com.winnguyen1905.activity.websocket.service.SocketCacheService;
 import com.winnguyen1905.activity.websocket.service.SocketEventHandlerService;
 import com.winnguyen1905.activity.websocket.service.SocketIOService;
-import com.winnguyen1905.activity.auth.JwtService;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -27,13 +29,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
  * Main Socket.IO Gateway for Activity Management System.
  * Provides comprehensive real-time communication features for activity management,
  * including activity status updates, messaging, notifications, and participant management.
+ * Outgoing events are pushed on the {@link SideEffectExecutor}, never on the caller's thread.
+ * Incoming events are authorized against the memberships cached by {@link SocketAuthService}.
  */
 @Slf4j
 @Component
@@ -47,13 +50,15 @@ public class SocketIoGateway {
     private final ActivityRepository activityRepository;
     private final ParticipationDetailRepository participationDetailRepository;
     private final AccountRepository accountRepository;
-    private final JwtService jwtService;
+    private final SocketAuthService socketAuthService;
+    private final SideEffectExecutor sideEffectExecutor;
 
     // Event type constants
     private static final String ACTIVITY_STATUS_CHANGED = "activity_status_changed";
     private static final String ACTIVITY_UPDATED = "activity_updated";
     private static final String ACTIVITY_PARTICIPANT_JOINED = "activity_participant_joined";
     private static final String ACTIVITY_PARTICIPANT_LEFT = "activity_participant_left";
+    private static final String ACTIVITY_WAITLIST_PROMOTED = "activity_waitlist_promoted";
     private static final String ACTIVITY_MESSAGE_BROADCAST = "activity_message_broadcast";
     private static final String ACTIVITY_ANNOUNCEMENT = "activity_announcement";
     private static final String ACTIVITY_REMINDER = "activity_reminder";
@@ -115,7 +120,7 @@ public class SocketIoGateway {
         sendToActivityParticipants(activity.getId(), ACTIVITY_STATUS_CHANGED, notification);
         
         // Send to activity organizers
-        sendToActivityOrganizers(activity.getId(), ACTIVITY_STATUS_CHANGED, notification);
+        sendToActivityOrganizers(activity, ACTIVITY_STATUS_CHANGED, notification);
     }
 
     /**
@@ -215,6 +220,26 @@ public class SocketIoGateway {
         sendToActivityParticipants(activity.getId(), ACTIVITY_PARTICIPANT_LEFT, participantUpdate);
     }
 
+    /**
+     * Tells a waitlisted user that a seat freed up and they are now registered
+     */
+    public void notifyWaitlistPromotion(EActivity activity, Long participantId) {
+        log.info("Notifying user {} of waitlist promotion for activity {}", participantId, activity.getId());
+
+        SocketNotificationDto notification = SocketNotificationDto.builder()
+                .title("You're In!")
+                .message("A seat opened up in '" + activity.getActivityName()
+                        + "' and you have been moved off the waitlist")
+                .type(NotificationType.ACTIVITY)
+                .activityId(activity.getId())
+                .timestamp(Instant.now())
+                .activityName(activity.getActivityName())
+                .activityStartDate(activity.getStartDate())
+                .build();
+
+        sendToUser(participantId, ACTIVITY_WAITLIST_PROMOTED, notification);
+    }
+
     // ===========================================
     // MESSAGING FEATURES
     // ===========================================
@@ -274,7 +299,7 @@ public class SocketIoGateway {
         sendToActivityParticipants(activity.getId(), ACTIVITY_EMERGENCY_ALERT, emergencyAlert);
         
         // Send to organizers
-        sendToActivityOrganizers(activity.getId(), ACTIVITY_EMERGENCY_ALERT, emergencyAlert);
+        sendToActivityOrganizers(activity, ACTIVITY_EMERGENCY_ALERT, emergencyAlert);
     }
 
     // ===========================================
@@ -282,27 +307,13 @@ public class SocketIoGateway {
     // ===========================================
 
     /**
-     * Sends a message to all participants of an activity
+     * Sends a message to all participants of an activity through the activity
+     * room, which verified participants join, so no participant lookup is needed
      */
     private void sendToActivityParticipants(Long activityId, String eventName, Object data) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                List<EParticipationDetail> participants = participationDetailRepository
-                        .findByActivityIdAndStatus(activityId, ParticipationStatus.VERIFIED);
-
-                int sentCount = 0;
-                for (EParticipationDetail participation : participants) {
-                    boolean sent = socketIOService.sendNotification(
-                            participation.getParticipant().getId(), eventName, data);
-                    if (sent) sentCount++;
-                }
-
-                log.debug("Sent {} event to {}/{} participants of activity {}", 
-                         eventName, sentCount, participants.size(), activityId);
-
-            } catch (Exception e) {
-                log.error("Error sending to activity participants: {}", e.getMessage());
-            }
+        sideEffectExecutor.execute("socket.activity-room", Overflow.DROP, () -> {
+            socketIOService.sendToRoom(ACTIVITY_ROOM_PREFIX + activityId, eventName, data);
+            log.debug("Sent {} event to room of activity {}", eventName, activityId);
         });
     }
 
@@ -310,45 +321,28 @@ public class SocketIoGateway {
      * Sends a message to all participants except specified user
      */
     private void sendToActivityParticipantsExcept(Long activityId, Long excludeUserId, String eventName, Object data) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                List<EParticipationDetail> participants = participationDetailRepository
-                        .findByActivityIdAndStatus(activityId, ParticipationStatus.VERIFIED);
-
-                int sentCount = 0;
-                for (EParticipationDetail participation : participants) {
-                    if (!participation.getParticipant().getId().equals(excludeUserId)) {
-                        boolean sent = socketIOService.sendNotification(
-                                participation.getParticipant().getId(), eventName, data);
-                        if (sent) sentCount++;
-                    }
-                }
-
-                log.debug("Sent {} event to {}/{} participants of activity {} (excluding user {})", 
-                         eventName, sentCount, participants.size() - 1, activityId, excludeUserId);
-
-            } catch (Exception e) {
-                log.error("Error sending to activity participants: {}", e.getMessage());
-            }
+        sideEffectExecutor.execute("socket.activity-room", Overflow.DROP, () -> {
+            socketIOService.sendToRoom(ACTIVITY_ROOM_PREFIX + activityId, eventName, data, excludeUserId);
+            log.debug("Sent {} event to room of activity {} (excluding user {})", eventName, activityId,
+                    excludeUserId);
         });
     }
 
     /**
      * Sends a message to activity organizers
      */
-    private void sendToActivityOrganizers(Long activityId, String eventName, Object data) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                EActivity activity = activityRepository.findById(activityId).orElse(null);
-                if (activity != null && activity.getOrganization() != null) {
-                    socketIOService.sendNotification(
-                            activity.getOrganization().getId(), eventName, data);
-                    log.debug("Sent {} event to organizer of activity {}", eventName, activityId);
-                }
-            } catch (Exception e) {
-                log.error("Error sending to activity organizer: {}", e.getMessage());
-            }
-        });
+    private void sendToActivityOrganizers(EActivity activity, String eventName, Object data) {
+        if (activity.getOrganization() != null) {
+            sendToUser(activity.getOrganization().getId(), eventName, data);
+        }
+    }
+
+    /**
+     * Sends a message to a single user off the caller's thread
+     */
+    private void sendToUser(Long userId, String eventName, Object data) {
+        sideEffectExecutor.execute("socket.user", Overflow.DROP,
+                () -> socketIOService.sendNotification(userId, eventName, data));
     }
 
     // ===========================================
@@ -366,10 +360,7 @@ public class SocketIoGateway {
             }
 
             // Verify user is a participant
-            boolean isParticipant = participationDetailRepository.existsByActivityIdAndParticipantIdAndStatus(
-                    activityId, userId, ParticipationStatus.VERIFIED);
-
-            if (!isParticipant) {
+            if (!socketAuthService.isParticipant(userId, activityId)) {
                 client.sendEvent("join_activity_room_error", 
                         Map.of("message", "Not authorized to join this activity room"));
                 return;
@@ -413,6 +404,9 @@ public class SocketIoGateway {
             
             List<EParticipationDetail> participants = participationDetailRepository
                     .findByActivityIdAndStatus(activityId, ParticipationStatus.VERIFIED);
+            Set<Long> onlineIds = socketCacheService.filterOnlineUsers(participants.stream()
+                    .map(p -> p.getParticipant().getId())
+                    .toList());
 
             List<Map<String, Object>> participantList = participants.stream()
                     .map(p -> {
@@ -420,7 +414,7 @@ public class SocketIoGateway {
                         participantInfo.put("id", p.getParticipant().getId());
                         participantInfo.put("name", p.getParticipant().getFullName());
                         participantInfo.put("email", p.getParticipant().getEmail());
-                        participantInfo.put("isOnline", socketCacheService.isUserOnline(p.getParticipant().getId()));
+                        participantInfo.put("isOnline", onlineIds.contains(p.getParticipant().getId()));
                         return participantInfo;
                     })
                     .collect(Collectors.toList());
@@ -444,15 +438,8 @@ public class SocketIoGateway {
             }
 
             // Verify sender has permission (is participant or organizer)
-            EActivity activity = activityRepository.findById(messageDto.getActivityId()).orElse(null);
-            if (activity == null) {
-                client.sendEvent("broadcast_error", Map.of("message", "Activity not found"));
-                return;
-            }
-
-            boolean isAuthorized = participationDetailRepository.existsByActivityIdAndParticipantIdAndStatus(
-                    messageDto.getActivityId(), userId, ParticipationStatus.VERIFIED) ||
-                    activity.getOrganization().getId().equals(userId);
+            boolean isAuthorized = socketAuthService.isParticipant(userId, messageDto.getActivityId())
+                    || socketAuthService.isOrganizer(userId, messageDto.getActivityId());
 
             if (!isAuthorized) {
                 client.sendEvent("broadcast_error", Map.of("message", "Not authorized"));
@@ -460,7 +447,7 @@ public class SocketIoGateway {
             }
 
             messageDto.setTimestamp(Instant.now());
-            sendToActivityParticipants(messageDto.getActivityId(), ACTIVITY_MESSAGE_BROADCAST, messageDto);
+            sendToActivityParticipantsExcept(messageDto.getActivityId(), userId, ACTIVITY_MESSAGE_BROADCAST, messageDto);
 
             client.sendEvent("broadcast_success", Map.of(
                     "messageId", messageDto.getMessageId(),
@@ -480,8 +467,10 @@ public class SocketIoGateway {
             String alertType = data.getOrDefault("alertType", "GENERAL").toString();
 
             // Verify sender is organizer
-            EActivity activity = activityRepository.findById(activityId).orElse(null);
-            if (activity == null || !activity.getOrganization().getId().equals(userId)) {
+            EActivity activity = socketAuthService.isOrganizer(userId, activityId)
+                    ? activityRepository.findById(activityId).orElse(null)
+                    : null;
+            if (activity == null) {
                 client.sendEvent("emergency_alert_error", Map.of("message", "Not authorized"));
                 return;
             }
@@ -537,13 +526,7 @@ public class SocketIoGateway {
     // ===========================================
 
     private Long getUserIdFromClient(com.corundumstudio.socketio.SocketIOClient client) {
-        try {
-            String userIdParam = client.getHandshakeData().getSingleUrlParam("userId");
-            return userIdParam != null ? Long.valueOf(userIdParam) : null;
-        } catch (Exception e) {
-            log.error("Error extracting user ID from client: {}", e.getMessage());
-            return null;
-        }
+        return SocketAuthService.userIdOf(client);
     }
 
     private void sendActivityWelcomeMessage(EActivity activity, EAccountCredentials participant) {
@@ -557,7 +540,7 @@ public class SocketIoGateway {
                 .activityStartDate(activity.getStartDate())
                 .build();
 
-        socketIOService.sendNotification(participant.getId(), "activity_welcome", welcomeMessage);
+        sendToUser(participant.getId(), "activity_welcome", welcomeMessage);
     }
 
     private String getActivityReminderTitle(long daysUntilStart) {
@@ -1,6 +1,7 @@
 package com.winnguyen1905.activity.websocket.config;
 
 import com.corundumstudio.socketio.SocketIOServer;
+import com.winnguyen1905.activity.websocket.service.SocketAuthService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +16,7 @@ public class SocketIOConfig {
     private Integer port;
 
     @Bean
-    public SocketIOServer socketIOServer() {
+    public SocketIOServer socketIOServer(SocketAuthService socketAuthService) {
         com.corundumstudio.socketio.Configuration config = new com.corundumstudio.socketio.Configuration();
         config.setHostname(host);
         config.setPort(port);
@@ -24,6 +25,8 @@ public class SocketIOConfig {
         config.setPingTimeout(60000);
         config.setPingInterval(25000);
         config.setOrigin("*"); // For development - restrict this in production
+        // Rejects handshakes without a valid access token before the connection is upgraded
+        config.setAuthorizationListener(socketAuthService);
         
         // Create and return the SocketIO server
         final SocketIOServer server = new SocketIOServer(config);
@@ -0,0 +1,183 @@
+package com.winnguyen1905.activity.websocket.service;
+
+import com.corundumstudio.socketio.AuthorizationListener;
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.winnguyen1905.activity.common.constant.AccountRole;
+import com.winnguyen1905.activity.common.constant.ParticipationStatus;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent;
+import com.winnguyen1905.activity.model.event.ActivityDataChangedEvent.ChangeType;
+import com.winnguyen1905.activity.persistance.entity.EAccountCredentials;
+import com.winnguyen1905.activity.persistance.repository.AccountRepository;
+import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
+import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
+import com.winnguyen1905.activity.websocket.service.impl.SocketNearCache;
+import com.winnguyen1905.activity.websocket.service.impl.SocketNearCache.Region;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Authenticates Socket.IO clients with the access token issued at login and
+ * answers per-event authorization checks from memory.
+ * <p>
+ * Handshakes without a valid token, passed as the {@code token} URL parameter
+ * or as a bearer {@code Authorization} header, are rejected before the
+ * connection is upgraded; verifying the token needs no database access. On
+ * connect the identity from the token is attached to the client, so handlers
+ * never trust user ids sent by the client. The activities a user takes part in
+ * or organizes are cached per user in {@link SocketNearCache} and dropped on
+ * every instance when one of their participations or activities changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SocketAuthService implements AuthorizationListener {
+
+    private static final String TOKEN_PARAM = "token";
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String USER_CLAIM = "user";
+    private static final String USERNAME_CLAIM = "username";
+    private static final String ROLE_CLAIM = "role";
+    private static final String PRINCIPAL_KEY = "principal";
+
+    private final JwtDecoder jwtDecoder;
+    private final AccountRepository accountRepository;
+    private final ActivityRepository activityRepository;
+    private final ParticipationDetailRepository participationDetailRepository;
+    private final SocketNearCache nearCache;
+
+    /**
+     * Identity of a connected client, taken from its access token. The
+     * username falls back to the user id and the full name to the username,
+     * so neither is ever null.
+     */
+    public record SocketPrincipal(Long userId, String username, AccountRole role, String fullName) {
+    }
+
+    /**
+     * Activities a user has a verified participation in, and activities they organize
+     */
+    public record ActivityAccess(Set<Long> participating, Set<Long> organizing) {
+    }
+
+    @Override
+    public boolean isAuthorized(HandshakeData handshakeData) {
+        if (verify(handshakeData) == null) {
+            log.debug("Rejected socket handshake from {} without a valid token", handshakeData.getAddress());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Attaches the identity from the handshake token to the client.
+     *
+     * @return the attached identity, or null if the token is missing or invalid
+     */
+    public SocketPrincipal authenticate(SocketIOClient client) {
+        // Verified again here, since the authorization listener has no client to attach the identity to
+        SocketPrincipal principal = verify(client.getHandshakeData());
+        if (principal == null) {
+            return null;
+        }
+
+        String fullName = accountRepository.findById(principal.userId())
+                .map(EAccountCredentials::getFullName)
+                .orElse(principal.username());
+        principal = new SocketPrincipal(principal.userId(), principal.username(), principal.role(), fullName);
+        client.set(PRINCIPAL_KEY, principal);
+        return principal;
+    }
+
+    /**
+     * @return the identity attached on connect, or null for unauthenticated clients
+     */
+    public static SocketPrincipal principalOf(SocketIOClient client) {
+        return client.get(PRINCIPAL_KEY);
+    }
+
+    public static Long userIdOf(SocketIOClient client) {
+        SocketPrincipal principal = principalOf(client);
+        return principal != null ? principal.userId() : null;
+    }
+
+    public boolean isParticipant(Long userId, Long activityId) {
+        return userId != null && activityId != null && accessOf(userId).participating().contains(activityId);
+    }
+
+    public boolean isOrganizer(Long userId, Long activityId) {
+        return userId != null && activityId != null && accessOf(userId).organizing().contains(activityId);
+    }
+
+    /**
+     * Loads the user's activity access ahead of their first event
+     */
+    public void preload(Long userId) {
+        accessOf(userId);
+    }
+
+    /**
+     * Drops the cached access of the users a committed write concerns
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivityDataChanged(ActivityDataChangedEvent event) {
+        if (event.changeType() == ChangeType.PARTICIPATION && event.studentId() != null) {
+            nearCache.invalidate(Region.ACCESS, event.studentId());
+        }
+        if (event.changeType() == ChangeType.ACTIVITY && event.organizationId() != null) {
+            nearCache.invalidate(Region.ACCESS, event.organizationId());
+        }
+    }
+
+    private ActivityAccess accessOf(Long userId) {
+        return nearCache.activityAccess().get(userId, id -> new ActivityAccess(
+                Set.copyOf(participationDetailRepository.findActivityIdsByParticipantIdAndStatus(id,
+                        ParticipationStatus.VERIFIED)),
+                Set.copyOf(activityRepository.findIdsByOrganizationId(id))));
+    }
+
+    private SocketPrincipal verify(HandshakeData handshakeData) {
+        String token = tokenOf(handshakeData);
+        if (token == null) {
+            return null;
+        }
+        try {
+            Jwt jwt = jwtDecoder.decode(token);
+            Long userId = Long.valueOf(jwt.getSubject());
+            // Depending on the issuer the account is in top-level claims or nested in the user claim
+            Map<?, ?> user = jwt.getClaim(USER_CLAIM) instanceof Map<?, ?> nested ? nested : Map.of();
+            String username = claimOf(jwt, user, USERNAME_CLAIM);
+            String role = claimOf(jwt, user, ROLE_CLAIM);
+            return new SocketPrincipal(userId, username != null ? username : String.valueOf(userId),
+                    role != null ? AccountRole.valueOf(role) : null, null);
+        } catch (RuntimeException e) {
+            log.debug("Invalid socket token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String claimOf(Jwt jwt, Map<?, ?> user, String name) {
+        Object value = jwt.hasClaim(name) ? jwt.getClaim(name) : user.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static String tokenOf(HandshakeData handshakeData) {
+        String token = handshakeData.getSingleUrlParam(TOKEN_PARAM);
+        if (token != null && !token.isBlank()) {
+            return token;
+        }
+        String authorization = handshakeData.getHttpHeaders().get(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.winnguyen1905.activity.websocket.service;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +31,23 @@ public interface SocketCacheService {
      */
     UserStatusDto.UserStatus getUserStatus(Long userId);
 
+    /**
+     * Gets the statuses of several users in one round trip.
+     *
+     * @param userIds The user IDs
+     * @return The status of every requested user, OFFLINE if not found
+     */
+    Map<Long, UserStatusDto.UserStatus> getUserStatuses(Collection<Long> userIds);
+
+    /**
+     * Sets user status and last seen timestamp together in one round trip.
+     *
+     * @param userId The user ID
+     * @param status The user status
+     * @param lastSeen The last seen timestamp
+     */
+    void updatePresence(Long userId, UserStatusDto.UserStatus status, Instant lastSeen);
+
     /**
      * Removes user status from cache.
      *
@@ -108,6 +126,16 @@ public interface SocketCacheService {
      */
     void addOnlineUser(Long userId, String sessionId);
 
+    /**
+     * Extends the session mappings and online presence of a session that is
+     * still connected. Does nothing if the user has since connected with
+     * another session.
+     *
+     * @param userId The user ID
+     * @param sessionId The session ID
+     */
+    void refreshOnlineUser(Long userId, String sessionId);
+
     /**
      * Removes user from online users set.
      *
@@ -130,6 +158,24 @@ public interface SocketCacheService {
      */
     boolean isUserOnline(Long userId);
 
+    /**
+     * Checks which of several users are online in one round trip.
+     *
+     * @param userIds The user IDs
+     * @return The online subset of the given user IDs
+     */
+    Set<Long> filterOnlineUsers(Collection<Long> userIds);
+
+    /**
+     * Drops a disconnected session: its session mappings and, unless the user
+     * has reconnected with another session meanwhile, the user's online
+     * membership and status.
+     *
+     * @param sessionId The session ID
+     * @return The user ID of the session or null if not found
+     */
+    Long removeSession(String sessionId);
+
     // ==================== ACTIVITY PARTICIPANTS CACHE ====================
     
     /**
@@ -0,0 +1,222 @@
+package com.winnguyen1905.activity.websocket.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Relays Socket.IO events between application instances over Redis pub/sub.
+ * <p>
+ * Every instance gets a random node id and owns the users connected to it,
+ * recorded under {@code socket:user:node:{userId}} and renewed on every client
+ * heartbeat, so the entry outlives its TTL for as long as the connection does.
+ * Per-user events for a user
+ * owned by another node are published to that node's own channel only, while
+ * room and broadcast events go to a shared channel that every node delivers to
+ * its local clients. Nodes ignore their own messages, since the sender always
+ * delivers locally first. Payloads are handed to the local clients as
+ * pre-encoded JSON, so a relayed event is serialized once per node.
+ */
+@Slf4j
+@Service
+public class SocketClusterBridge implements MessageListener {
+
+    private static final String USER_NODE_PREFIX = "socket:user:node:";
+    private static final String NODE_CHANNEL_PREFIX = "socket:cluster:node:";
+    private static final String BROADCAST_CHANNEL = "socket:cluster:broadcast";
+    private static final Duration USER_NODE_EXPIRY = Duration.ofHours(12);
+
+    // Only renews the owner entry if no other node has claimed the user meanwhile
+    private static final RedisScript<Long> RENEW_USER = new DefaultRedisScript<>(
+            "local owner = redis.call('GET', KEYS[1]) "
+                    + "if owner and owner ~= ARGV[1] then return 0 end "
+                    + "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) "
+                    + "return 1",
+            Long.class);
+
+    // Only drops the owner entry if the user has not reconnected to another node meanwhile
+    private static final RedisScript<Long> RELEASE_USER = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile LocalDelivery localDelivery;
+
+    public SocketClusterBridge(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+            ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Delivers relayed events to the clients connected to this node
+     */
+    public interface LocalDelivery {
+
+        boolean deliverToUser(Long userId, String eventName, Object data);
+
+        void deliverToRoom(String roomName, String eventName, Object data, Long excludedUserId);
+
+        void deliverToAll(String eventName, Object data);
+    }
+
+    private enum TargetType {
+        USER,
+        ROOM,
+        BROADCAST
+    }
+
+    private record ClusterMessage(String origin, TargetType type, String target, Long excludedUserId,
+            String eventName, JsonNode data) {
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        listenerContainer.addMessageListener(this,
+                List.of(new ChannelTopic(NODE_CHANNEL_PREFIX + nodeId), new ChannelTopic(BROADCAST_CHANNEL)));
+        log.info("Socket cluster bridge subscribed as node {}", nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setLocalDelivery(LocalDelivery localDelivery) {
+        this.localDelivery = localDelivery;
+    }
+
+    /**
+     * Records this node as the owner of the user's connection
+     */
+    public void claimUser(Long userId) {
+        try {
+            redisTemplate.opsForValue().set(USER_NODE_PREFIX + userId, nodeId, USER_NODE_EXPIRY);
+        } catch (Exception e) {
+            log.error("Failed to claim user {} for node {}: {}", userId, nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Extends this node's ownership of a user who is still connected to it
+     */
+    public void renewUser(Long userId) {
+        try {
+            redisTemplate.execute(RENEW_USER, List.of(USER_NODE_PREFIX + userId), nodeId,
+                    String.valueOf(USER_NODE_EXPIRY.toSeconds()));
+        } catch (Exception e) {
+            log.error("Failed to renew user {} for node {}: {}", userId, nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops this node's ownership of the user's connection
+     */
+    public void releaseUser(Long userId) {
+        try {
+            redisTemplate.execute(RELEASE_USER, List.of(USER_NODE_PREFIX + userId), nodeId);
+        } catch (Exception e) {
+            log.error("Failed to release user {} from node {}: {}", userId, nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Relays an event to the node the user is connected to.
+     *
+     * @return false if the user is not connected to any other live node
+     */
+    public boolean publishToUser(Long userId, String eventName, Object data) {
+        try {
+            String ownerKey = USER_NODE_PREFIX + userId;
+            String owner = redisTemplate.opsForValue().get(ownerKey);
+            if (owner == null || owner.equals(nodeId)) {
+                return false;
+            }
+
+            Long receivers = redisTemplate.convertAndSend(NODE_CHANNEL_PREFIX + owner,
+                    encode(TargetType.USER, userId.toString(), null, eventName, data));
+            if (receivers == null || receivers == 0) {
+                // The owning node went away without cleaning up
+                redisTemplate.execute(RELEASE_USER, List.of(ownerKey), owner);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to relay {} to user {}: {}", eventName, userId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Relays a room event to the other nodes
+     *
+     * @param excludedUserId A user who should not receive the event, or null
+     */
+    public void publishToRoom(String roomName, String eventName, Object data, Long excludedUserId) {
+        publishShared(TargetType.ROOM, roomName, excludedUserId, eventName, data);
+    }
+
+    /**
+     * Relays an event for all connected clients to the other nodes
+     */
+    public void publishBroadcast(String eventName, Object data) {
+        publishShared(TargetType.BROADCAST, null, null, eventName, data);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ClusterMessage clusterMessage = objectMapper.readValue(message.getBody(), ClusterMessage.class);
+            LocalDelivery delivery = localDelivery;
+            if (nodeId.equals(clusterMessage.origin()) || delivery == null) {
+                return;
+            }
+
+            String eventName = clusterMessage.eventName();
+            RawValue data = new RawValue(clusterMessage.data().toString());
+            switch (clusterMessage.type()) {
+                case USER -> delivery.deliverToUser(Long.valueOf(clusterMessage.target()), eventName, data);
+                case ROOM -> delivery.deliverToRoom(clusterMessage.target(), eventName, data,
+                        clusterMessage.excludedUserId());
+                case BROADCAST -> delivery.deliverToAll(eventName, data);
+            }
+        } catch (Exception e) {
+            log.error("Failed to handle cluster message {}: {}",
+                    new String(message.getBody(), StandardCharsets.UTF_8), e.getMessage());
+        }
+    }
+
+    private void publishShared(TargetType type, String target, Long excludedUserId, String eventName, Object data) {
+        try {
+            redisTemplate.convertAndSend(BROADCAST_CHANNEL, encode(type, target, excludedUserId, eventName, data));
+        } catch (Exception e) {
+            log.error("Failed to relay {} {} to other nodes: {}", type, eventName, e.getMessage());
+        }
+    }
+
+    private String encode(TargetType type, String target, Long excludedUserId, String eventName, Object data)
+            throws JsonProcessingException {
+        return objectMapper.writeValueAsString(new ClusterMessage(nodeId, type, target, excludedUserId, eventName,
+                objectMapper.valueToTree(data)));
+    }
+}
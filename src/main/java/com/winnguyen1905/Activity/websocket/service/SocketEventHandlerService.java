@@ -2,12 +2,9 @@ package com.winnguyen1905.activity.websocket.service;
 
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
-import com.winnguyen1905.activity.persistance.entity.EAccountCredentials;
-import com.winnguyen1905.activity.persistance.entity.EActivity;
 import com.winnguyen1905.activity.persistance.entity.EParticipationDetail;
-import com.winnguyen1905.activity.persistance.repository.AccountRepository;
-import com.winnguyen1905.activity.persistance.repository.ActivityRepository;
 import com.winnguyen1905.activity.persistance.repository.ParticipationDetailRepository;
+import com.winnguyen1905.activity.websocket.service.SocketAuthService.SocketPrincipal;
 import com.winnguyen1905.activity.websocket.dto.*;
 import com.winnguyen1905.activity.common.constant.ParticipationStatus;
 import com.winnguyen1905.activity.common.constant.NotificationType;
@@ -27,6 +24,8 @@ import java.util.stream.Collectors;
 /**
  * Service for handling Socket.IO events related to messaging and notifications.
  * Provides comprehensive event handling for real-time communication features.
+ * Senders are identified and authorized by {@link SocketAuthService} without
+ * database round trips.
  */
 @Slf4j
 @Service
@@ -36,13 +35,10 @@ public class SocketEventHandlerService {
   private final SocketIOServer socketIOServer;
   private final SocketIOService socketIOService;
   private final SocketCacheService socketCacheService;
-  private final AccountRepository accountRepository;
-  private final ActivityRepository activityRepository;
   private final ParticipationDetailRepository participationDetailRepository;
   private final NotificationService notificationService;
-
-  // Event constants
-  private static final String USER_ID_PARAM = "userId";
+  private final SocketAuthService socketAuthService;
+  private final SocketClusterBridge socketClusterBridge;
 
   /**
    * Initializes all socket event handlers.
@@ -184,10 +180,7 @@ public class SocketEventHandlerService {
       }
 
       // Verify user is participant of the activity
-      boolean isParticipant = participationDetailRepository.existsByActivityIdAndParticipantIdAndStatus(
-          messageDto.getActivityId(), senderId, ParticipationStatus.VERIFIED);
-
-      if (!isParticipant) {
+      if (!socketAuthService.isParticipant(senderId, messageDto.getActivityId())) {
         log.warn("User {} is not a participant of activity {}", senderId, messageDto.getActivityId());
         client.sendEvent("message_error", Map.of("error", "Not authorized to send messages in this activity"));
         return;
@@ -237,14 +230,7 @@ public class SocketEventHandlerService {
       }
 
       // Verify user is organizer of the activity
-      EActivity activity = activityRepository.findById(announcementDto.getActivityId()).orElse(null);
-      if (activity == null) {
-        client.sendEvent("announcement_error", Map.of("error", "Activity not found"));
-        return;
-      }
-
-      boolean isOrganizer = activity.getOrganization().getId().equals(senderId);
-      if (!isOrganizer) {
+      if (!socketAuthService.isOrganizer(senderId, announcementDto.getActivityId())) {
         log.warn("User {} is not an organizer of activity {}", senderId, announcementDto.getActivityId());
         client.sendEvent("announcement_error", Map.of("error", "Not authorized to send announcements"));
         return;
@@ -384,11 +370,8 @@ public class SocketEventHandlerService {
         return;
       }
 
-      // Update status in cache
-      socketCacheService.setUserStatus(userId, statusDto.getStatus());
-      
-      // Update last seen timestamp
-      socketCacheService.updateLastSeen(userId, Instant.now());
+      // Update status and last seen timestamp in cache
+      socketCacheService.updatePresence(userId, statusDto.getStatus(), Instant.now());
 
       // Broadcast status update to relevant users (contacts, activity participants, etc.)
       broadcastUserStatusUpdate(statusDto);
@@ -409,6 +392,9 @@ public class SocketEventHandlerService {
       if (userId != null) {
         // Update last seen timestamp
         socketCacheService.updateLastSeen(userId, Instant.now());
+        // Keep the session mappings and node ownership alive past their TTL while the client is connected
+        socketCacheService.refreshOnlineUser(userId, client.getSessionId().toString());
+        socketClusterBridge.renewUser(userId);
         
         // Send heartbeat acknowledgment
         client.sendEvent("heartbeat_ack", Map.of(
@@ -445,14 +431,12 @@ public class SocketEventHandlerService {
    */
   private void handleJoinActivityChat(SocketIOClient client, Map<String, Object> data, Object ackSender) {
     try {
-      Long userId = getUserIdFromClient(client);
+      SocketPrincipal principal = SocketAuthService.principalOf(client);
+      Long userId = principal != null ? principal.userId() : null;
       Long activityId = Long.valueOf(data.get("activityId").toString());
 
       // Verify user is participant
-      boolean isParticipant = participationDetailRepository.existsByActivityIdAndParticipantIdAndStatus(
-          activityId, userId, ParticipationStatus.VERIFIED);
-
-      if (!isParticipant) {
+      if (!socketAuthService.isParticipant(userId, activityId)) {
         client.sendEvent("join_chat_error", Map.of("error", "Not authorized to join this activity chat"));
         return;
       }
@@ -463,14 +447,10 @@ public class SocketEventHandlerService {
 
       // Get activity participants and notify them
       Set<Long> participantIds = getCachedActivityParticipants(activityId);
-      EAccountCredentials user = accountRepository.findById(userId).orElse(null);
-
-      if (user != null) {
-        for (Long participantId : participantIds) {
-          if (!participantId.equals(userId)) {
-            socketIOService.sendNotification(participantId, "user_joined_activity_chat",
-                Map.of("userId", userId, "userName", user.getFullName(), "activityId", activityId));
-          }
+      for (Long participantId : participantIds) {
+        if (!participantId.equals(userId)) {
+          socketIOService.sendNotification(participantId, "user_joined_activity_chat",
+              Map.of("userId", userId, "userName", principal.fullName(), "activityId", activityId));
         }
       }
 
@@ -492,7 +472,7 @@ public class SocketEventHandlerService {
    */
   private void handleLeaveActivityChat(SocketIOClient client, Map<String, Object> data, Object ackSender) {
     try {
-      Long userId = getUserIdFromClient(client);
+      SocketPrincipal principal = SocketAuthService.principalOf(client);
       Long activityId = Long.valueOf(data.get("activityId").toString());
 
       // Leave the activity chat room
@@ -500,22 +480,20 @@ public class SocketEventHandlerService {
       client.leaveRoom(roomName);
 
       // Notify other participants
-      Set<Long> participantIds = getCachedActivityParticipants(activityId);
-      EAccountCredentials user = accountRepository.findById(userId).orElse(null);
-
-      if (user != null) {
+      if (principal != null) {
+        Long userId = principal.userId();
+        Set<Long> participantIds = getCachedActivityParticipants(activityId);
         for (Long participantId : participantIds) {
           if (!participantId.equals(userId)) {
             socketIOService.sendNotification(participantId, "user_left_activity_chat",
-                Map.of("userId", userId, "userName", user.getFullName(), "activityId", activityId));
+                Map.of("userId", userId, "userName", principal.fullName(), "activityId", activityId));
           }
         }
+        log.debug("User {} left activity chat {}", userId, activityId);
       }
 
       client.sendEvent("left_activity_chat", Map.of("activityId", activityId));
 
-      log.debug("User {} left activity chat {}", userId, activityId);
-
     } catch (Exception e) {
       log.error("Error handling leave activity chat: {}", e.getMessage());
     }
@@ -590,13 +568,7 @@ public class SocketEventHandlerService {
    * Extracts user ID from Socket.IO client.
    */
   private Long getUserIdFromClient(SocketIOClient client) {
-    try {
-      String userIdParam = client.getHandshakeData().getSingleUrlParam(USER_ID_PARAM);
-      return userIdParam != null ? Long.valueOf(userIdParam) : null;
-    } catch (Exception e) {
-      log.error("Error extracting user ID from client: {}", e.getMessage());
-      return null;
-    }
+    return SocketAuthService.userIdOf(client);
   }
 
   /**
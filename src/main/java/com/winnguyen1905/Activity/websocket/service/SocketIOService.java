@@ -1,7 +1,14 @@
 package com.winnguyen1905.activity.websocket.service;
 
+import com.corundumstudio.socketio.BroadcastOperations;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.winnguyen1905.activity.scheduling.SideEffectExecutor;
+import com.winnguyen1905.activity.scheduling.SideEffectExecutor.Overflow;
+import com.winnguyen1905.activity.websocket.service.SocketAuthService.SocketPrincipal;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +23,11 @@ import java.util.concurrent.ConcurrentHashMap;
  * Service for handling Socket.IO connections and managing real-time notifications.
  * Provides functionality for user connection management, targeted messaging,
  * and broadcast notifications with proper error handling and logging.
+ * Events for users or rooms on other instances are relayed through
+ * {@link SocketClusterBridge}. Room and broadcast payloads are encoded to JSON
+ * once and the encoded bytes are reused for every recipient; relaying them to
+ * other instances runs on the {@link SideEffectExecutor}. Clients are
+ * identified by the access token checked in {@link SocketAuthService}.
  */
 @Slf4j
 @Service
@@ -24,17 +36,19 @@ public class SocketIOService {
 
     private final SocketIOServer socketIOServer;
     private final SocketCacheService socketCacheService;
+    private final SocketClusterBridge socketClusterBridge;
+    private final ObjectMapper objectMapper;
+    private final SideEffectExecutor sideEffectExecutor;
+    private final SocketAuthService socketAuthService;
     private final Map<Long, SocketIOClient> userSocketMap = new ConcurrentHashMap<>();
 
     // Configuration constants
-    private static final String USER_ID_PARAM = "userId";
     private static final String CONNECTION_LOG_FORMAT = "Client {}: {}";
     private static final String NOTIFICATION_LOG_FORMAT = "Sent {} notification to user {}";
     private static final String BROADCAST_LOG_FORMAT = "Broadcast {} notification sent to {} connected users";
     
     // Error messages
-    private static final String INVALID_USER_ID_FORMAT = "Invalid user ID format: {}";
-    private static final String USER_NOT_CONNECTED = "User {} not connected, notification not sent";
+    private static final String USER_NOT_CONNECTED = "User {} not connected to this node";
 
     /**
      * Initializes the Socket.IO server and sets up connection handlers.
@@ -45,6 +59,22 @@ public class SocketIOService {
         log.info("Initializing Socket.IO server...");
         
         setupConnectionHandlers();
+        socketClusterBridge.setLocalDelivery(new SocketClusterBridge.LocalDelivery() {
+            @Override
+            public boolean deliverToUser(Long userId, String eventName, Object data) {
+                return sendToLocalUser(userId, eventName, data);
+            }
+
+            @Override
+            public void deliverToRoom(String roomName, String eventName, Object data, Long excludedUserId) {
+                sendToLocalRoom(roomName, eventName, data, excludedUserId);
+            }
+
+            @Override
+            public void deliverToAll(String eventName, Object data) {
+                socketIOServer.getBroadcastOperations().sendEvent(eventName, data);
+            }
+        });
         startServer();
         
         log.info("Socket.IO server initialized successfully on port {}", 
@@ -66,18 +96,89 @@ public class SocketIOService {
     }
 
     /**
-     * Sends a notification to a specific user.
+     * Sends a notification to a specific user, relaying it to the instance the
+     * user is connected to if that is not this one.
      *
      * @param userId The user ID to send the notification to
      * @param eventName The event name to send
      * @param data The notification data to send
-     * @return true if the notification was sent successfully, false otherwise
+     * @return true if the notification was sent or relayed successfully, false otherwise
      */
     public boolean sendNotification(Long userId, String eventName, Object data) {
         if (!isValidNotificationRequest(userId, eventName)) {
             return false;
         }
 
+        return sendToLocalUser(userId, eventName, data)
+                || socketClusterBridge.publishToUser(userId, eventName, data);
+    }
+
+    /**
+     * Sends an event to every client in a room, on all instances.
+     *
+     * @param roomName The room to send to
+     * @param eventName The event name to send
+     * @param data The event data to send
+     */
+    public void sendToRoom(String roomName, String eventName, Object data) {
+        sendToRoom(roomName, eventName, data, null);
+    }
+
+    /**
+     * Sends an event to every client in a room except one user, on all instances.
+     *
+     * @param roomName The room to send to
+     * @param eventName The event name to send
+     * @param data The event data to send
+     * @param excludedUserId The user who should not receive the event, or null
+     */
+    public void sendToRoom(String roomName, String eventName, Object data, Long excludedUserId) {
+        if (roomName == null || !isValidEventName(eventName)) {
+            return;
+        }
+
+        Object encoded = preEncode(data);
+        sendToLocalRoom(roomName, eventName, encoded, excludedUserId);
+        sideEffectExecutor.execute("socket.relay", Overflow.DROP,
+                () -> socketClusterBridge.publishToRoom(roomName, eventName, encoded, excludedUserId));
+    }
+
+    private void sendToLocalRoom(String roomName, String eventName, Object data, Long excludedUserId) {
+        try {
+            BroadcastOperations room = socketIOServer.getRoomOperations(roomName);
+            SocketIOClient excluded = excludedUserId != null ? userSocketMap.get(excludedUserId) : null;
+            if (excluded != null) {
+                room.sendEvent(eventName, excluded, data);
+            } else {
+                room.sendEvent(eventName, data);
+            }
+        } catch (Exception e) {
+            log.error("Failed to send {} to room {}: {}", eventName, roomName, e.getMessage());
+        }
+    }
+
+    /**
+     * Serializes event data once so that fanning it out to many clients only
+     * copies the encoded JSON instead of serializing it per client.
+     */
+    private Object preEncode(Object data) {
+        if (data == null || data instanceof RawValue) {
+            return data;
+        }
+        try {
+            return new RawValue(objectMapper.writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to pre-encode event data, sending it as is: {}", e.getMessage());
+            return data;
+        }
+    }
+
+    /**
+     * Sends an event to a user connected to this instance.
+     *
+     * @return true if the user is connected here and the event was sent
+     */
+    private boolean sendToLocalUser(Long userId, String eventName, Object data) {
         SocketIOClient client = userSocketMap.get(userId);
         if (client != null && client.isChannelOpen()) {
             try {
@@ -114,7 +215,10 @@ public class SocketIOService {
 
         try {
             int connectedUsers = getConnectedUserCount();
-            socketIOServer.getBroadcastOperations().sendEvent(eventName, data);
+            Object encoded = preEncode(data);
+            socketIOServer.getBroadcastOperations().sendEvent(eventName, encoded);
+            sideEffectExecutor.execute("socket.relay", Overflow.DROP,
+                    () -> socketClusterBridge.publishBroadcast(eventName, encoded));
             log.info(BROADCAST_LOG_FORMAT, eventName, connectedUsers);
             return connectedUsers;
         } catch (Exception e) {
@@ -208,13 +312,15 @@ public class SocketIOService {
      */
     private void handleClientConnection(SocketIOClient client) {
         try {
-            String userIdParam = extractUserIdFromHandshake(client);
+            SocketPrincipal principal = socketAuthService.authenticate(client);
             String sessionId = client.getSessionId().toString();
             
-            if (userIdParam != null) {
-                registerUserConnection(userIdParam, client, sessionId);
+            if (principal != null) {
+                registerUserConnection(principal.userId(), client, sessionId);
+                sideEffectExecutor.execute("socket.access-preload", Overflow.DROP,
+                        () -> socketAuthService.preload(principal.userId()));
             } else {
-                log.warn("Client connected without valid user ID: {}", sessionId);
+                log.warn("Client connected without a valid token: {}", sessionId);
                 client.disconnect();
             }
         } catch (Exception e) {
@@ -239,52 +345,29 @@ public class SocketIOService {
         }
     }
 
-    /**
-     * Extracts user ID from client handshake data.
-     * 
-     * @param client The SocketIO client
-     * @return User ID as string or null if not found/invalid
-     */
-    private String extractUserIdFromHandshake(SocketIOClient client) {
-        try {
-            return client.getHandshakeData().getSingleUrlParam(USER_ID_PARAM);
-        } catch (Exception e) {
-            log.warn("Failed to extract user ID from handshake: {}", e.getMessage());
-            return null;
-        }
-    }
-
     /**
      * Registers a new user connection in maps and cache.
      * 
-     * @param userIdParam User ID as string
+     * @param userId Authenticated user ID
      * @param client SocketIO client
      * @param sessionId Session ID
      */
-    private void registerUserConnection(String userIdParam, SocketIOClient client, String sessionId) {
-        try {
-            Long userId = Long.valueOf(userIdParam);
-            
-            // Store in local map
-            userSocketMap.put(userId, client);
-            
-            // Store in distributed cache
-            socketCacheService.addOnlineUser(userId, sessionId);
-            socketCacheService.mapSessionToUser(sessionId, userId);
-            
-            log.info(CONNECTION_LOG_FORMAT, sessionId, "connected as user " + userId);
-            
-            // Send welcome notification
-            client.sendEvent("connection_established", Map.of(
-                    "userId", userId,
-                    "timestamp", System.currentTimeMillis(),
-                    "message", "Connected successfully"
-            ));
-            
-        } catch (NumberFormatException e) {
-            log.warn(INVALID_USER_ID_FORMAT, userIdParam);
-            client.disconnect();
-        }
+    private void registerUserConnection(Long userId, SocketIOClient client, String sessionId) {
+        // Store in local map
+        userSocketMap.put(userId, client);
+        
+        // Store in distributed cache; also maps the session both ways
+        socketCacheService.addOnlineUser(userId, sessionId);
+        socketClusterBridge.claimUser(userId);
+        
+        log.info(CONNECTION_LOG_FORMAT, sessionId, "connected as user " + userId);
+        
+        // Send welcome notification
+        client.sendEvent("connection_established", Map.of(
+                "userId", userId,
+                "timestamp", System.currentTimeMillis(),
+                "message", "Connected successfully"
+        ));
     }
 
     /**
@@ -295,13 +378,9 @@ public class SocketIOService {
     private void removeUserFromMap(Long userId) {
         if (userId != null) {
             userSocketMap.remove(userId);
+            // Also removes the session mappings
             socketCacheService.removeOnlineUser(userId);
-            
-            // Also remove session mapping if exists
-            String sessionId = socketCacheService.getUserSession(userId);
-            if (sessionId != null) {
-                socketCacheService.removeSessionMapping(sessionId);
-            }
+            socketClusterBridge.releaseUser(userId);
         }
     }
 
@@ -312,11 +391,14 @@ public class SocketIOService {
      */
     private void removeUserBySessionId(String sessionId) {
         try {
-            Long userId = socketCacheService.getUserIdBySession(sessionId);
+            Long userId = socketCacheService.removeSession(sessionId);
             if (userId != null) {
-                userSocketMap.remove(userId);
-                socketCacheService.removeOnlineUser(userId);
-                socketCacheService.removeSessionMapping(sessionId);
+                // Keep the entry if the user already reconnected with a new session
+                SocketIOClient client = userSocketMap.get(userId);
+                if (client != null && client.getSessionId().toString().equals(sessionId)
+                        && userSocketMap.remove(userId, client)) {
+                    socketClusterBridge.releaseUser(userId);
+                }
                 log.debug("Removed user {} (session: {})", userId, sessionId);
             } else {
                 // Try to find and remove from local map if cache lookup fails
@@ -370,6 +452,7 @@ public class SocketIOService {
             if (isStale) {
                 log.debug("Cleaning up stale connection for user {}", entry.getKey());
                 socketCacheService.removeOnlineUser(entry.getKey());
+                socketClusterBridge.releaseUser(entry.getKey());
             }
             return isStale;
         });
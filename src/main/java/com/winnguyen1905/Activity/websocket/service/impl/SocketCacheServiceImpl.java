@@ -2,34 +2,65 @@ package com.winnguyen1905.activity.websocket.service.impl;
 
 import com.winnguyen1905.activity.websocket.dto.UserStatusDto;
 import com.winnguyen1905.activity.websocket.service.SocketCacheService;
-import lombok.RequiredArgsConstructor;
+import com.winnguyen1905.activity.websocket.service.impl.SocketNearCache.Region;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Redis-based implementation of SocketIO caching service.
  * Provides high-performance caching for real-time SocketIO operations with
  * automatic expiration.
+ * <p>
+ * Operations touching several keys run as Lua scripts, so each is atomic and
+ * costs one round trip. Scripts that follow a stored id to another key build
+ * that key inside Redis, which assumes a standalone (non-cluster) Redis. Values
+ * are passed through the template's {@code CompactRedisSerializer}, so ids and
+ * strings arrive as plain text; strings written by the previous JSON serializer
+ * may still be quoted until they expire.
+ * <p>
+ * Presence, status, session and participant lookups are served from
+ * {@link SocketNearCache} where possible; every write to them invalidates the
+ * near cache on all instances.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class SocketCacheServiceImpl implements SocketCacheService {
 
-  @Qualifier("socketRedisTemplate")
   private final RedisTemplate<String, Object> redisTemplate;
+  private final SocketNearCache nearCache;
+
+  public SocketCacheServiceImpl(@Qualifier("socketRedisTemplate") RedisTemplate<String, Object> redisTemplate,
+      SocketNearCache nearCache) {
+    this.redisTemplate = redisTemplate;
+    this.nearCache = nearCache;
+  }
+
+  private record KeyCounts(Map<String, Long> counts, Instant countedAt) {
+  }
+
+  // Refreshed by the scheduled cleanup, so statistics never walk the keyspace
+  private volatile KeyCounts keyCounts;
 
   // Cache key prefixes for different data types
   private static final String USER_STATUS_PREFIX = "socket:user:status:";
@@ -47,6 +78,130 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   private static final Duration TYPING_EXPIRY = Duration.ofSeconds(30);
   private static final Duration SESSION_EXPIRY = Duration.ofHours(12);
   private static final Duration ACTIVITY_PARTICIPANTS_EXPIRY = Duration.ofHours(6);
+  private static final Duration ONLINE_USERS_EXPIRY = Duration.ofHours(24);
+
+  private static final String SOCKET_KEY_PATTERN = "socket:*";
+  private static final int SCAN_BATCH_SIZE = 1000;
+
+  // Key prefix -> statistics entry reporting the number of such keys
+  private static final Map<String, String> COUNTED_PREFIXES = Map.of(
+      USER_STATUS_PREFIX, "userStatusKeysCount",
+      LAST_SEEN_PREFIX, "lastSeenKeysCount",
+      SESSION_USER_PREFIX, "sessionKeysCount",
+      TYPING_PREFIX, "typingKeysCount",
+      ACTIVITY_PARTICIPANTS_PREFIX, "activityParticipantsKeysCount");
+
+  private static final List<String> CLEARED_PREFIXES = List.of(USER_STATUS_PREFIX, LAST_SEEN_PREFIX,
+      SESSION_USER_PREFIX, USER_SESSION_PREFIX, TYPING_PREFIX, ACTIVITY_PARTICIPANTS_PREFIX);
+
+  // KEYS: online users, session -> user, user -> session; ARGV: user id, session id, online TTL, session TTL
+  private static final RedisScript<Long> ADD_ONLINE_USER = new DefaultRedisScript<>(
+      "redis.call('SADD', KEYS[1], ARGV[1]) "
+          + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+          + "redis.call('SET', KEYS[2], ARGV[1], 'EX', ARGV[4]) "
+          + "redis.call('SET', KEYS[3], ARGV[2], 'EX', ARGV[4]) "
+          + "return 1",
+      Long.class);
+
+  // Unquotes strings stored as JSON before the switch to plain text values
+  private static final String LUA_TEXT_FUNCTION = "local function text(value) "
+      + "  if value and string.byte(value) == 34 then return cjson.decode(value) end "
+      + "  return value "
+      + "end ";
+
+  // KEYS: online users, session -> user, user -> session; ARGV: user id, session id, online TTL, session TTL.
+  // Returns 0 if the user has moved to another session, 2 if the user was re-added to the online set, else 1.
+  private static final RedisScript<Long> REFRESH_ONLINE_USER = new DefaultRedisScript<>(
+      LUA_TEXT_FUNCTION
+          + "local current = text(redis.call('GET', KEYS[3])) "
+          + "if current and current ~= ARGV[2] then return 0 end "
+          + "redis.call('SET', KEYS[2], ARGV[1], 'EX', ARGV[4]) "
+          + "redis.call('SET', KEYS[3], ARGV[2], 'EX', ARGV[4]) "
+          + "local added = redis.call('SADD', KEYS[1], ARGV[1]) "
+          + "redis.call('EXPIRE', KEYS[1], ARGV[3]) "
+          + "return 1 + added",
+      Long.class);
+
+  // KEYS: online users, user status, user -> session; ARGV: user id
+  private static final RedisScript<Long> REMOVE_ONLINE_USER = new DefaultRedisScript<>(
+      LUA_TEXT_FUNCTION
+          + "redis.call('SREM', KEYS[1], ARGV[1]) "
+          + "redis.call('DEL', KEYS[2]) "
+          + "local sessionId = text(redis.call('GET', KEYS[3])) "
+          + "if sessionId then "
+          + "  redis.call('DEL', KEYS[3], '" + SESSION_USER_PREFIX + "' .. sessionId) "
+          + "end "
+          + "return 1",
+      Long.class);
+
+  // KEYS: session -> user, user -> session; ARGV: user id, session id, TTL
+  private static final RedisScript<Long> MAP_SESSION = new DefaultRedisScript<>(
+      "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3]) "
+          + "redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[3]) "
+          + "return 1",
+      Long.class);
+
+  // KEYS: session -> user
+  private static final RedisScript<Long> REMOVE_SESSION_MAPPING = new DefaultRedisScript<>(
+      "local userId = redis.call('GET', KEYS[1]) "
+          + "redis.call('DEL', KEYS[1]) "
+          + "if userId then redis.call('DEL', '" + USER_SESSION_PREFIX + "' .. userId) end "
+          + "return 1",
+      Long.class);
+
+  // KEYS: session -> user; ARGV: session id. The user's presence is only dropped
+  // if this is still their current session, i.e. they have not reconnected.
+  private static final RedisScript<Long> REMOVE_SESSION = new DefaultRedisScript<>(
+      LUA_TEXT_FUNCTION
+          + "local userId = redis.call('GET', KEYS[1]) "
+          + "if not userId then return false end "
+          + "redis.call('DEL', KEYS[1]) "
+          + "local userSessionKey = '" + USER_SESSION_PREFIX + "' .. userId "
+          + "if text(redis.call('GET', userSessionKey)) == ARGV[1] then "
+          + "  redis.call('DEL', userSessionKey, '" + USER_STATUS_PREFIX + "' .. userId) "
+          + "  redis.call('SREM', '" + ONLINE_USERS_KEY + "', userId) "
+          + "end "
+          + "return tonumber(userId)",
+      Long.class);
+
+  // KEYS: user status, last seen; ARGV: status, last seen millis, status TTL, last seen TTL
+  private static final RedisScript<Long> UPDATE_PRESENCE = new DefaultRedisScript<>(
+      "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3]) "
+          + "redis.call('SET', KEYS[2], ARGV[2], 'EX', ARGV[4]) "
+          + "return 1",
+      Long.class);
+
+  // KEYS: session typing entry, conversation typing set; ARGV: typing entry, user id, TTL
+  private static final RedisScript<Long> SET_TYPING = new DefaultRedisScript<>(
+      "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[3]) "
+          + "redis.call('SADD', KEYS[2], ARGV[2]) "
+          + "redis.call('EXPIRE', KEYS[2], ARGV[3]) "
+          + "return 1",
+      Long.class);
+
+  // KEYS: session typing entry, stored as "{private|activity}:{conversationId}|{userId}"
+  private static final RedisScript<Long> REMOVE_TYPING = new DefaultRedisScript<>(
+      "local entry = redis.call('GET', KEYS[1]) "
+          + "if not entry then return 0 end "
+          + "redis.call('DEL', KEYS[1]) "
+          + "local conversation, userId = string.match(entry, '^(%a+:%d+)|(%d+)$') "
+          + "if not conversation then return 0 end "
+          + "redis.call('SREM', '" + TYPING_CONVERSATION_PREFIX + "' .. conversation, userId) "
+          + "return 1",
+      Long.class);
+
+  // KEYS: participants set; ARGV: TTL, participant ids...
+  private static final RedisScript<Long> REPLACE_PARTICIPANTS = new DefaultRedisScript<>(
+      "redis.call('DEL', KEYS[1]) "
+          + "if #ARGV > 1 then "
+          // unpack is bounded by the Lua stack, so add in chunks
+          + "  for i = 2, #ARGV, 1000 do "
+          + "    redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV))) "
+          + "  end "
+          + "  redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+          + "end "
+          + "return 1",
+      Long.class);
 
   // ==================== USER STATUS MANAGEMENT ====================
 
@@ -56,6 +211,7 @@ public class SocketCacheServiceImpl implements SocketCacheService {
       String key = USER_STATUS_PREFIX + userId;
       ValueOperations<String, Object> valueOps = redisTemplate.opsForValue();
       valueOps.set(key, status.name(), USER_STATUS_EXPIRY);
+      nearCache.invalidate(Region.STATUS, userId);
       log.debug("Set user {} status to {}", userId, status);
     } catch (Exception e) {
       log.error("Failed to set user status for user {}: {}", userId, e.getMessage());
@@ -65,13 +221,10 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   @Override
   public UserStatusDto.UserStatus getUserStatus(Long userId) {
     try {
-      String key = USER_STATUS_PREFIX + userId;
-      ValueOperations<String, Object> valueOps = redisTemplate.opsForValue();
-      Object status = valueOps.get(key);
-
-      if (status != null) {
-        return UserStatusDto.UserStatus.valueOf(status.toString());
-      }
+      return nearCache.userStatuses().get(userId, id -> {
+        Object status = redisTemplate.opsForValue().get(USER_STATUS_PREFIX + id);
+        return toUserStatus(status);
+      });
     } catch (Exception e) {
       log.error("Failed to get user status for user {}: {}", userId, e.getMessage());
     }
@@ -83,13 +236,53 @@ public class SocketCacheServiceImpl implements SocketCacheService {
     try {
       String key = USER_STATUS_PREFIX + userId;
       redisTemplate.delete(key);
+      nearCache.invalidate(Region.STATUS, userId);
       log.debug("Removed user status for user {}", userId);
     } catch (Exception e) {
       log.error("Failed to remove user status for user {}: {}", userId, e.getMessage());
     }
   }
 
-  // ==================== LAST SEEN TRACKING ====================
+  @Override
+  public Map<Long, UserStatusDto.UserStatus> getUserStatuses(Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return new HashMap<>();
+    }
+    try {
+      // Only the users missing from the near cache are fetched, with one MGET
+      return new HashMap<>(nearCache.userStatuses().getAll(userIds, missing -> {
+        List<Long> ids = List.copyOf(missing);
+        List<Object> values = redisTemplate.opsForValue()
+            .multiGet(ids.stream().map(id -> USER_STATUS_PREFIX + id).toList());
+        Map<Long, UserStatusDto.UserStatus> loaded = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+          loaded.put(ids.get(i), toUserStatus(values != null ? values.get(i) : null));
+        }
+        return loaded;
+      }));
+    } catch (Exception e) {
+      log.error("Failed to get statuses of {} users: {}", userIds.size(), e.getMessage());
+      Map<Long, UserStatusDto.UserStatus> statuses = new HashMap<>();
+      userIds.forEach(id -> statuses.put(id, UserStatusDto.UserStatus.OFFLINE));
+      return statuses;
+    }
+  }
+
+  @Override
+  public void updatePresence(Long userId, UserStatusDto.UserStatus status, Instant lastSeen) {
+    try {
+      redisTemplate.execute(UPDATE_PRESENCE, List.of(USER_STATUS_PREFIX + userId, LAST_SEEN_PREFIX + userId),
+          status.name(), lastSeen.toEpochMilli(), USER_STATUS_EXPIRY.toSeconds(), LAST_SEEN_EXPIRY.toSeconds());
+      nearCache.invalidate(Region.STATUS, userId);
+      log.debug("Set user {} status to {} (last seen {})", userId, status, lastSeen);
+    } catch (Exception e) {
+      log.error("Failed to update presence for user {}: {}", userId, e.getMessage());
+    }
+  }
+
+  private static UserStatusDto.UserStatus toUserStatus(Object status) {
+    return status != null ? UserStatusDto.UserStatus.valueOf(status.toString()) : UserStatusDto.UserStatus.OFFLINE;
+  }
 
   @Override
   public void updateLastSeen(Long userId, Instant lastSeen) {
@@ -135,22 +328,14 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   @Override
   public void setUserTyping(String sessionId, Long userId, Long conversationId, boolean isPrivate) {
     try {
-      // Map session to user for cleanup
+      // Map session to user and conversation for cleanup
       String sessionKey = TYPING_PREFIX + sessionId;
-      ValueOperations<String, Object> valueOps = redisTemplate.opsForValue();
-
-      Map<String, Object> typingData = new HashMap<>();
-      typingData.put("userId", userId);
-      typingData.put("conversationId", conversationId);
-      typingData.put("isPrivate", isPrivate);
+      String conversation = (isPrivate ? "private:" : "activity:") + conversationId;
 
-      valueOps.set(sessionKey, typingData, TYPING_EXPIRY);
-
-      // Add to conversation typing set
-      String conversationKey = TYPING_CONVERSATION_PREFIX + (isPrivate ? "private:" : "activity:") + conversationId;
-      SetOperations<String, Object> setOps = redisTemplate.opsForSet();
-      setOps.add(conversationKey, userId);
-      redisTemplate.expire(conversationKey, TYPING_EXPIRY);
+      // Store the session entry and add to the conversation typing set
+      String conversationKey = TYPING_CONVERSATION_PREFIX + conversation;
+      redisTemplate.execute(SET_TYPING, List.of(sessionKey, conversationKey), conversation + "|" + userId, userId,
+          TYPING_EXPIRY.toSeconds());
 
       log.debug("Set user {} typing in conversation {} (private: {})", userId, conversationId, isPrivate);
     } catch (Exception e) {
@@ -162,25 +347,8 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   public void removeUserTyping(String sessionId) {
     try {
       String sessionKey = TYPING_PREFIX + sessionId;
-      ValueOperations<String, Object> valueOps = redisTemplate.opsForValue();
-
-      @SuppressWarnings("unchecked")
-      Map<String, Object> typingData = (Map<String, Object>) valueOps.get(sessionKey);
-
-      if (typingData != null) {
-        Long userId = Long.valueOf(typingData.get("userId").toString());
-        Long conversationId = Long.valueOf(typingData.get("conversationId").toString());
-        boolean isPrivate = Boolean.parseBoolean(typingData.get("isPrivate").toString());
-
-        // Remove from conversation typing set
-        String conversationKey = TYPING_CONVERSATION_PREFIX + (isPrivate ? "private:" : "activity:") + conversationId;
-        SetOperations<String, Object> setOps = redisTemplate.opsForSet();
-        setOps.remove(conversationKey, userId);
-
-        log.debug("Removed user {} from typing in conversation {} (private: {})", userId, conversationId, isPrivate);
-      }
-
-      redisTemplate.delete(sessionKey);
+      redisTemplate.execute(REMOVE_TYPING, List.of(sessionKey));
+      log.debug("Removed typing indicator for session {}", sessionId);
     } catch (Exception e) {
       log.error("Failed to remove typing indicator for session {}: {}", sessionId, e.getMessage());
     }
@@ -207,30 +375,25 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   @Override
   public Long getUserIdBySession(String sessionId) {
     try {
-      String key = SESSION_USER_PREFIX + sessionId;
-      ValueOperations<String, Object> valueOps = redisTemplate.opsForValue();
-      Object userId = valueOps.get(key);
-
-      if (userId != null) {
-        return Long.valueOf(userId.toString());
-      }
+      // Unknown sessions are not cached, so a session is found as soon as it is mapped
+      return nearCache.sessionUsers().get(sessionId, id -> {
+        Object userId = redisTemplate.opsForValue().get(SESSION_USER_PREFIX + id);
+        return userId != null ? Long.valueOf(userId.toString()) : null;
+      });
     } catch (Exception e) {
       log.error("Failed to get user ID for session {}: {}", sessionId, e.getMessage());
     }
     return null;
   }
 
-  // ==================== ONLINE USERS TRACKING ====================
-
   @Override
   public void addOnlineUser(Long userId, String sessionId) {
     try {
-      SetOperations<String, Object> setOps = redisTemplate.opsForSet();
-      setOps.add(ONLINE_USERS_KEY, userId);
-      redisTemplate.expire(ONLINE_USERS_KEY, Duration.ofHours(24));
-
-      // Map user to session for cleanup
-      mapSessionToUser(sessionId, userId);
+      // Marks the user online and maps user and session both ways for cleanup
+      redisTemplate.execute(ADD_ONLINE_USER,
+          List.of(ONLINE_USERS_KEY, SESSION_USER_PREFIX + sessionId, USER_SESSION_PREFIX + userId),
+          userId, sessionId, ONLINE_USERS_EXPIRY.toSeconds(), SESSION_EXPIRY.toSeconds());
+      nearCache.invalidate(Region.ONLINE, userId);
 
       log.debug("Added user {} to online users (session: {})", userId, sessionId);
     } catch (Exception e) {
@@ -239,19 +402,28 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   }
 
   @Override
-  public void removeOnlineUser(Long userId) {
+  public void refreshOnlineUser(Long userId, String sessionId) {
     try {
-      SetOperations<String, Object> setOps = redisTemplate.opsForSet();
-      setOps.remove(ONLINE_USERS_KEY, userId);
-
-      // Also remove user status and session mappings
-      removeUserStatus(userId);
-      
-      // Remove session mapping
-      String sessionId = getUserSession(userId);
-      if (sessionId != null) {
-        removeSessionMapping(sessionId);
+      Long result = redisTemplate.execute(REFRESH_ONLINE_USER,
+          List.of(ONLINE_USERS_KEY, SESSION_USER_PREFIX + sessionId, USER_SESSION_PREFIX + userId),
+          userId, sessionId, ONLINE_USERS_EXPIRY.toSeconds(), SESSION_EXPIRY.toSeconds());
+      if (result != null && result == 2) {
+        nearCache.invalidate(Region.ONLINE, userId);
       }
+      log.debug("Refreshed online user {} (session: {}, result {})", userId, sessionId, result);
+    } catch (Exception e) {
+      log.error("Failed to refresh online user {}: {}", userId, e.getMessage());
+    }
+  }
+
+  @Override
+  public void removeOnlineUser(Long userId) {
+    try {
+      // Also removes the user status and session mappings
+      redisTemplate.execute(REMOVE_ONLINE_USER,
+          List.of(ONLINE_USERS_KEY, USER_STATUS_PREFIX + userId, USER_SESSION_PREFIX + userId), userId);
+      nearCache.invalidate(Region.ONLINE, userId);
+      nearCache.invalidate(Region.STATUS, userId);
 
       log.debug("Removed user {} from online users", userId);
     } catch (Exception e) {
@@ -279,30 +451,68 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   @Override
   public boolean isUserOnline(Long userId) {
     try {
-      SetOperations<String, Object> setOps = redisTemplate.opsForSet();
-      return Boolean.TRUE.equals(setOps.isMember(ONLINE_USERS_KEY, userId));
+      return nearCache.onlineUsers().get(userId,
+          id -> Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(ONLINE_USERS_KEY, id)));
     } catch (Exception e) {
       log.error("Failed to check if user {} is online: {}", userId, e.getMessage());
       return false;
     }
   }
 
+  @Override
+  public Set<Long> filterOnlineUsers(Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return Set.of();
+    }
+    try {
+      // Only the users missing from the near cache are checked, with one SMISMEMBER
+      Map<Long, Boolean> online = nearCache.onlineUsers().getAll(userIds, missing -> {
+        Map<Object, Boolean> membership = redisTemplate.opsForSet().isMember(ONLINE_USERS_KEY, missing.toArray());
+        Map<Long, Boolean> loaded = new HashMap<>();
+        for (Long userId : missing) {
+          loaded.put(userId, Boolean.TRUE.equals(membership.get(userId)));
+        }
+        return loaded;
+      });
+      return online.entrySet().stream()
+          .filter(Map.Entry::getValue)
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toSet());
+    } catch (Exception e) {
+      log.error("Failed to check which of {} users are online: {}", userIds.size(), e.getMessage());
+      return Set.of();
+    }
+  }
+
+  @Override
+  public Long removeSession(String sessionId) {
+    try {
+      Long userId = redisTemplate.execute(REMOVE_SESSION, List.of(SESSION_USER_PREFIX + sessionId), sessionId);
+      if (userId != null) {
+        nearCache.invalidate(Region.ONLINE, userId);
+        nearCache.invalidate(Region.STATUS, userId);
+      }
+      log.debug("Removed session {} of user {}", sessionId, userId);
+      return userId;
+    } catch (Exception e) {
+      log.error("Failed to remove session {}: {}", sessionId, e.getMessage());
+      return null;
+    }
+  }
+
   // ==================== ACTIVITY PARTICIPANTS CACHE ====================
 
   @Override
   public void cacheActivityParticipants(Long activityId, Set<Long> participantIds) {
     try {
       String key = ACTIVITY_PARTICIPANTS_PREFIX + activityId;
-      SetOperations<String, Object> setOps = redisTemplate.opsForSet();
-      
-      // Clear existing participants
-      redisTemplate.delete(key);
-      
-      // Add new participants
-      if (!participantIds.isEmpty()) {
-        setOps.add(key, participantIds.toArray());
-        redisTemplate.expire(key, ACTIVITY_PARTICIPANTS_EXPIRY);
-      }
+
+      // Replaces the existing participants in one step, so readers never see an empty set
+      List<Object> args = new ArrayList<>(participantIds.size() + 1);
+      args.add(ACTIVITY_PARTICIPANTS_EXPIRY.toSeconds());
+      args.addAll(participantIds);
+      redisTemplate.execute(REPLACE_PARTICIPANTS, List.of(key), args.toArray());
+      nearCache.invalidate(Region.PARTICIPANTS, activityId);
 
       log.debug("Cached {} participants for activity {}", participantIds.size(), activityId);
     } catch (Exception e) {
@@ -313,15 +523,16 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   @Override
   public Set<Long> getActivityParticipants(Long activityId) {
     try {
-      String key = ACTIVITY_PARTICIPANTS_PREFIX + activityId;
-      SetOperations<String, Object> setOps = redisTemplate.opsForSet();
-      Set<Object> participantIds = setOps.members(key);
-
-      if (participantIds != null) {
+      // Empty results are not cached, so a freshly cached set is picked up at once
+      return nearCache.activityParticipants().get(activityId, id -> {
+        Set<Object> participantIds = redisTemplate.opsForSet().members(ACTIVITY_PARTICIPANTS_PREFIX + id);
+        if (participantIds == null || participantIds.isEmpty()) {
+          return null;
+        }
         return participantIds.stream()
-            .map(id -> Long.valueOf(id.toString()))
-            .collect(Collectors.toSet());
-      }
+            .map(participantId -> Long.valueOf(participantId.toString()))
+            .collect(Collectors.toUnmodifiableSet());
+      });
     } catch (Exception e) {
       log.error("Failed to get cached participants for activity {}: {}", activityId, e.getMessage());
     }
@@ -333,6 +544,7 @@ public class SocketCacheServiceImpl implements SocketCacheService {
     try {
       String key = ACTIVITY_PARTICIPANTS_PREFIX + activityId;
       redisTemplate.delete(key);
+      nearCache.invalidate(Region.PARTICIPANTS, activityId);
       log.debug("Removed cached participants for activity {}", activityId);
     } catch (Exception e) {
       log.error("Failed to remove cached participants for activity {}: {}", activityId, e.getMessage());
@@ -344,15 +556,9 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   @Override
   public void mapSessionToUser(String sessionId, Long userId) {
     try {
-      ValueOperations<String, Object> valueOps = redisTemplate.opsForValue();
-      
-      // Map session to user
-      String sessionKey = SESSION_USER_PREFIX + sessionId;
-      valueOps.set(sessionKey, userId, SESSION_EXPIRY);
-      
-      // Map user to session
-      String userKey = USER_SESSION_PREFIX + userId;
-      valueOps.set(userKey, sessionId, SESSION_EXPIRY);
+      // Map session to user and user to session
+      redisTemplate.execute(MAP_SESSION, List.of(SESSION_USER_PREFIX + sessionId, USER_SESSION_PREFIX + userId),
+          userId, sessionId, SESSION_EXPIRY.toSeconds());
 
       log.debug("Mapped session {} to user {}", sessionId, userId);
     } catch (Exception e) {
@@ -363,22 +569,9 @@ public class SocketCacheServiceImpl implements SocketCacheService {
   @Override
   public void removeSessionMapping(String sessionId) {
     try {
-      ValueOperations<String, Object> valueOps = redisTemplate.opsForValue();
-      
-      // Get user ID first
-      String sessionKey = SESSION_USER_PREFIX + sessionId;
-      Object userId = valueOps.get(sessionKey);
-      
-      // Remove both mappings
-      redisTemplate.delete(sessionKey);
-      
-      if (userId != null) {
-        String userKey = USER_SESSION_PREFIX + userId;
-        redisTemplate.delete(userKey);
-        log.debug("Removed session mapping for session {} and user {}", sessionId, userId);
-      } else {
-        log.debug("Removed session mapping for session {} (user not found)", sessionId);
-      }
+      // Removes both mappings
+      redisTemplate.execute(REMOVE_SESSION_MAPPING, List.of(SESSION_USER_PREFIX + sessionId));
+      log.debug("Removed session mapping for session {}", sessionId);
     } catch (Exception e) {
       log.error("Failed to remove session mapping for session {}: {}", sessionId, e.getMessage());
     }
@@ -402,32 +595,50 @@ public class SocketCacheServiceImpl implements SocketCacheService {
 
   // ==================== BULK OPERATIONS ====================
 
+  /**
+   * Counts keys per prefix in one incremental SCAN over the socket keyspace and
+   * drops online users whose session has expired, e.g. after an instance died
+   * without running its disconnect handlers. Connected clients keep their
+   * session from expiring through {@link #refreshOnlineUser} on every heartbeat.
+   */
   @Override
+  @Scheduled(fixedDelayString = "${socket.cache.cleanup-interval-ms:60000}")
   public void cleanupExpiredData() {
     try {
-      // Redis handles TTL-based expiration automatically, but we can do additional cleanup here
-      log.debug("Running cleanup for expired SocketIO cache data");
-      
-      // Could add specific cleanup logic here if needed
-      // For example, checking for stale online users, etc.
-      
+      Map<String, Long> counts = new HashMap<>();
+      scan(SOCKET_KEY_PATTERN, batch -> batch.forEach(key -> {
+        String counter = counterFor(key);
+        if (counter != null) {
+          counts.merge(counter, 1L, Long::sum);
+        }
+      }));
+      COUNTED_PREFIXES.values().forEach(counter -> counts.putIfAbsent(counter, 0L));
+      keyCounts = new KeyCounts(Map.copyOf(counts), Instant.now());
+
+      long removed = removeStaleOnlineUsers();
+      log.debug("Cleaned up SocketIO cache data: {} stale online users removed, key counts {}", removed, counts);
     } catch (Exception e) {
       log.error("Failed to cleanup expired data: {}", e.getMessage());
     }
   }
 
+  /**
+   * Returns the key counts from the last {@link #cleanupExpiredData()} run, so
+   * this never walks the keyspace itself.
+   */
   @Override
   public Map<String, Object> getCacheStatistics() {
     Map<String, Object> stats = new HashMap<>();
     
     try {
-      stats.put("onlineUsersCount", getOnlineUsers().size());
-      stats.put("userStatusKeysCount", getKeyCount(USER_STATUS_PREFIX + "*"));
-      stats.put("lastSeenKeysCount", getKeyCount(LAST_SEEN_PREFIX + "*"));
-      stats.put("sessionKeysCount", getKeyCount(SESSION_USER_PREFIX + "*"));
-      stats.put("typingKeysCount", getKeyCount(TYPING_PREFIX + "*"));
-      stats.put("activityParticipantsKeysCount", getKeyCount(ACTIVITY_PARTICIPANTS_PREFIX + "*"));
-      
+      Long onlineUsers = redisTemplate.opsForSet().size(ONLINE_USERS_KEY);
+      stats.put("onlineUsersCount", onlineUsers != null ? onlineUsers : 0L);
+
+      KeyCounts counts = keyCounts;
+      if (counts != null) {
+        stats.putAll(counts.counts());
+        stats.put("keyCountsAsOf", counts.countedAt());
+      }
     } catch (Exception e) {
       log.error("Failed to get cache statistics: {}", e.getMessage());
       stats.put("error", "Failed to get statistics");
@@ -442,56 +653,103 @@ public class SocketCacheServiceImpl implements SocketCacheService {
       // WARNING: This clears ALL SocketIO cache data
       log.warn("Clearing ALL SocketIO cache data");
       
-      redisTemplate.delete(ONLINE_USERS_KEY);
-      
-      // Clear all prefixed keys
-      Set<String> userStatusKeys = redisTemplate.keys(USER_STATUS_PREFIX + "*");
-      Set<String> lastSeenKeys = redisTemplate.keys(LAST_SEEN_PREFIX + "*");
-      Set<String> sessionKeys = redisTemplate.keys(SESSION_USER_PREFIX + "*");
-      Set<String> userSessionKeys = redisTemplate.keys(USER_SESSION_PREFIX + "*");
-      Set<String> typingKeys = redisTemplate.keys(TYPING_PREFIX + "*");
-      Set<String> activityKeys = redisTemplate.keys(ACTIVITY_PARTICIPANTS_PREFIX + "*");
-      Set<String> conversationKeys = redisTemplate.keys(TYPING_CONVERSATION_PREFIX + "*");
-      
-      if (userStatusKeys != null && !userStatusKeys.isEmpty()) {
-        redisTemplate.delete(userStatusKeys);
-      }
-      if (lastSeenKeys != null && !lastSeenKeys.isEmpty()) {
-        redisTemplate.delete(lastSeenKeys);
-      }
-      if (sessionKeys != null && !sessionKeys.isEmpty()) {
-        redisTemplate.delete(sessionKeys);
+      redisTemplate.unlink(ONLINE_USERS_KEY);
+
+      // Clear all prefixed keys; UNLINK frees the memory in the background
+      long cleared = 0;
+      for (String prefix : CLEARED_PREFIXES) {
+        long[] prefixCleared = {0};
+        scan(prefix + "*", batch -> {
+          Long unlinked = redisTemplate.unlink(batch);
+          prefixCleared[0] += unlinked != null ? unlinked : 0;
+        });
+        cleared += prefixCleared[0];
       }
-      if (userSessionKeys != null && !userSessionKeys.isEmpty()) {
-        redisTemplate.delete(userSessionKeys);
-      }
-      if (typingKeys != null && !typingKeys.isEmpty()) {
-        redisTemplate.delete(typingKeys);
-      }
-      if (activityKeys != null && !activityKeys.isEmpty()) {
-        redisTemplate.delete(activityKeys);
-      }
-      if (conversationKeys != null && !conversationKeys.isEmpty()) {
-        redisTemplate.delete(conversationKeys);
-      }
-      
-      log.info("Cleared all SocketIO cache data");
+      keyCounts = null;
+      nearCache.invalidateAll();
+
+      log.info("Cleared all SocketIO cache data ({} keys)", cleared);
       
     } catch (Exception e) {
       log.error("Failed to clear all cache: {}", e.getMessage());
     }
   }
 
+  private long removeStaleOnlineUsers() {
+    long removed = 0;
+    List<Object> members = new ArrayList<>(SCAN_BATCH_SIZE);
+    try (Cursor<Object> cursor = redisTemplate.opsForSet().scan(ONLINE_USERS_KEY,
+        ScanOptions.scanOptions().count(SCAN_BATCH_SIZE).build())) {
+      while (cursor.hasNext()) {
+        members.add(cursor.next());
+        if (members.size() >= SCAN_BATCH_SIZE) {
+          removed += removeWithoutSession(members);
+          members.clear();
+        }
+      }
+    }
+    return removed + removeWithoutSession(members);
+  }
+
+  private long removeWithoutSession(List<Object> userIds) {
+    if (userIds.isEmpty()) {
+      return 0;
+    }
+    List<Object> sessions = redisTemplate.opsForValue()
+        .multiGet(userIds.stream().map(userId -> USER_SESSION_PREFIX + userId).toList());
+    if (sessions == null) {
+      return 0;
+    }
+
+    List<Object> stale = new ArrayList<>();
+    for (int i = 0; i < userIds.size(); i++) {
+      if (sessions.get(i) == null) {
+        stale.add(userIds.get(i));
+      }
+    }
+    if (stale.isEmpty()) {
+      return 0;
+    }
+    Long removed = redisTemplate.opsForSet().remove(ONLINE_USERS_KEY, stale.toArray());
+    stale.forEach(userId -> nearCache.invalidate(Region.ONLINE, Long.valueOf(userId.toString())));
+    return removed != null ? removed : 0;
+  }
+
   /**
-   * Helper method to count keys matching a pattern.
+   * Walks the keys matching a pattern with SCAN, which never blocks Redis for
+   * longer than one batch, and hands them over in batches of
+   * {@link #SCAN_BATCH_SIZE}.
    */
-  private long getKeyCount(String pattern) {
-    try {
-      Set<String> keys = redisTemplate.keys(pattern);
-      return keys != null ? keys.size() : 0;
-    } catch (Exception e) {
-      log.error("Failed to count keys for pattern {}: {}", pattern, e.getMessage());
-      return 0;
+  private void scan(String pattern, Consumer<List<String>> batchHandler) {
+    List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+    try (Cursor<String> cursor = redisTemplate.scan(
+        ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build())) {
+      while (cursor.hasNext()) {
+        batch.add(cursor.next());
+        if (batch.size() >= SCAN_BATCH_SIZE) {
+          batchHandler.accept(batch);
+          batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      batchHandler.accept(batch);
     }
   }
-} 
+
+  /**
+   * Statistics entry counting the key, or null if the key is not counted
+   */
+  private static String counterFor(String key) {
+    // Conversation typing sets share the typing prefix but are not typing keys
+    if (key.startsWith(TYPING_CONVERSATION_PREFIX)) {
+      return null;
+    }
+    for (Map.Entry<String, String> entry : COUNTED_PREFIXES.entrySet()) {
+      if (key.startsWith(entry.getKey())) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,196 @@
+package com.winnguyen1905.activity.websocket.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.winnguyen1905.activity.websocket.dto.UserStatusDto;
+import com.winnguyen1905.activity.websocket.service.SocketAuthService.ActivityAccess;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process L1 cache in front of the Redis presence data read on every chat
+ * message and typing event.
+ * <p>
+ * Entries live for {@code socket.cache.near.ttl} at most. Writes invalidate the
+ * local entry and publish the key on {@code socket:cache:invalidate}, so the
+ * other instances drop theirs as well; the TTL bounds staleness if an
+ * invalidation is lost, since Redis pub/sub is fire-and-forget. Session to user
+ * mappings are never invalidated, because session ids are not reused. Activity
+ * access is loaded from the database rather than Redis and changes rarely, so
+ * it lives for {@code socket.cache.near.access-ttl} instead.
+ * <p>
+ * Metrics: the Caffeine {@code cache.*} meters tagged {@code cache=socket.*},
+ * {@code socket.cache.invalidations} (counter, tagged {@code region} and
+ * {@code source}) and {@code socket.cache.invalidation.lag} (timer, time from a
+ * write on another instance until the local entry was dropped).
+ */
+@Slf4j
+@Component
+public class SocketNearCache implements MessageListener {
+
+  private static final String INVALIDATION_CHANNEL = "socket:cache:invalidate";
+  private static final String ALL_KEYS = "*";
+
+  /**
+   * Invalidated data kinds
+   */
+  public enum Region {
+    ONLINE,
+    STATUS,
+    PARTICIPANTS,
+    ACCESS
+  }
+
+  private final StringRedisTemplate redisTemplate;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final MeterRegistry meterRegistry;
+  private final Timer invalidationLag;
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private final Cache<Long, Boolean> onlineUsers;
+  private final Cache<Long, UserStatusDto.UserStatus> userStatuses;
+  private final Cache<String, Long> sessionUsers;
+  private final Cache<Long, Set<Long>> activityParticipants;
+  private final Cache<Long, ActivityAccess> activityAccess;
+
+  public SocketNearCache(StringRedisTemplate redisTemplate, RedisMessageListenerContainer listenerContainer,
+      MeterRegistry meterRegistry,
+      @Value("${socket.cache.near.ttl:5s}") Duration ttl,
+      @Value("${socket.cache.near.max-size:100000}") long maxSize,
+      @Value("${socket.cache.near.access-ttl:10m}") Duration accessTtl) {
+    this.redisTemplate = redisTemplate;
+    this.listenerContainer = listenerContainer;
+    this.meterRegistry = meterRegistry;
+    this.invalidationLag = Timer.builder("socket.cache.invalidation.lag")
+        .description("Time from a write on another instance until the local copy was dropped")
+        .register(meterRegistry);
+
+    this.onlineUsers = build("socket.online", ttl, maxSize);
+    this.userStatuses = build("socket.status", ttl, maxSize);
+    this.sessionUsers = build("socket.session", ttl, maxSize);
+    this.activityParticipants = build("socket.participants", ttl, maxSize);
+    this.activityAccess = build("socket.access", accessTtl, maxSize);
+  }
+
+  private <K, V> Cache<K, V> build(String name, Duration ttl, long maxSize) {
+    Cache<K, V> cache = Caffeine.newBuilder()
+        .expireAfterWrite(ttl)
+        .maximumSize(maxSize)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    return cache;
+  }
+
+  @PostConstruct
+  private void subscribe() {
+    listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+  }
+
+  public Cache<Long, Boolean> onlineUsers() {
+    return onlineUsers;
+  }
+
+  public Cache<Long, UserStatusDto.UserStatus> userStatuses() {
+    return userStatuses;
+  }
+
+  public Cache<String, Long> sessionUsers() {
+    return sessionUsers;
+  }
+
+  public Cache<Long, Set<Long>> activityParticipants() {
+    return activityParticipants;
+  }
+
+  public Cache<Long, ActivityAccess> activityAccess() {
+    return activityAccess;
+  }
+
+  /**
+   * Drops the entry here and on every other instance
+   */
+  public void invalidate(Region region, Long key) {
+    invalidateLocally(region, key);
+    publish(region, key.toString());
+  }
+
+  /**
+   * Drops all entries here and on every other instance
+   */
+  public void invalidateAll() {
+    for (Region region : Region.values()) {
+      invalidateLocally(region, null);
+      publish(region, ALL_KEYS);
+    }
+    sessionUsers.invalidateAll();
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    try {
+      // origin|publishedAtMillis|region|key
+      String[] parts = body.split("\\|", 4);
+      if (nodeId.equals(parts[0])) {
+        return;
+      }
+      Region region = Region.valueOf(parts[2]);
+      invalidateLocally(region, ALL_KEYS.equals(parts[3]) ? null : Long.valueOf(parts[3]));
+      counter(region, "remote").increment();
+      invalidationLag.record(Math.max(0, System.currentTimeMillis() - Long.parseLong(parts[1])),
+          TimeUnit.MILLISECONDS);
+    } catch (RuntimeException e) {
+      log.warn("Ignoring malformed cache invalidation {}: {}", body, e.getMessage());
+    }
+  }
+
+  private void invalidateLocally(Region region, Long key) {
+    Cache<Long, ?> cache = switch (region) {
+      case ONLINE -> onlineUsers;
+      case STATUS -> userStatuses;
+      case PARTICIPANTS -> activityParticipants;
+      case ACCESS -> activityAccess;
+    };
+    if (key != null) {
+      cache.invalidate(key);
+    } else {
+      cache.invalidateAll();
+    }
+  }
+
+  private void publish(Region region, String key) {
+    counter(region, "local").increment();
+    try {
+      redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+          nodeId + "|" + System.currentTimeMillis() + "|" + region + "|" + key);
+    } catch (Exception e) {
+      // Other instances fall back to the TTL
+      log.error("Failed to publish {} cache invalidation for {}: {}", region, key, e.getMessage());
+    }
+  }
+
+  private Counter counter(Region region, String source) {
+    return Counter.builder("socket.cache.invalidations")
+        .tag("region", region.name().toLowerCase())
+        .tag("source", source)
+        .register(meterRegistry);
+  }
+}